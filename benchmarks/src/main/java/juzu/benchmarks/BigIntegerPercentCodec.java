@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks;
+
+import juzu.impl.common.PercentCodec;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.CharacterCodingException;
+
+/**
+ * The former percent codec testing the accepted chars with {@link BigInteger#testBit(int)}, it is kept
+ * as the baseline of {@link PercentCodecBenchmark}.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+class BigIntegerPercentCodec extends BigInteger {
+
+  /** . */
+  static final BigIntegerPercentCodec RFC3986_QUERY_PARAM_VALUE;
+
+  static {
+    StringBuilder sb = new StringBuilder();
+    for (char c = 0;c < 128;c++) {
+      if (PercentCodec.RFC3986_QUERY_PARAM_VALUE.accept(c)) {
+        sb.append(c);
+      }
+    }
+    RFC3986_QUERY_PARAM_VALUE = new BigIntegerPercentCodec(bitSet(sb));
+  }
+
+  private static BigInteger bitSet(CharSequence s) {
+    BigInteger current = BigInteger.ZERO;
+    for (int i = s.length() - 1;i >= 0;i--) {
+      current = current.setBit(s.charAt(i));
+    }
+    return current;
+  }
+
+  private BigIntegerPercentCodec(BigInteger val) {
+    super(val.toByteArray());
+  }
+
+  boolean accept(char c) {
+    return testBit(c);
+  }
+
+  String encode(CharSequence s) throws IOException {
+    StringBuilder sb = new StringBuilder(s.length());
+    for (int len = s.length(), i = 0;i < len;i++) {
+      encode(s.charAt(i), sb);
+    }
+    return sb.toString();
+  }
+
+  void encode(char c, Appendable appendable) throws IOException {
+    if (c < 2 << 6) {
+      if (testBit(c)) {
+        appendable.append(c);
+      } else {
+        appendable.append('%');
+        appendable.append(PercentCodec.ALPHABET[(c & 0xF0) >> 4]);
+        appendable.append(PercentCodec.ALPHABET[c & 0xF]);
+      }
+    } else if (c < 2 << 10) {
+      int c0 = 0x80 | (c & 0x3F);
+      int c1 = 0xC0 | ((c & 0x7C0) >> 6);
+      appendable.append('%');
+      appendable.append(PercentCodec.ALPHABET[(c1 & 0xF0) >> 4]);
+      appendable.append(PercentCodec.ALPHABET[c1 & 0xF]);
+      appendable.append('%');
+      appendable.append(PercentCodec.ALPHABET[(c0 & 0xF0) >> 4]);
+      appendable.append(PercentCodec.ALPHABET[c0 & 0xF]);
+    } else if (c < 2 << 15) {
+      int c0 = 0x80 | (c & 0x3F);
+      int c1 = 0x80 | ((c & 0xFC0) >> 6);
+      int c2 = 0xE0 | ((c & 0xF000) >> 12);
+      appendable.append('%');
+      appendable.append(PercentCodec.ALPHABET[(c2 & 0xF0) >> 4]);
+      appendable.append(PercentCodec.ALPHABET[c2 & 0xF]);
+      appendable.append('%');
+      appendable.append(PercentCodec.ALPHABET[(c1 & 0xF0) >> 4]);
+      appendable.append(PercentCodec.ALPHABET[c1 & 0xF]);
+      appendable.append('%');
+      appendable.append(PercentCodec.ALPHABET[(c0 & 0xF0) >> 4]);
+      appendable.append(PercentCodec.ALPHABET[c0 & 0xF]);
+    } else {
+      // Java primitive type cannot handle more than 16 bits
+      throw new CharacterCodingException();
+    }
+  }
+
+  String decode(CharSequence s) throws IllegalArgumentException {
+    try {
+      StringBuilder sb = new StringBuilder(s.length());
+      decode(s, 0, s.length(), sb);
+      return sb.toString();
+    }
+    catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  void decode(CharSequence s, int from, int len, Appendable to) throws IllegalArgumentException, IOException {
+    while (len > 0) {
+      int delta = decodeChar(s, from, len, to);
+      len -= delta;
+      from += delta;
+    }
+  }
+
+  /**
+   * Decode a single char.
+   *
+   * @param s the sequence
+   * @param from the offset
+   * @param len the len of the sequence
+   * @param to the destination
+   * @return the number of consumed chars
+   * @throws IOException
+   */
+  int decodeChar(CharSequence s, int from, int len, Appendable to) throws IllegalArgumentException, IOException {
+    final int prev = len;
+    char c = s.charAt(from++);
+    if (c == '%') {
+      if (len < 3) {
+        throw new IllegalArgumentException();
+      } else {
+        len -= 3;
+        char c1 = (char)((PercentCodec.hex(s.charAt(from++)) << 4) + PercentCodec.hex(s.charAt(from++)));
+        if ((c1 & 0x80) == 0x00) {
+          to.append(c1);
+        } else {
+          if (len < 3) {
+            throw new IllegalArgumentException();
+          } else {
+            if (s.charAt(from++) != '%') {
+              throw new IllegalArgumentException();
+            }
+            len -= 3;
+            char c2 = (char)((PercentCodec.hex(s.charAt(from++)) << 4) + PercentCodec.hex(s.charAt(from++)));
+            if ((c1 & 0xE0) == 0xC0) {
+              to.append((char)(((c1 & 0x1F) << 6) + (c2 & 0x3F)));
+            } else {
+              if (len < 3) {
+                throw new IllegalArgumentException();
+              } else {
+                if (s.charAt(from++) != '%') {
+                  throw new IllegalArgumentException();
+                }
+                len -= 3;
+                char c3 = (char)((PercentCodec.hex(s.charAt(from++)) << 4) + PercentCodec.hex(s.charAt(from++)));
+                if ((c1 & 0xF0) == 0xE0) {
+                  to.append((char)(((c1 & 0x0F) << 12) + ((c2 & 0x3F) << 6) + (c3 & 0x3F)));
+                } else {
+                  // Java primitive type cannot handle more than 16 bits
+                  throw new IllegalArgumentException();
+                }
+              }
+            }
+          }
+        }
+      }
+    } else {
+      if (accept(c)) {
+        to.append(c);
+        len--;
+      } else {
+        throw new IllegalArgumentException("Illegal char " + (int)c);
+      }
+    }
+    return prev - len;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks;
+
+import juzu.impl.common.Tools;
+import juzu.impl.io.BinaryOutputStream;
+import juzu.impl.io.SinkStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders gtmpl templates covering the dialect features.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GtmplBenchmark {
+
+  /** . */
+  private static final String PARAGRAPH = "<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.</p>\n";
+
+  @Param({"text", "expression", "scriptlet", "include", "decorate", "message"})
+  public String template;
+
+  /** . */
+  private GtmplTemplates templates;
+
+  /** . */
+  private Map<String, Object> attributes;
+
+  /** . */
+  private ByteArrayOutputStream buffer;
+
+  /** . */
+  private BinaryOutputStream binary;
+
+  @Setup
+  public void setup() throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0;i < 16;i++) {
+      text.append(PARAGRAPH);
+    }
+    StringBuilder expression = new StringBuilder();
+    for (int i = 0;i < 16;i++) {
+      expression.append("<p>${name} has ${count} messages since ${date}</p>\n");
+    }
+    Map<String, String> sources = new HashMap<String, String>();
+    sources.put("text.gtmpl", text.toString());
+    sources.put("expression.gtmpl", expression.toString());
+    sources.put("scriptlet.gtmpl", "<ul>\n<% for (int i = 0;i < 32;i++) { %><li class=\"<%= i % 2 == 0 ? 'even' : 'odd' %>\">${name} ${i}</li>\n<% } %></ul>\n");
+    sources.put("fragment.gtmpl", PARAGRAPH);
+    sources.put("include.gtmpl", "<div>#{include path=fragment.gtmpl/}#{include path=fragment.gtmpl/}#{include path=fragment.gtmpl/}#{include path=fragment.gtmpl/}</div>\n");
+    sources.put("layout.gtmpl", "<html><head><title>Layout</title></head><body><div id=\"content\">#{insert/}</div></body></html>\n");
+    sources.put("decorate.gtmpl", "#{decorate path=layout.gtmpl/}" + PARAGRAPH);
+    sources.put("message.gtmpl", "<p>&{greeting} ${name}</p><p>&{farewell}</p><p>&{greeting}</p><p>&{missing}</p>\n");
+    Map<String, String> messages = new HashMap<String, String>();
+    messages.put("greeting", "Hello");
+    messages.put("farewell", "Goodbye");
+
+    //
+    Map<String, Object> attributes = new HashMap<String, Object>();
+    attributes.put("name", "Juzu");
+    attributes.put("count", 42);
+    attributes.put("date", new Date(0));
+
+    //
+    this.templates = new GtmplTemplates(sources, messages);
+    this.attributes = attributes;
+    this.buffer = new ByteArrayOutputStream(4096);
+    this.binary = new BinaryOutputStream(Tools.UTF_8, buffer);
+  }
+
+  @Benchmark
+  public void renderToSink() throws IOException {
+    templates.createContext(template + ".gtmpl", attributes).render(SinkStream.INSTANCE);
+  }
+
+  @Benchmark
+  public int renderToBinary() throws IOException {
+    buffer.reset();
+    templates.createContext(template + ".gtmpl", attributes).render(binary);
+    return buffer.size();
+  }
+}
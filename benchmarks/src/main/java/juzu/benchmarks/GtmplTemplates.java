@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks;
+
+import juzu.impl.common.MethodInvocation;
+import juzu.impl.common.Name;
+import juzu.impl.common.Path;
+import juzu.impl.common.Resource;
+import juzu.impl.common.Timestamped;
+import juzu.impl.compiler.ProcessingException;
+import juzu.impl.tags.DecorateTag;
+import juzu.impl.tags.IncludeTag;
+import juzu.impl.tags.InsertTag;
+import juzu.impl.template.spi.EmitContext;
+import juzu.impl.template.spi.ProcessContext;
+import juzu.impl.template.spi.TemplateException;
+import juzu.impl.template.spi.TemplateModel;
+import juzu.impl.template.spi.TemplateStub;
+import juzu.impl.template.spi.juzu.ast.ASTNode;
+import juzu.impl.template.spi.juzu.compiler.EmitPhase;
+import juzu.impl.template.spi.juzu.compiler.ProcessPhase;
+import juzu.impl.template.spi.juzu.dialect.gtmpl.GroovyTemplateEmitter;
+import juzu.impl.template.spi.juzu.dialect.gtmpl.GroovyTemplateStub;
+import juzu.impl.template.spi.juzu.dialect.gtmpl.MessageKey;
+import juzu.template.Renderable;
+import juzu.template.TagHandler;
+import juzu.template.TemplateRenderContext;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A set of gtmpl templates compiled in memory, the templates can include or decorate each other and are
+ * rendered with a render context that resolves templates, tags and messages without a running application.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class GtmplTemplates {
+
+  /** . */
+  private static final Name PKG = Name.parse("juzu.benchmarks.templates");
+
+  /** . */
+  private final Map<String, TagHandler> tags;
+
+  /** . */
+  private final Map<String, TemplateStub> stubs;
+
+  /** . */
+  private final Map<String, String> messages;
+
+  public GtmplTemplates(Map<String, String> sources, Map<String, String> messages) throws Exception {
+    Map<String, TagHandler> tags = new HashMap<String, TagHandler>();
+    for (TagHandler tag : new TagHandler[]{new IncludeTag(), new DecorateTag(), new InsertTag()}) {
+      tags.put(tag.getName(), tag);
+    }
+
+    //
+    this.tags = tags;
+    this.stubs = new HashMap<String, TemplateStub>();
+    this.messages = messages;
+
+    //
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      Path.Absolute path = PKG.resolve(source.getKey());
+      stubs.put(path.getCanonical(), compile(path, source.getValue()));
+    }
+  }
+
+  private GroovyTemplateStub compile(final Path.Absolute path, String text) throws Exception {
+    ProcessPhase processPhase = new ProcessPhase(new ProcessContext() {
+      @Override
+      public TagHandler resolveTagHandler(String name) {
+        return tags.get(name);
+      }
+      @Override
+      public Timestamped<Resource> resolveResource(Path.Absolute path) {
+        return null;
+      }
+      @Override
+      protected Path.Absolute resolvePath(Path.Relative path) {
+        return PKG.resolve(path);
+      }
+      @Override
+      public Path.Absolute resolveTemplate(Path path) throws TemplateException {
+        return PKG.resolve(path);
+      }
+      public MethodInvocation resolveMethodInvocation(String typeName, String methodName, Map<String, String> parameterMap) throws ProcessingException {
+        return null;
+      }
+    });
+    TemplateModel<ASTNode.Template> templateModel = new TemplateModel<ASTNode.Template>(
+        ASTNode.Template.parse(text),
+        path,
+        0,
+        0);
+    processPhase.process(templateModel);
+
+    //
+    GroovyTemplateEmitter emitter = new GroovyTemplateEmitter(path.getName());
+    EmitPhase emitPhase = new EmitPhase(new EmitContext() {
+      @Override
+      public TagHandler resolveTagHandler(String name) {
+        return tags.get(name);
+      }
+      public void createResource(Path.Absolute path, CharSequence content) throws IOException {
+        throw new UnsupportedOperationException();
+      }
+    });
+    emitPhase.emit(emitter, templateModel.getModel());
+    GroovyTemplateStub stub = emitter.build(path.getName().toString());
+    stub.init();
+    return stub;
+  }
+
+  /**
+   * Create a render context for the template with the specified path.
+   *
+   * @param path the template path relative to the templates package
+   * @param attributes the template attributes
+   * @return the render context
+   */
+  public TemplateRenderContext createContext(String path, Map<String, Object> attributes) {
+    TemplateStub stub = stubs.get(PKG.resolve(path).getCanonical());
+    if (stub == null) {
+      throw new IllegalArgumentException("No template " + path);
+    }
+    return new TemplateRenderContext(stub, null, attributes, Locale.ENGLISH) {
+      @Override
+      public void renderTag(String name, Renderable body, Map<String, String> parameters) throws IOException {
+        tags.get(name).render(this, body, parameters);
+      }
+      @Override
+      public TemplateStub resolveTemplate(String path) {
+        return stubs.get(path);
+      }
+      @Override
+      public String resolveMessage(MessageKey key) {
+        String value = messages.get(key.getValue());
+        return value != null ? value : "";
+      }
+    };
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks;
+
+import juzu.impl.common.Tools;
+import juzu.impl.io.BinaryOutputStream;
+import juzu.impl.io.SinkStream;
+import juzu.template.TemplateRenderContext;
+import juzu.templating.mustache.TemplateStubImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a Mustache template with a section and a partial.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MustacheBenchmark {
+
+  /** . */
+  private TemplateStubImpl stub;
+
+  /** . */
+  private Map<String, Object> attributes;
+
+  /** . */
+  private ByteArrayOutputStream buffer;
+
+  /** . */
+  private BinaryOutputStream binary;
+
+  @Setup
+  public void setup() {
+    List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+    for (int i = 0;i < 32;i++) {
+      Map<String, Object> item = new HashMap<String, Object>();
+      item.put("label", "Item " + i);
+      item.put("style", i % 2 == 0 ? "even" : "odd");
+      items.add(item);
+    }
+    Map<String, Object> attributes = new HashMap<String, Object>();
+    attributes.put("title", "Mustache");
+    attributes.put("name", "Juzu");
+    attributes.put("count", 42);
+    attributes.put("items", items);
+
+    //
+    TemplateStubImpl stub = new TemplateStubImpl(MustacheBenchmark.class.getClassLoader(), "juzu.benchmarks.mustache.page");
+    stub.init();
+
+    //
+    this.stub = stub;
+    this.attributes = attributes;
+    this.buffer = new ByteArrayOutputStream(4096);
+    this.binary = new BinaryOutputStream(Tools.UTF_8, buffer);
+  }
+
+  @Benchmark
+  public void renderToSink() throws IOException {
+    new TemplateRenderContext(stub, null, attributes, Locale.ENGLISH).render(SinkStream.INSTANCE);
+  }
+
+  @Benchmark
+  public int renderToBinary() throws IOException {
+    buffer.reset();
+    new TemplateRenderContext(stub, null, attributes, Locale.ENGLISH).render(binary);
+    return buffer.size();
+  }
+}
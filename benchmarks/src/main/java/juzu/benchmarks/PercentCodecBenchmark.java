@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks;
+
+import juzu.impl.common.PercentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the table driven {@link PercentCodec} with the former codec based on {@link java.math.BigInteger}
+ * bit tests for a query parameter value.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercentCodecBenchmark {
+
+  @Param({"plain", "escaped", "unicode"})
+  public String value;
+
+  /** . */
+  private String decoded;
+
+  /** . */
+  private String encoded;
+
+  @Setup
+  public void setup() {
+    if ("plain".equals(value)) {
+      decoded = "juzu.benchmarks.PercentCodecBenchmark_value-0123456789";
+    } else if ("escaped".equals(value)) {
+      decoded = "a value with spaces & ampersands / slashes = equals";
+    } else if ("unicode".equals(value)) {
+      decoded = "caf\u00E9 cr\u00E8me br\u00FBl\u00E9e \u20AC 10";
+    } else {
+      throw new IllegalArgumentException("Unknown value " + value);
+    }
+    encoded = PercentCodec.RFC3986_QUERY_PARAM_VALUE.encode(decoded);
+  }
+
+  @Benchmark
+  public String encode() {
+    return PercentCodec.RFC3986_QUERY_PARAM_VALUE.encode(decoded);
+  }
+
+  @Benchmark
+  public String encodeBigInteger() throws IOException {
+    return BigIntegerPercentCodec.RFC3986_QUERY_PARAM_VALUE.encode(decoded);
+  }
+
+  @Benchmark
+  public String decode() {
+    return PercentCodec.RFC3986_QUERY_PARAM_VALUE.decode(encoded);
+  }
+
+  @Benchmark
+  public String decodeBigInteger() {
+    return BigIntegerPercentCodec.RFC3986_QUERY_PARAM_VALUE.decode(encoded);
+  }
+}
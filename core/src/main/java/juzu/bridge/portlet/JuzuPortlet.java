@@ -29,20 +29,23 @@ import juzu.impl.bridge.spi.portlet.PortletEventBridge;
 import juzu.impl.bridge.spi.portlet.PortletViewBridge;
 import juzu.impl.bridge.spi.servlet.AbstractBridgeContext;
 import juzu.impl.common.JUL;
+import juzu.impl.compiler.CompilationException;
 import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.fs.spi.war.WarFileSystem;
 import juzu.impl.bridge.spi.portlet.PortletActionBridge;
+import juzu.impl.bridge.spi.portlet.PortletApplicationContext;
 import juzu.impl.bridge.spi.portlet.PortletResourceBridge;
 import juzu.impl.common.Logger;
 import juzu.impl.common.SimpleMap;
 import juzu.impl.common.Tools;
 import juzu.impl.inject.spi.Injector;
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.inject.spi.cdi.weld.WeldInjector;
 import juzu.impl.inject.spi.spring.SpringInjector;
-import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.plugin.controller.ControllerResolver;
 import juzu.impl.request.ControllerHandler;
 import juzu.impl.resource.ResourceResolver;
+import juzu.impl.runtime.Deployment;
 import juzu.request.Phase;
 
 import javax.portlet.ActionRequest;
@@ -81,7 +84,7 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
   private Bridge bridge;
 
   /** . */
-  private PortletConfig config;
+  private PortletApplicationContext applicationContext;
 
   public void init(final PortletConfig config) throws PortletException {
 
@@ -193,6 +196,8 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
       if (parent != null) {
         springInjector.setParent(parent);
       }
+    } else if (injector instanceof WeldInjector) {
+      ((WeldInjector)injector).setBeanIndex(bridgeConfig.beanIndex);
     }
 
     //
@@ -222,7 +227,7 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
     }
 
     //
-    this.config = config;
+    this.applicationContext = new PortletApplicationContext(config);
     this.bridge = bridge;
   }
 
@@ -247,54 +252,77 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
     }
   }
 
+  /**
+   * Acquire the deployment serving a request, the request must be served by this deployment only.
+   *
+   * @return the acquired deployment
+   * @throws PortletException when no application is available
+   */
+  private Deployment acquire() throws PortletException {
+    Deployment deployment = bridge.acquire();
+    if (deployment == null) {
+      throw new PortletException("No application available");
+    }
+    return deployment;
+  }
+
   public void processAction(ActionRequest req, ActionResponse resp) throws PortletException, IOException {
+    Deployment deployment = acquire();
     try {
-      PortletActionBridge requestBridge = new PortletActionBridge(bridge, req, resp, config);
+      PortletActionBridge requestBridge = new PortletActionBridge(bridge, deployment, req, resp, applicationContext);
       requestBridge.invoke();
       requestBridge.send();
     }
     catch (Throwable e) {
       rethrow(e);
     }
+    finally {
+      Tools.safeClose(deployment);
+    }
   }
 
   public void processEvent(EventRequest request, EventResponse response) throws PortletException, IOException {
-    ControllerResolver<ControllerHandler> resolver = bridge.getApplication().resolveBean(ControllerService.class).getDescriptor().getResolver();
-    List<ControllerHandler> handlers = resolver.resolveMethods(Phase.EVENT, null, request.getParameterMap().keySet());
-
-    //
-    ControllerHandler target = null;
-    for (ControllerHandler handler : handlers) {
-      Consumes consumes = handler.getMethod().getAnnotation(Consumes.class);
-      if (consumes.value().equals("")) {
-        target = handler;
-        // we don't break here on purpose because having empty match is less important
-        // than an explicit match
-      } else if (consumes.value().equals(request.getEvent().getName())) {
-        target = handler;
-        break;
+    Deployment deployment = acquire();
+    try {
+      ControllerResolver<ControllerHandler> resolver = deployment.getControllerService().getDescriptor().getResolver();
+      List<ControllerHandler> handlers = resolver.resolveMethods(Phase.EVENT, null, request.getParameterMap().keySet());
+
+      //
+      ControllerHandler target = null;
+      for (ControllerHandler handler : handlers) {
+        Consumes consumes = handler.getMethod().getAnnotation(Consumes.class);
+        if (consumes.value().equals("")) {
+          target = handler;
+          // we don't break here on purpose because having empty match is less important
+          // than an explicit match
+        } else if (consumes.value().equals(request.getEvent().getName())) {
+          target = handler;
+          break;
+        }
       }
-    }
 
-    //
-    if (target != null) {
-      try {
+      //
+      if (target != null) {
         PortletEventBridge requestBridge = new PortletEventBridge(
             bridge,
+            deployment,
             request,
             response,
-            config,
+            applicationContext,
             target,
             request.getParameterMap());
         requestBridge.invoke();
         requestBridge.send();
+      } else {
+        // We just don't dispatch however we keep the same render parameters
+        response.setRenderParameters(request);
       }
-      catch (Throwable e) {
-        rethrow(e);
-      }
-    } else {
-      // We just don't dispatch however we keep the same render parameters
-      response.setRenderParameters(request);
+    }
+    catch (Throwable e) {
+      rethrow(e);
+    }
+    finally {
+      Tools.safeClose(deployment);
     }
   }
 
@@ -324,15 +352,35 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
       }
     }
 
+    // Refresh before acquiring the deployment so the request is served by the refreshed application
+    CompilationException failure = null;
+    try {
+      bridge.refresh();
+    }
+    catch (CompilationException e) {
+      failure = e;
+    }
+    catch (Exception e) {
+      rethrow(e);
+    }
+
     //
+    Deployment deployment = acquire();
     try {
-      PortletViewBridge requestBridge = new PortletViewBridge(bridge, req, resp, config);
-      requestBridge.invoke();
+      PortletViewBridge requestBridge = new PortletViewBridge(bridge, deployment, req, resp, applicationContext);
+      if (failure != null) {
+        requestBridge.setResponse(failure.asResponse());
+      } else {
+        requestBridge.invoke();
+      }
       requestBridge.send();
     }
     catch (Throwable e) {
       rethrow(e);
     }
+    finally {
+      Tools.safeClose(deployment);
+    }
   }
 
   public void serveResource(final ResourceRequest req, final ResourceResponse resp) throws PortletException, IOException {
@@ -360,14 +408,18 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
     }
 
     //
+    Deployment deployment = acquire();
     try {
-      PortletResourceBridge requestBridge = new PortletResourceBridge(bridge, req, resp, config);
+      PortletResourceBridge requestBridge = new PortletResourceBridge(bridge, deployment, req, resp, applicationContext);
       requestBridge.invoke();
       requestBridge.send();
     }
     catch (Throwable throwable) {
       rethrow(throwable);
     }
+    finally {
+      Tools.safeClose(deployment);
+    }
   }
 
   public void destroy() {
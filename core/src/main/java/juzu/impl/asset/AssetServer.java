@@ -30,15 +30,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AssetServer {
 
-  /** Application -> Dynamic. */
-  HashMap<Application, Boolean> runtimes = new HashMap<Application, Boolean>();
+  /** Application -> Dynamic, an immutable snapshot replaced on each change so requests read it without locking. */
+  private volatile Map<Application, Boolean> runtimes = Collections.emptyMap();
 
   /** . */
   private static final ThreadLocal<AssetServer> current = new ThreadLocal<AssetServer>();
@@ -46,12 +47,27 @@ public class AssetServer {
   public AssetServer() {
   }
 
-  public void register(Application assetManager, boolean cacheAssets) {
-    runtimes.put(assetManager, cacheAssets);
+  public synchronized void register(Application assetManager, boolean cacheAssets) {
+    LinkedHashMap<Application, Boolean> copy = new LinkedHashMap<Application, Boolean>(runtimes);
+    copy.put(assetManager, cacheAssets);
+    runtimes = Collections.unmodifiableMap(copy);
   }
 
-  public void unregister(Application assetManager) {
-    runtimes.remove(assetManager);
+  public synchronized void unregister(Application assetManager) {
+    if (runtimes.containsKey(assetManager)) {
+      LinkedHashMap<Application, Boolean> copy = new LinkedHashMap<Application, Boolean>(runtimes);
+      copy.remove(assetManager);
+      runtimes = Collections.unmodifiableMap(copy);
+    }
+  }
+
+  /**
+   * Returns the current snapshot of the registered applications.
+   *
+   * @return the immutable snapshot
+   */
+  Map<Application, Boolean> getRuntimes() {
+    return runtimes;
   }
 
   public boolean doGet(String path, ServletContext ctx, HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
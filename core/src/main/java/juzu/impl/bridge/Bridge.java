@@ -18,11 +18,15 @@ package juzu.impl.bridge;
 
 import juzu.impl.common.Completion;
 import juzu.impl.plugin.application.Application;
+import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.common.RunMode;
 import juzu.impl.asset.AssetServer;
+import juzu.impl.plugin.template.TemplateService;
 import juzu.impl.resource.ResourceResolver;
+import juzu.impl.runtime.Deployment;
 
 import java.io.Closeable;
+import java.util.concurrent.ExecutionException;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class Bridge implements Closeable {
@@ -60,10 +64,81 @@ public abstract class Bridge implements Closeable {
     return refresh(true);
   }
 
+  /**
+   * Prepares a freshly started deployment according to the bridge configuration.
+   *
+   * @param deployment the started deployment
+   */
+  protected void prepare(Deployment deployment) {
+    Application application = deployment.getApplication();
+    ControllerService controllerService = deployment.getControllerService();
+    TemplateService templates = (TemplateService)application.getPlugin("template");
+    if (templates != null) {
+      templates.setRetry(config.retryTemplates);
+      if (config.prewarmTemplates) {
+        try {
+          templates.prewarm();
+        }
+        catch (ExecutionException e) {
+          context.getLogger(Bridge.class.getName()).error("Could not prewarm the templates of " + application.getName(), e.getCause());
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+    if (config.prewarmControllers && controllerService != null) {
+      try {
+        controllerService.prewarm();
+      }
+      catch (ExecutionException e) {
+        context.getLogger(Bridge.class.getName()).error("Could not prewarm the controllers of " + application.getName(), e.getCause());
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Returns the application of the current deployment.
+   *
+   * @return the application or null
+   */
+  public Application getApplication() {
+    Deployment deployment = getDeployment();
+    return deployment != null ? deployment.getApplication() : null;
+  }
+
+  /**
+   * Returns the controller service of the current deployment. A request must use the controller service of the
+   * deployment it acquired instead.
+   *
+   * @return the controller service or null
+   */
+  public ControllerService getControllerService() {
+    Deployment deployment = getDeployment();
+    return deployment != null ? deployment.getControllerService() : null;
+  }
+
   public abstract RunMode getRunMode();
 
   public abstract Completion<Boolean> refresh(boolean recompile);
 
-  public abstract Application getApplication();
+  /**
+   * Returns the current deployment without acquiring it.
+   *
+   * @return the current deployment or null
+   */
+  public abstract Deployment getDeployment();
+
+  /**
+   * Acquire the current deployment for serving a request, the returned deployment must be closed when the request
+   * ends and the request must be served by this deployment only. A deployment replaced by a refresh is not stopped
+   * before the requests it serves end.
+   *
+   * @return the acquired deployment or null when there is no deployment
+   */
+  public abstract Deployment acquire();
 
 }
@@ -40,8 +40,43 @@ public class BridgeConfig {
   /** The default request encoding charset. */
   public static final String REQUEST_ENCODING = "juzu.request_encoding";
 
+  /** Flush the page head before the view controller is invoked. */
+  public static final String FLUSH_EARLY = "juzu.flush_early";
+
+  /** Initialize the application templates when the application starts. */
+  public static final String PREWARM_TEMPLATES = "juzu.prewarm_templates";
+
+  /** Initialize again a template that failed to initialize on its next use, true by default. */
+  public static final String RETRY_TEMPLATES = "juzu.retry_templates";
+
+  /** Create the singleton controllers when the application starts. */
+  public static final String PREWARM_CONTROLLERS = "juzu.prewarm_controllers";
+
+  /** Find the CDI bean classes with the bean index emitted at compile time instead of the class files. */
+  public static final String BEAN_INDEX = "juzu.bean_index";
+
+  /** The maximum size in bytes of a form url encoded body, a negative value disables the limit. */
+  public static final String FORM_MAX_SIZE = "juzu.form_max_size";
+
+  /** The maximum number of parameters of a form url encoded body, a negative value disables the limit. */
+  public static final String FORM_MAX_PARAMETERS = "juzu.form_max_parameters";
+
+  /** The maximum size in bytes of a form parameter name or value, a negative value disables the limit. */
+  public static final String FORM_MAX_VALUE_SIZE = "juzu.form_max_value_size";
+
   /** . */
-  public static final Set<String> NAMES = Collections.unmodifiableSet(Tools.set(INJECT, APP_NAME, REQUEST_ENCODING));
+  public static final Set<String> NAMES = Collections.unmodifiableSet(Tools.set(
+      INJECT,
+      APP_NAME,
+      REQUEST_ENCODING,
+      FLUSH_EARLY,
+      PREWARM_TEMPLATES,
+      RETRY_TEMPLATES,
+      PREWARM_CONTROLLERS,
+      BEAN_INDEX,
+      FORM_MAX_SIZE,
+      FORM_MAX_PARAMETERS,
+      FORM_MAX_VALUE_SIZE));
 
   /** . */
   public final Name name;
@@ -52,10 +87,42 @@ public class BridgeConfig {
   /** . */
   public final Charset requestEncoding;
 
+  /** . */
+  public final boolean flushEarly;
+
+  /** . */
+  public final boolean prewarmTemplates;
+
+  /** . */
+  public final boolean retryTemplates;
+
+  /** . */
+  public final boolean prewarmControllers;
+
+  /** . */
+  public final boolean beanIndex;
+
+  /** . */
+  public final int formMaxSize;
+
+  /** . */
+  public final int formMaxParameters;
+
+  /** . */
+  public final int formMaxValueSize;
+
   public BridgeConfig(Logger log, Map<String, String> config) throws Exception {
     this.name = getApplicationName(config);
     this.injectorProvider = getInjectImplementation(log, config);
     this.requestEncoding = getRequestEncoding(config);
+    this.flushEarly = getBoolean(config, FLUSH_EARLY);
+    this.prewarmTemplates = getBoolean(config, PREWARM_TEMPLATES);
+    this.retryTemplates = getBoolean(config, RETRY_TEMPLATES, true);
+    this.prewarmControllers = getBoolean(config, PREWARM_CONTROLLERS);
+    this.beanIndex = getBoolean(config, BEAN_INDEX);
+    this.formMaxSize = getInt(config, FORM_MAX_SIZE, 2 * 1024 * 1024);
+    this.formMaxParameters = getInt(config, FORM_MAX_PARAMETERS, 10000);
+    this.formMaxValueSize = getInt(config, FORM_MAX_VALUE_SIZE, 1024 * 1024);
   }
 
   private Name getApplicationName(Map<String, String> config) {
@@ -106,4 +173,28 @@ public class BridgeConfig {
       return Tools.ISO_8859_1;
     }
   }
+
+  private boolean getBoolean(Map<String, String> config, String name) {
+    return getBoolean(config, name, false);
+  }
+
+  private boolean getBoolean(Map<String, String> config, String name, boolean defaultValue) {
+    String param = config.get(name);
+    if (param != null) {
+      param = Tools.interpolate(param, System.getProperties());
+      return Boolean.parseBoolean(param.trim());
+    } else {
+      return defaultValue;
+    }
+  }
+
+  private int getInt(Map<String, String> config, String name, int defaultValue) {
+    String param = config.get(name);
+    if (param != null) {
+      param = Tools.interpolate(param, System.getProperties());
+      return Integer.parseInt(param.trim());
+    } else {
+      return defaultValue;
+    }
+  }
 }
@@ -21,6 +21,8 @@ import juzu.impl.common.Tools;
 import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.resource.ResourceResolver;
 
+import java.io.File;
+
 /** @author Julien Viet */
 public abstract class BridgeContext {
 
@@ -44,6 +46,36 @@ public abstract class BridgeContext {
     return runMode;
   }
 
+  /**
+   * Returns the directory of the compilation cache of the live mode configured by the
+   * <code>juzu.compilation_cache</code> init parameter, system properties are interpolated in the parameter value.
+   *
+   * @return the compilation cache directory or null when there is no cache
+   */
+  public File getCompilationCache() {
+    String value = getInitParameter("juzu.compilation_cache");
+    return value != null ? new File(Tools.interpolate(value, System.getProperties())) : null;
+  }
+
+  /**
+   * Returns the interval in milliseconds between two scans of the sources of the live mode performed in the
+   * background configured by the <code>juzu.scan_interval</code> init parameter, system properties are interpolated
+   * in the parameter value.
+   *
+   * @return the scan interval or zero when the sources are scanned by the requests
+   */
+  public long getScanInterval() {
+    String value = getInitParameter("juzu.scan_interval");
+    if (value != null) {
+      try {
+        return Math.max(0, Long.parseLong(Tools.interpolate(value, System.getProperties()).trim()));
+      }
+      catch (NumberFormatException ignore) {
+      }
+    }
+    return 0;
+  }
+
   public abstract Logger getLogger(String name);
 
   public abstract ReadFileSystem<?> getClassPath();
@@ -38,6 +38,7 @@ public class DescriptorBuilder {
   public static DescriptorBuilder DEFAULT = new DescriptorBuilder(
       InjectorProvider.GUICE,
       Tools.ISO_8859_1,
+      false,
       RunMode.PROD,
       null,
       new String[0],
@@ -74,6 +75,9 @@ public class DescriptorBuilder {
   /** . */
   private final Charset requestEncoding;
 
+  /** . */
+  private final boolean flushEarly;
+
   /** . */
   private final String[] servletsName;
 
@@ -102,6 +106,7 @@ public class DescriptorBuilder {
     this(
         other.injector,
         other.requestEncoding,
+        other.flushEarly,
         other.runMode,
         other.sourcePath,
         other.applicationNames,
@@ -121,6 +126,7 @@ public class DescriptorBuilder {
   private DescriptorBuilder(
       InjectorProvider injector,
       Charset requestEncoding,
+      boolean flushEarly,
       RunMode runMode,
       String sourcePath,
       String[] applicationNames,
@@ -141,6 +147,7 @@ public class DescriptorBuilder {
     this.sourcePath = sourcePath;
     this.urlPatterns = urlPatterns;
     this.requestEncoding = requestEncoding;
+    this.flushEarly = flushEarly;
     this.listenersClass = listenersClass;
     this.servletsName = servletsName;
     this.servletsUrlPattern = servletsUrlPattern;
@@ -155,14 +162,14 @@ public class DescriptorBuilder {
     if (runMode == null) {
       throw new NullPointerException("No null run mode");
     }
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
   }
 
   public DescriptorBuilder injector(InjectorProvider injector) {
     if (injector == null) {
       throw new NullPointerException("No null injector");
     }
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
   }
 
   public DescriptorBuilder portletApp(String applicationName, String portletName) {
@@ -186,6 +193,7 @@ public class DescriptorBuilder {
     return new DescriptorBuilder(
         injector,
         requestEncoding,
+        flushEarly,
         runMode,
         sourcePath,
         Tools.appendTo(applicationNames, applicationName),
@@ -206,25 +214,29 @@ public class DescriptorBuilder {
     if (sourcePath == null) {
       throw new NullPointerException("No null source path");
     }
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
   }
 
   public DescriptorBuilder requestEncoding(Charset requestEncoding) {
     if (requestEncoding == null) {
       throw new NullPointerException("No null request encoding");
     }
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
+  }
+
+  public DescriptorBuilder flushEarly(boolean flushEarly) {
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
   }
 
   public DescriptorBuilder listener(String listenerClass) {
     if (requestEncoding == null) {
       throw new NullPointerException("No null listener class");
     }
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, Tools.appendTo(listenersClass, listenerClass), servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, Tools.appendTo(listenersClass, listenerClass), servletsName, servletsUrlPattern, servletsClass, servletsLoadOnStartup, servletsAsync, resourcesEnvRefName, resourcesEnvRefType);
   }
 
   public DescriptorBuilder servlet(String servletName, String servletUrlPattern, String servletClass, Integer servletLoadOnStartup, Boolean servletAsync) {
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, Tools.appendTo(servletsName, servletName), Tools.appendTo(servletsUrlPattern, servletUrlPattern), Tools.appendTo(servletsClass, servletClass), Tools.appendTo(servletsLoadOnStartup, servletLoadOnStartup), Tools.appendTo(servletsAsync, servletAsync), resourcesEnvRefName, resourcesEnvRefType);
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, Tools.appendTo(servletsName, servletName), Tools.appendTo(servletsUrlPattern, servletUrlPattern), Tools.appendTo(servletsClass, servletClass), Tools.appendTo(servletsLoadOnStartup, servletLoadOnStartup), Tools.appendTo(servletsAsync, servletAsync), resourcesEnvRefName, resourcesEnvRefType);
   }
 
   public DescriptorBuilder embedPortletContainer() {
@@ -232,7 +244,7 @@ public class DescriptorBuilder {
   }
 
   public DescriptorBuilder resourceEnvRef(String name, String type) {
-    return new DescriptorBuilder(injector, requestEncoding, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass,servletsLoadOnStartup, servletsAsync, Tools.appendTo(resourcesEnvRefName, name), Tools.appendTo(resourcesEnvRefType, type));
+    return new DescriptorBuilder(injector, requestEncoding, flushEarly, runMode, sourcePath, applicationNames, applicationTypes, urlPatterns, listenersClass, servletsName, servletsUrlPattern, servletsClass,servletsLoadOnStartup, servletsAsync, Tools.appendTo(resourcesEnvRefName, name), Tools.appendTo(resourcesEnvRefType, type));
   }
 
   public Iterable<String> getApplications() {
@@ -255,6 +267,10 @@ public class DescriptorBuilder {
     return requestEncoding;
   }
 
+  public boolean getFlushEarly() {
+    return flushEarly;
+  }
+
   private void appendContextParam(StringBuilder buffer, String paramName, String paramValue) {
     buffer.append("<context-param>\n");
     buffer.append("<param-name>").append(paramName).append("</param-name>");
@@ -315,6 +331,9 @@ public class DescriptorBuilder {
     appendContextParam(buffer, "juzu.run_mode", runMode.getValue());
     appendContextParam(buffer, "juzu.inject", injector.getValue());
     appendContextParam(buffer, "juzu.request_encoding", requestEncoding.name());
+    if (flushEarly) {
+      appendContextParam(buffer, BridgeConfig.FLUSH_EARLY, "true");
+    }
     if (sourcePath != null) {
       appendContextParam(buffer, "juzu.src_path", sourcePath);
     }
@@ -19,7 +19,6 @@ import juzu.impl.bridge.Bridge;
 import juzu.impl.bridge.BridgeConfig;
 import juzu.impl.bridge.BridgeContext;
 import juzu.impl.common.Completion;
-import juzu.impl.plugin.application.Application;
 import juzu.impl.asset.AssetServer;
 import juzu.impl.common.Logger;
 import juzu.impl.common.RunMode;
@@ -27,6 +26,7 @@ import juzu.impl.common.Tools;
 import juzu.impl.inject.spi.Injector;
 import juzu.impl.resource.ResourceResolver;
 import juzu.impl.runtime.ApplicationRuntime;
+import juzu.impl.runtime.Deployment;
 
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -49,6 +49,9 @@ public class ApplicationBridge extends Bridge {
   /** . */
   private final Logger log;
 
+  /** Prepares the deployments before they are published. */
+  private final ApplicationRuntime.Preparation preparation;
+
   public ApplicationBridge(
       ModuleContextImpl moduleContext,
       BridgeContext context,
@@ -63,6 +66,11 @@ public class ApplicationBridge extends Bridge {
     this.log = context.getLogger(ApplicationBridge.class.getName());
     this.injector = injector;
     this.application = new AtomicReference<ApplicationRuntime<?, ?>>();
+    this.preparation = new ApplicationRuntime.Preparation() {
+      public void prepare(Deployment deployment) {
+        ApplicationBridge.this.prepare(deployment);
+      }
+    };
   }
 
   public RunMode getRunMode() {
@@ -84,12 +92,20 @@ public class ApplicationBridge extends Bridge {
             server,
             resolver));
       }
-      return application.get().refresh();
+      return application.get().refresh(preparation);
     }
   }
 
-  public Application getApplication() {
-    return application.get().getApplication();
+  @Override
+  public Deployment acquire() {
+    ApplicationRuntime<?, ?> runtime = application.get();
+    return runtime != null ? runtime.acquire() : null;
+  }
+
+  @Override
+  public Deployment getDeployment() {
+    ApplicationRuntime<?, ?> runtime = application.get();
+    return runtime != null ? runtime.getDeployment() : null;
   }
 
   public void close() {
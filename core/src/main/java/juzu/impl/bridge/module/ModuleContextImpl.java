@@ -22,10 +22,12 @@ import juzu.impl.common.Logger;
 import juzu.impl.common.RunMode;
 import juzu.impl.common.Tools;
 import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.fs.spi.cache.CachingFileSystem;
 import juzu.impl.plugin.module.ModuleContext;
 import juzu.impl.resource.ResourceResolver;
 import juzu.impl.runtime.ModuleRuntime;
 
+import java.io.File;
 import java.net.URL;
 
 /**
@@ -44,24 +46,44 @@ public class ModuleContextImpl implements ModuleContext {
   /** . */
   final ModuleRuntime<?> runtime;
 
+  /** . */
+  final ReadFileSystem<?> resourcePath;
+
   public ModuleContextImpl(Logger log, BridgeContext bridgeContext, ResourceResolver resolver) {
 
     //
     ModuleRuntime<?> lifeCycle;
+    ReadFileSystem<?> resourcePath;
     if (bridgeContext.getRunMode().isDynamic()) {
       ReadFileSystem<?> sourcePath = bridgeContext.getSourcePath();
       log.info("Initializing live module at " + sourcePath.getDescription());
-      lifeCycle = new ModuleRuntime.Dynamic(log, Thread.currentThread().getContextClassLoader(), sourcePath);
+      File cacheDir = bridgeContext.getCompilationCache();
+      if (cacheDir != null) {
+        log.info("Using compilation cache at " + cacheDir.getAbsolutePath());
+      }
+      long scanInterval = bridgeContext.getScanInterval();
+      if (scanInterval > 0) {
+        log.info("Detecting the source changes every " + scanInterval + "ms");
+      }
+      lifeCycle = new ModuleRuntime.Dynamic(log, Thread.currentThread().getContextClassLoader(), sourcePath, cacheDir, scanInterval);
+      resourcePath = bridgeContext.getResourcePath();
     } else {
       log.info("Initializing module in " + bridgeContext.getRunMode().name().toLowerCase() + " mode");
-      ReadFileSystem<?> classPath = bridgeContext.getClassPath();
+      // The class path and the resources do not change, they are scanned once
+      ReadFileSystem<?> classPath = cache(bridgeContext.getClassPath());
       lifeCycle = new ModuleRuntime.Static(log, Thread.currentThread().getContextClassLoader(), classPath);
+      resourcePath = cache(bridgeContext.getResourcePath());
     }
 
     //
     this.bridgeContext = bridgeContext;
     this.resolver = resolver;
     this.runtime = lifeCycle;
+    this.resourcePath = resourcePath;
+  }
+
+  private static <P> ReadFileSystem<P> cache(ReadFileSystem<P> fs) {
+    return new CachingFileSystem<P>(fs);
   }
 
   public JSON getConfig() throws Exception {
@@ -72,7 +94,7 @@ public class ModuleContextImpl implements ModuleContext {
   }
 
   public ReadFileSystem<?> getResourcePath() {
-    return bridgeContext.getResourcePath();
+    return resourcePath;
   }
 
   public RunMode getRunMode() {
@@ -26,7 +26,9 @@ import juzu.impl.asset.AssetServer;
 import juzu.impl.common.RunMode;
 import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.inject.spi.cdi.provided.ProvidedCDIInjector;
+import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.resource.ResourceResolver;
+import juzu.impl.runtime.Deployment;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -40,6 +42,9 @@ public class ProvidedBridge extends Bridge {
   /** . */
   private BeanLifeCycle applicationLifeCycle;
 
+  /** . */
+  private volatile Deployment deployment;
+
   /** . */
   private final Injector injector;
 
@@ -84,6 +89,13 @@ public class ProvidedBridge extends Bridge {
 
       //
       server.register(application, getRunMode().getCacheAssets());
+
+      //
+      Deployment prepared = new Deployment(application, application.resolveBean(ControllerService.class));
+      prepare(prepared);
+
+      // Publish it once prepared
+      deployment = prepared;
     }
 
     //
@@ -91,11 +103,19 @@ public class ProvidedBridge extends Bridge {
   }
 
   @Override
-  public Application getApplication() {
-    return application;
+  public Deployment getDeployment() {
+    return deployment;
+  }
+
+  @Override
+  public Deployment acquire() {
+    Deployment deployment = this.deployment;
+    return deployment != null && deployment.acquire() ? deployment : null;
   }
 
   public void close() throws IOException {
+    Tools.safeClose(deployment);
+    deployment = null;
     Tools.safeClose(applicationLifeCycle);
     applicationLifeCycle = null;
   }
@@ -17,6 +17,7 @@
 package juzu.impl.bridge.spi;
 
 import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 
 import javax.servlet.http.HttpSessionBindingListener;
 import java.io.Closeable;
@@ -27,6 +28,18 @@ public interface ScopedContext extends Iterable<Scoped>, Closeable {
 
   void set(Object key, Scoped scoped) throws NullPointerException;
 
+  /**
+   * Returns the value for the specified key, when there is no such value the factory creates it. The factory
+   * is invoked once even when several threads ask the same key concurrently, these threads wait until the
+   * value is created.
+   *
+   * @param key the key
+   * @param factory the factory
+   * @return the scoped value
+   * @throws NullPointerException if any argument is null
+   */
+  Scoped getOrCreate(Object key, ScopedFactory factory) throws NullPointerException;
+
   int size();
 
   void close();
@@ -18,12 +18,12 @@ package juzu.impl.bridge.spi.portlet;
 
 import juzu.Response;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.runtime.Deployment;
 import juzu.request.ClientContext;
 import juzu.request.Phase;
 
 import javax.portlet.ActionRequest;
 import javax.portlet.ActionResponse;
-import javax.portlet.PortletConfig;
 import javax.portlet.PortletException;
 import java.io.IOException;
 
@@ -33,8 +33,8 @@ public class PortletActionBridge extends PortletInteractionBridge<ActionRequest,
   /** . */
   private final PortletClientContext clientContext;
 
-  public PortletActionBridge(Bridge bridge, ActionRequest request, ActionResponse response, PortletConfig config) {
-    super(bridge, Phase.ACTION, request, response, config);
+  public PortletActionBridge(Bridge bridge, Deployment deployment, ActionRequest request, ActionResponse response, PortletApplicationContext applicationContext) {
+    super(bridge, deployment, Phase.ACTION, request, response, applicationContext);
 
     //
     this.clientContext = new PortletClientContext(request);
@@ -16,6 +16,7 @@
 
 package juzu.impl.bridge.spi.portlet;
 
+import juzu.impl.plugin.bundle.MessageCatalog;
 import juzu.request.ApplicationContext;
 
 import javax.portlet.PortletConfig;
@@ -26,13 +27,18 @@ import java.util.ResourceBundle;
 public class PortletApplicationContext implements ApplicationContext {
 
   /** . */
-  private final PortletConfig config;
+  private final MessageCatalog catalog;
 
-  PortletApplicationContext(PortletConfig config) {
-    this.config = config;
+  public PortletApplicationContext(final PortletConfig config) {
+    this.catalog = new MessageCatalog() {
+      @Override
+      protected ResourceBundle load(Locale locale) {
+        return config.getResourceBundle(locale);
+      }
+    };
   }
 
   public ResourceBundle resolveBundle(Locale locale) {
-    return config.getResourceBundle(locale);
+    return catalog.get(locale);
   }
 }
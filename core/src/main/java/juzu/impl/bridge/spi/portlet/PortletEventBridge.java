@@ -18,6 +18,7 @@ package juzu.impl.bridge.spi.portlet;
 
 import juzu.Event;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.runtime.Deployment;
 import juzu.impl.common.Introspector;
 import juzu.impl.request.ContextualParameter;
 import juzu.impl.request.ControllerHandler;
@@ -26,7 +27,6 @@ import juzu.request.Phase;
 
 import javax.portlet.EventRequest;
 import javax.portlet.EventResponse;
-import javax.portlet.PortletConfig;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -36,12 +36,13 @@ public class PortletEventBridge extends PortletInteractionBridge<EventRequest, E
 
   public PortletEventBridge(
       Bridge bridge,
+      Deployment deployment,
       EventRequest req,
       EventResponse resp,
-      PortletConfig config,
+      PortletApplicationContext applicationContext,
       ControllerHandler<?> target,
       Map<String, String[]> parameters) {
-    super(bridge, Phase.EVENT, req, resp, config, target, parameters);
+    super(bridge, deployment, Phase.EVENT, req, resp, applicationContext, target, parameters);
   }
 
   @Override
@@ -20,13 +20,12 @@ import juzu.EventQueue;
 import juzu.Response;
 import juzu.bridge.portlet.JuzuPortlet;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.runtime.Deployment;
 import juzu.impl.request.ControllerHandler;
 import juzu.request.ResponseParameter;
-import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.request.ContextualParameter;
 import juzu.request.Phase;
 
-import javax.portlet.PortletConfig;
 import javax.portlet.PortletException;
 import javax.portlet.PortletMode;
 import javax.portlet.PortletModeException;
@@ -43,12 +42,12 @@ import java.util.Set;
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class PortletInteractionBridge<Rq extends PortletRequest, Rs extends StateAwareResponse> extends PortletRequestBridge<Rq, Rs> {
 
-  protected PortletInteractionBridge(Bridge bridge, Phase phase, Rq req, Rs resp, PortletConfig config) {
-    super(bridge, phase, req, resp, config);
+  protected PortletInteractionBridge(Bridge bridge, Deployment deployment, Phase phase, Rq req, Rs resp, PortletApplicationContext applicationContext) {
+    super(bridge, deployment, phase, req, resp, applicationContext);
   }
 
-  protected PortletInteractionBridge(Bridge bridge, Phase phase, Rq req, Rs resp, PortletConfig config, ControllerHandler<?> target, Map<String, String[]> parameters) {
-    super(bridge, phase, req, resp, config, target, parameters);
+  protected PortletInteractionBridge(Bridge bridge, Deployment deployment, Phase phase, Rq req, Rs resp, PortletApplicationContext applicationContext, ControllerHandler<?> target, Map<String, String[]> parameters) {
+    super(bridge, deployment, phase, req, resp, applicationContext, target, parameters);
   }
 
   @Override
@@ -81,7 +80,7 @@ public abstract class PortletInteractionBridge<Rq extends PortletRequest, Rs ext
       }
 
       //
-      ControllerHandler handler = bridge.getApplication().resolveBean(ControllerService.class).getDescriptor().getMethodByHandle(update.getTarget());
+      ControllerHandler handler = deployment.getControllerService().getDescriptor().getMethodByHandle(update.getTarget());
 
       // Method id
       super.resp.setRenderParameter("juzu.op", handler.getId());
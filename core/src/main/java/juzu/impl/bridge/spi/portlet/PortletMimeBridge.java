@@ -20,6 +20,7 @@ import juzu.PropertyType;
 import juzu.Response;
 import juzu.impl.asset.Asset;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.runtime.Deployment;
 import juzu.impl.common.Formatting;
 import juzu.impl.common.Tools;
 import juzu.impl.plugin.asset.AssetService;
@@ -32,7 +33,6 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import javax.portlet.MimeResponse;
-import javax.portlet.PortletConfig;
 import javax.portlet.PortletException;
 import javax.portlet.PortletRequest;
 import javax.portlet.RenderResponse;
@@ -48,8 +48,8 @@ import java.util.Set;
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class PortletMimeBridge<Rq extends PortletRequest, Rs extends MimeResponse> extends PortletRequestBridge<Rq, Rs> {
 
-  PortletMimeBridge(Bridge bridge, Phase phase, Rq request, Rs response, PortletConfig config) {
-    super(bridge, phase, request, response, config);
+  PortletMimeBridge(Bridge bridge, Deployment deployment, Phase phase, Rq request, Rs response, PortletApplicationContext applicationContext) {
+    super(bridge, deployment, phase, request, response, applicationContext);
   }
 
   public abstract Stream createStream(String mimeType, Charset charset) throws IOException;
@@ -67,7 +67,7 @@ public abstract class PortletMimeBridge<Rq extends PortletRequest, Rs extends Mi
       Response.Status status = (Response.Status)response;
 
       //
-      final AssetService assetPlugin = (AssetService)bridge.getApplication().getPlugin("asset");
+      final AssetService assetPlugin = (AssetService)deployment.getApplication().getPlugin("asset");
 
       //
       Stream stream = new Stream() {
@@ -138,7 +138,7 @@ public abstract class PortletMimeBridge<Rq extends PortletRequest, Rs extends Mi
                   elt.setAttribute("src", url);
                   // This comment is needed for liferay to make the script pass the minifier
                   // it forces to have a <script></script> tag
-                  String dummy = bridge.getApplication().getName() + " script ";
+                  String dummy = deployment.getApplication().getName() + " script ";
                   Comment comment = elt.getOwnerDocument().createComment(dummy);
                   elt.appendChild(comment);
                 } else {
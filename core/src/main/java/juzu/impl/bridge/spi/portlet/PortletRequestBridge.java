@@ -23,6 +23,7 @@ import juzu.Scope;
 import juzu.asset.AssetLocation;
 import juzu.impl.asset.Asset;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.runtime.Deployment;
 import juzu.impl.bridge.spi.servlet.ServletScopedContext;
 import juzu.impl.common.JUL;
 import juzu.impl.common.Logger;
@@ -37,7 +38,6 @@ import juzu.impl.bridge.spi.DispatchBridge;
 import juzu.impl.common.MimeType;
 import juzu.impl.common.MethodHandle;
 import juzu.impl.common.Tools;
-import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.plugin.controller.ControllerResolver;
 import juzu.impl.bridge.spi.ScopedContext;
 import juzu.impl.request.Request;
@@ -52,7 +52,6 @@ import juzu.request.WindowContext;
 
 import javax.portlet.BaseURL;
 import javax.portlet.MimeResponse;
-import javax.portlet.PortletConfig;
 import javax.portlet.PortletException;
 import javax.portlet.PortletMode;
 import javax.portlet.PortletModeException;
@@ -78,6 +77,9 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
   /** . */
   protected final Bridge bridge;
 
+  /** The deployment serving this request. */
+  protected final Deployment deployment;
+
   /** . */
   protected final Rq req;
 
@@ -114,7 +116,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
   /** . */
   protected Response response;
 
-  PortletRequestBridge(Bridge bridge, Phase phase, Rq req, Rs resp, PortletConfig config) {
+  PortletRequestBridge(Bridge bridge, Deployment deployment, Phase phase, Rq req, Rs resp, PortletApplicationContext applicationContext) {
     String methodId = null;
     Map<String, String[]> parameters = new HashMap<String, String[]>(req.getParameterMap());
     Map<String ,RequestParameter> requestParameters = Collections.emptyMap();
@@ -135,7 +137,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     }
 
     //
-    ControllerResolver<ControllerHandler> resolver = bridge.getApplication().resolveBean(ControllerService.class).getResolver();
+    ControllerResolver<ControllerHandler> resolver = deployment.getControllerService().getResolver();
     ControllerHandler<?> target;
     if (methodId != null) {
       target = resolver.resolveMethod(phase, methodId, parameters.keySet());
@@ -145,6 +147,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
 
     //
     this.bridge = bridge;
+    this.deployment = deployment;
     this.req = req;
     this.resp = resp;
     this.target = target;
@@ -152,12 +155,12 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     this.securityContext = new PortletSecurityContext(req);
     this.windowContext = new PortletWindowContext(this);
     this.userContext = new PortletUserContext(req);
-    this.applicationContext = new PortletApplicationContext(config);
+    this.applicationContext = applicationContext;
     this.requestParameters = requestParameters;
     this.phase = phase;
   }
 
-  PortletRequestBridge(Bridge bridge,  Phase phase, Rq req, Rs resp, PortletConfig config, ControllerHandler<?> target, Map<String, String[]> parameters) {
+  PortletRequestBridge(Bridge bridge, Deployment deployment, Phase phase, Rq req, Rs resp, PortletApplicationContext applicationContext, ControllerHandler<?> target, Map<String, String[]> parameters) {
 
     //
     Map<String, RequestParameter> requestParameters = Collections.emptyMap();
@@ -171,6 +174,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     //
     this.phase = phase;
     this.bridge = bridge;
+    this.deployment = deployment;
     this.req = req;
     this.resp = resp;
     this.target = target;
@@ -179,7 +183,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     this.securityContext = new PortletSecurityContext(req);
     this.windowContext = new PortletWindowContext(this);
     this.userContext = new PortletUserContext(req);
-    this.applicationContext = new PortletApplicationContext(config);
+    this.applicationContext = applicationContext;
   }
 
   @Override
@@ -271,7 +275,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
         if (session != null) {
           context = (ScopedContext)session.getAttribute("juzu.flash_scope");
           if (context == null && create) {
-            session.setAttribute("juzu.flash_scope", context = new ServletScopedContext(log));
+            context = getSessionContext(session, "juzu.flash_scope", log);
           }
         } else {
           context = null;
@@ -282,7 +286,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
         if (session != null) {
           context = (ScopedContext)session.getAttribute("juzu.session_scope");
           if (context == null && create) {
-            session.setAttribute("juzu.session_scope", context = new ServletScopedContext(log));
+            context = getSessionContext(session, "juzu.session_scope", log);
           }
         } else {
           context = null;
@@ -294,6 +298,20 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     return context;
   }
 
+  /**
+   * Create the context stored in a session attribute, concurrent requests of the same session must not
+   * replace the context set by another request.
+   */
+  private static ScopedContext getSessionContext(PortletSession session, String name, Logger log) {
+    synchronized (session) {
+      ScopedContext context = (ScopedContext)session.getAttribute(name);
+      if (context == null) {
+        session.setAttribute(name, context = new ServletScopedContext(log));
+      }
+      return context;
+    }
+  }
+
   public final void setResponse(Response response) throws IllegalArgumentException, IOException {
     this.response = response;
   }
@@ -308,7 +326,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
 
   public void invoke() throws Exception {
     try {
-      bridge.getApplication().resolveBean(ControllerService.class).invoke(this);
+      deployment.getControllerService().invoke(this);
     } finally {
       Tools.safeClose(this);
     }
@@ -370,7 +388,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
           MimeResponse mimeResp = (MimeResponse)resp;
 
           //
-          ControllerHandler handler = bridge.getApplication().resolveBean(ControllerService.class).getDescriptor().getMethodByHandle(target);
+          ControllerHandler handler = deployment.getControllerService().getDescriptor().getMethodByHandle(target);
 
           //
           BaseURL url;
@@ -469,7 +487,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
         appendable.append(req.getContextPath()).append("/assets");
         if (!uri.startsWith("/")) {
           appendable.append('/');
-          appendable.append(bridge.getApplication().getDescriptor().getPackageName().replace('.', '/'));
+          appendable.append(deployment.getApplication().getDescriptor().getPackageName().replace('.', '/'));
           appendable.append("/assets/");
         }
         appendable.append(uri);
@@ -17,12 +17,12 @@
 package juzu.impl.bridge.spi.portlet;
 
 import juzu.impl.bridge.Bridge;
+import juzu.impl.runtime.Deployment;
 import juzu.io.OutputStream;
 import juzu.io.Stream;
 import juzu.request.ClientContext;
 import juzu.request.Phase;
 
-import javax.portlet.PortletConfig;
 import javax.portlet.ResourceRequest;
 import javax.portlet.ResourceResponse;
 import java.io.IOException;
@@ -34,8 +34,8 @@ public class PortletResourceBridge extends PortletMimeBridge<ResourceRequest, Re
   /** . */
   private final PortletClientContext clientContext;
 
-  public PortletResourceBridge(Bridge bridge, ResourceRequest request, ResourceResponse response, PortletConfig config) {
-    super(bridge, Phase.RESOURCE, request, response, config);
+  public PortletResourceBridge(Bridge bridge, Deployment deployment, ResourceRequest request, ResourceResponse response, PortletApplicationContext applicationContext) {
+    super(bridge, deployment, Phase.RESOURCE, request, response, applicationContext);
 
     //
     this.clientContext = new PortletClientContext(request);
@@ -17,13 +17,12 @@
 package juzu.impl.bridge.spi.portlet;
 
 import juzu.impl.bridge.Bridge;
-import juzu.impl.compiler.CompilationException;
+import juzu.impl.runtime.Deployment;
 import juzu.io.OutputStream;
 import juzu.io.Stream;
 import juzu.request.ClientContext;
 import juzu.request.Phase;
 
-import javax.portlet.PortletConfig;
 import javax.portlet.RenderRequest;
 import javax.portlet.RenderResponse;
 import java.io.IOException;
@@ -32,8 +31,8 @@ import java.nio.charset.Charset;
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class PortletViewBridge extends PortletMimeBridge<RenderRequest, RenderResponse> {
 
-  public PortletViewBridge(Bridge bridge, RenderRequest request, RenderResponse response, PortletConfig config) {
-    super(bridge, Phase.VIEW, request, response, config);
+  public PortletViewBridge(Bridge bridge, Deployment deployment, RenderRequest request, RenderResponse response, PortletApplicationContext applicationContext) {
+    super(bridge, deployment, Phase.VIEW, request, response, applicationContext);
   }
 
   @Override
@@ -51,18 +50,4 @@ public class PortletViewBridge extends PortletMimeBridge<RenderRequest, RenderRe
   public ClientContext getClientContext() {
     return null;
   }
-
-  @Override
-  public void invoke() throws Exception {
-    try {
-      bridge.refresh();
-    }
-    catch (CompilationException e) {
-      setResponse(e.asResponse());
-      return;
-    }
-
-    //
-    super.invoke();
-  }
 }
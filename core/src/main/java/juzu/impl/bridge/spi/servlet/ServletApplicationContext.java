@@ -15,6 +15,7 @@
  */
 package juzu.impl.bridge.spi.servlet;
 
+import juzu.impl.plugin.bundle.MessageCatalog;
 import juzu.request.ApplicationContext;
 
 import java.util.Locale;
@@ -23,21 +24,19 @@ import java.util.ResourceBundle;
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ServletApplicationContext implements ApplicationContext {
 
-  /** The classloader associated with the resource bundle. */
-  private final ClassLoader classLoader;
+  /** The bundles of the application, null when there is no bundle name. */
+  private final MessageCatalog catalog;
 
-  /** The optional bundle name. */
-  private final String bundleName;
-
-  public ServletApplicationContext(ClassLoader classLoader, String bundleName) {
-    this.classLoader = classLoader;
-    this.bundleName = bundleName;
+  public ServletApplicationContext(final ClassLoader classLoader, final String bundleName) {
+    this.catalog = bundleName != null ? new MessageCatalog() {
+      @Override
+      protected ResourceBundle load(Locale locale) {
+        return ResourceBundle.getBundle(bundleName, locale, classLoader);
+      }
+    } : null;
   }
 
   public ResourceBundle resolveBundle(Locale locale) {
-    if (bundleName != null) {
-      return ResourceBundle.getBundle(bundleName, locale, classLoader);
-    }
-    return null;
+    return catalog != null ? catalog.get(locale) : null;
   }
 }
@@ -25,6 +25,7 @@ import juzu.impl.bridge.module.ModuleContextImpl;
 import juzu.impl.bridge.provided.ProvidedBridge;
 import juzu.impl.bridge.spi.web.Handler;
 import juzu.impl.common.Completion;
+import juzu.impl.common.FormLimitException;
 import juzu.impl.common.JUL;
 import juzu.impl.common.Tools;
 import juzu.impl.common.Logger;
@@ -34,8 +35,10 @@ import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.fs.spi.war.WarFileSystem;
 import juzu.impl.inject.spi.Injector;
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.inject.spi.cdi.weld.WeldInjector;
 import juzu.impl.inject.spi.spring.SpringInjector;
 import juzu.impl.resource.ResourceResolver;
+import juzu.impl.runtime.Deployment;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletConfig;
@@ -68,8 +71,8 @@ public class ServletBridge extends HttpServlet {
   /** . */
   private Bridge bridge;
 
-  /** . */
-  private Handler handler;
+  /** The handler of the last served deployment. */
+  private volatile Handler handler;
 
   /** . */
   private String bundleName;
@@ -80,6 +83,9 @@ public class ServletBridge extends HttpServlet {
   /** . */
   ServletApplicationContext applicationContext;
 
+  /** The static resources index or null when the resources are resolved for each request. */
+  private StaticResources staticResources;
+
   Bridge getBridge() {
     return bridge;
   }
@@ -124,17 +130,17 @@ public class ServletBridge extends HttpServlet {
         public String get(Object key) {
           if (BridgeConfig.APP_NAME.equals(key)) {
             return getApplicationName(servletConfig);
-          } else if (BridgeConfig.INJECT.equals(key)) {
+          } else if (BridgeConfig.REQUEST_ENCODING.equals(key)) {
+            return servletConfig.getServletContext().getInitParameter((String)key);
+          } else if (BridgeConfig.NAMES.contains(key)) {
             // Cascade:
             // 1/ portlet init param
             // 2/ serlvet context init param
-            String inject = servletConfig.getInitParameter((String)key);
-            if (inject == null) {
-              inject = servletConfig.getServletContext().getInitParameter((String)key);
+            String value = servletConfig.getInitParameter((String)key);
+            if (value == null) {
+              value = servletConfig.getServletContext().getInitParameter((String)key);
             }
-            return inject;
-          } else if (BridgeConfig.REQUEST_ENCODING.equals(key)) {
-            return servletConfig.getServletContext().getInitParameter((String)key);
+            return value;
           } else {
             return null;
           }
@@ -200,6 +206,9 @@ public class ServletBridge extends HttpServlet {
     this.bundleName = servletConfig.getInitParameter(BUNDLE_NAME);
     this.servletLogger = servletLogger;
     this.bridgeContext = bridgeContext;
+
+    // When assets are cached the static resources do not change, otherwise they are resolved on each request
+    this.staticResources = bridgeContext.getRunMode().getCacheAssets() ? StaticResources.create(getServletContext()) : null;
   }
 
   static ServletException wrap(Throwable e) {
@@ -240,6 +249,8 @@ public class ServletBridge extends HttpServlet {
         if (parent != null) {
           springInjector.setParent(parent);
         }
+      } else if (injector instanceof WeldInjector) {
+        ((WeldInjector)injector).setBeanIndex(bridgeConfig.beanIndex);
       }
 
       //
@@ -267,28 +278,42 @@ public class ServletBridge extends HttpServlet {
     Completion<Boolean> refresh = bridge.refresh();
     if (refresh.isFailed()) {
       throw refresh.getCause();
-    } else if (refresh.get()) {
-      if (handler != null) {
-        Tools.safeClose(handler);
-        handler = null;
-        applicationContext = null;
-      }
+    } else if (refresh.get() || applicationContext == null) {
+      this.applicationContext = new ServletApplicationContext(getServletContext().getClassLoader(), bundleName);
     }
+  }
 
-    //
-    if (handler == null) {
-      this.handler = new Handler(bridge);
-      this.applicationContext = new ServletApplicationContext(getServletContext().getClassLoader(), bundleName);
+  /**
+   * Returns the handler of a deployment, the handler is created again when the deployment changes.
+   *
+   * @param deployment the deployment
+   * @return the handler
+   * @throws Exception any exception
+   */
+  private Handler getHandler(Deployment deployment) throws Exception {
+    Handler current = handler;
+    if (current == null || current.getDeployment() != deployment) {
+      handler = current = new Handler(bridge, deployment);
     }
+    return current;
   }
 
   @Override
   protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 
+    // Do we need to send a server resource ?
+    String requestPath = req.getRequestURI().substring(req.getContextPath().length());
+    if (requestPath.length() > 1 && !requestPath.startsWith("/WEB-INF/")) {
+      if (staticResources != null ? staticResources.contains(requestPath) : getServletContext().getResource(requestPath) != null) {
+        RequestDispatcher dispatcher = getServletContext().getNamedDispatcher("default");
+        dispatcher.include(req, resp);
+        return;
+      }
+    }
+
     //
     ServletRequestContext ctx = new ServletRequestContext(
-        bridgeConfig.name,
-        bridgeConfig.requestEncoding,
+        bridgeConfig,
         req,
         resp,
         path,
@@ -297,16 +322,6 @@ public class ServletBridge extends HttpServlet {
     //
     ServletWebBridge bridge = new ServletWebBridge(this, ctx);
 
-    // Do we need to send a server resource ?
-    if (ctx.getRequestPath().length() > 1 && !ctx.getRequestPath().startsWith("/WEB-INF/")) {
-      URL url = getServletContext().getResource(ctx.getRequestPath());
-      if (url != null) {
-        RequestDispatcher dispatcher = getServletContext().getNamedDispatcher("default");
-        dispatcher.include(bridge.getRequestContext().req, bridge.getResponse());
-        return;
-      }
-    }
-
     //
     try {
       refresh();
@@ -319,13 +334,31 @@ public class ServletBridge extends HttpServlet {
       throw wrap(e);
     }
 
-    //
+    // The request is served by the acquired deployment only, it is not stopped before the request ends even when
+    // a refresh replaces it
+    Deployment deployment = this.bridge.acquire();
+    if (deployment == null) {
+      resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return;
+    }
     try {
+      Handler handler = getHandler(deployment);
+
+      // The request parameters are parsed lazily with the controller parameter names
+      ctx.parameterNames = handler.getController().getParameterNames();
+
+      //
       handler.handle(bridge);
     }
+    catch (FormLimitException e) {
+      resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+    }
     catch (Throwable throwable) {
       throw wrap(throwable);
     }
+    finally {
+      Tools.safeClose(deployment);
+    }
   }
 
   @Override
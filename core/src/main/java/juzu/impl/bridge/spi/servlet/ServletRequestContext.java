@@ -16,16 +16,17 @@
 package juzu.impl.bridge.spi.servlet;
 
 import juzu.asset.AssetLocation;
+import juzu.impl.bridge.BridgeConfig;
 import juzu.impl.bridge.spi.web.HttpStream;
 import juzu.impl.bridge.spi.web.WebRequestContext;
-import juzu.impl.common.FormURLEncodedParser;
+import juzu.impl.common.FormLimitException;
+import juzu.impl.common.FormURLEncodedStreamParser;
 import juzu.impl.common.JUL;
 import juzu.impl.common.Lexers;
 import juzu.impl.common.Logger;
-import juzu.impl.common.Name;
+import juzu.impl.common.ParameterMap;
 import juzu.impl.common.RunMode;
 import juzu.impl.common.Spliterator;
-import juzu.impl.common.Tools;
 import juzu.impl.io.BinaryOutputStream;
 import juzu.io.Stream;
 import juzu.request.RequestParameter;
@@ -33,11 +34,8 @@ import juzu.request.RequestParameter;
 import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -59,12 +57,18 @@ public class ServletRequestContext extends WebRequestContext {
   /** . */
   final String requestPath;
 
-  /** . */
-  final Map<String, RequestParameter> requestParameters;
+  /** The request parameters, parsed on demand. */
+  private Map<String, RequestParameter> requestParameters;
+
+  /** The canonical parameter names or null. */
+  Map<String, String> parameterNames;
 
   /** . */
   final Charset defaultEncoding;
 
+  /** . */
+  private final BridgeConfig config;
+
   /** . */
   private AsyncContext context;
 
@@ -75,23 +79,57 @@ public class ServletRequestContext extends WebRequestContext {
   private final RunMode runMode;
 
   public ServletRequestContext(
-      Name application,
-      Charset defaultEncoding,
+      BridgeConfig config,
       HttpServletRequest req,
       HttpServletResponse resp,
       String path,
       RunMode runMode) {
 
     //
-    Map<String, RequestParameter> requestParameters = Collections.emptyMap();
+    StringBuilder prefix = new StringBuilder();
+    for (String atom : config.name) {
+      prefix.append('/').append(atom);
+    }
+    prefix.append("/assets/");
+
+    //
+    this.defaultEncoding = config.requestEncoding;
+    this.config = config;
+    this.requestPath = req.getRequestURI().substring(req.getContextPath().length());
+    this.requestParameters = null;
+    this.req = req;
+    this.path = path;
+    this.resp = resp;
+    this.prefix = prefix.toString();
+    this.runMode = runMode;
+
+  }
+
+  @Override
+  public RunMode getRunMode() {
+    return runMode;
+  }
+
+  public Map<String, RequestParameter> getParameters() {
+    if (requestParameters == null) {
+      requestParameters = parseParameters();
+    }
+    return requestParameters;
+  }
+
+  /**
+   * Parse the query string and the form of a post request, the parameter values are decoded when
+   * they are read.
+   *
+   * @return the request parameters
+   * @throws FormLimitException when the form exceeds a limit of the bridge configuration
+   */
+  private Map<String, RequestParameter> parseParameters() throws FormLimitException {
+    ParameterMap.Builder requestParameters = new ParameterMap.Builder(null, parameterNames);
     String query = req.getQueryString();
     if (query != null) {
-      for (Iterator<RequestParameter> i = Lexers.queryParser(query);i.hasNext();) {
-        if (requestParameters.isEmpty()) {
-          requestParameters = new HashMap<String, RequestParameter>();
-        }
-        RequestParameter parameter = i.next();
-        parameter.appendTo(requestParameters);
+      for (Iterator<RequestParameter> i = Lexers.queryParser(query, 0, query.length(), true);i.hasNext();) {
+        requestParameters.append(i.next());
       }
     }
 
@@ -108,16 +146,17 @@ public class ServletRequestContext extends WebRequestContext {
               charset = Charset.forName(v.substring("charset=".length()));
             }
           }
+          int contentLength = req.getContentLength();
+          if (config.formMaxSize >= 0 && contentLength > config.formMaxSize) {
+            throw new FormLimitException("Form size exceeds the " + config.formMaxSize + " bytes limit");
+          }
           try {
-            byte[] bytes = Tools.copy(req.getInputStream(), new ByteArrayOutputStream()).toByteArray();
-            String form = new String(bytes, charset);
-            FormURLEncodedParser parser = new FormURLEncodedParser(defaultEncoding, form, 0, form.length());
-            for (RequestParameter parameter : parser) {
-              if (requestParameters.isEmpty()) {
-                requestParameters = new HashMap<String, RequestParameter>();
-              }
-              parameter.appendTo(requestParameters);
-            }
+            FormURLEncodedStreamParser parser = new FormURLEncodedStreamParser(
+                charset,
+                config.formMaxSize,
+                config.formMaxParameters,
+                config.formMaxValueSize);
+            parser.parse(req.getInputStream(), requestParameters);
           }
           catch (IOException e) {
             log.error("Cannot parse form post", e);
@@ -127,31 +166,7 @@ public class ServletRequestContext extends WebRequestContext {
     }
 
     //
-    StringBuilder prefix = new StringBuilder();
-    for (String atom : application) {
-      prefix.append('/').append(atom);
-    }
-    prefix.append("/assets/");
-
-    //
-    this.defaultEncoding = defaultEncoding;
-    this.requestPath = req.getRequestURI().substring(req.getContextPath().length());
-    this.requestParameters = requestParameters;
-    this.req = req;
-    this.path = path;
-    this.resp = resp;
-    this.prefix = prefix.toString();
-    this.runMode = runMode;
-
-  }
-
-  @Override
-  public RunMode getRunMode() {
-    return runMode;
-  }
-
-  public Map<String, RequestParameter> getParameters() {
-    return requestParameters;
+    return requestParameters.build();
   }
 
   public String getRequestPath() {
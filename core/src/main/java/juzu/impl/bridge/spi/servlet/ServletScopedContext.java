@@ -19,12 +19,12 @@ package juzu.impl.bridge.spi.servlet;
 import juzu.impl.bridge.spi.ScopedContext;
 import juzu.impl.common.Logger;
 import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 
 import javax.servlet.http.HttpSessionBindingEvent;
 import javax.servlet.http.HttpSessionBindingListener;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p></p>An helper class for managing scoped entries. It implements the {@link javax.servlet.http.HttpSessionBindingListener} interface
@@ -32,17 +32,26 @@ import java.util.Iterator;
  * #valueUnbound(javax.servlet.http.HttpSessionBindingEvent)} callback.</p> <p/> <p>At the moment we do not support
  * serialization.</p>
  *
+ * <p>The context is safe for concurrent use since several requests of the same session can use it at the same time,
+ * a value created with {@link #getOrCreate(Object, juzu.impl.inject.ScopedFactory)} is guarded by a lock specific
+ * to its key, so creating distinct values does not contend.</p>
+ *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  */
 public class ServletScopedContext implements ScopedContext, HttpSessionBindingListener {
 
   /** . */
-  private HashMap<Object, Scoped> state;
+  private final ConcurrentHashMap<Object, Scoped> state;
+
+  /** The locks of the values being created. */
+  final ConcurrentHashMap<Object, Object> creations;
 
   /** . */
   private final Logger log;
 
   public ServletScopedContext(Logger log) {
+    this.state = new ConcurrentHashMap<Object, Scoped>(8, 0.75f, 4);
+    this.creations = new ConcurrentHashMap<Object, Object>(8, 0.75f, 4);
     this.log = log;
   }
 
@@ -50,7 +59,7 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
     if (key == null) {
       throw new NullPointerException("No null key accepted");
     }
-    return state != null ? state.get(key) : null;
+    return state.get(key);
   }
 
   public void set(Object key, Scoped scoped) throws NullPointerException {
@@ -58,24 +67,54 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
       throw new NullPointerException("No null key accepted");
     }
     if (scoped == null) {
-      if (state != null) {
-        state.remove(key);
-      }
+      state.remove(key);
     }
     else {
-      if (state == null) {
-        state = new HashMap<Object, Scoped>();
-      }
       state.put(key, scoped);
     }
   }
 
+  public Scoped getOrCreate(Object key, ScopedFactory factory) throws NullPointerException {
+    if (key == null) {
+      throw new NullPointerException("No null key accepted");
+    }
+    if (factory == null) {
+      throw new NullPointerException("No null factory accepted");
+    }
+    Scoped scoped = state.get(key);
+    if (scoped == null) {
+      Object lock = new Object();
+      Object phantom = creations.putIfAbsent(key, lock);
+      if (phantom != null) {
+        lock = phantom;
+      }
+      try {
+        synchronized (lock) {
+          // Check again as the value may have been created while we were waiting for the lock
+          scoped = state.get(key);
+          if (scoped == null) {
+            scoped = factory.create();
+            if (scoped == null) {
+              throw new NullPointerException("The factory created a null value for " + key);
+            }
+            state.put(key, scoped);
+          }
+        }
+      }
+      finally {
+        // Remove the lock on every path, it is a no-op when it was removed or replaced already
+        creations.remove(key, lock);
+      }
+    }
+    return scoped;
+  }
+
   public int size() {
-    return state != null ? state.size() : 0;
+    return state.size();
   }
 
   public Iterator<Scoped> iterator() {
-    return state == null ? Collections.<Scoped>emptyList().iterator() : state.values().iterator();
+    return state.values().iterator();
   }
 
   public void valueBound(HttpSessionBindingEvent event) {
@@ -87,10 +126,10 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
   }
 
   public void close() {
-    if (state != null && state.size() > 0) {
-      for (Iterator<Scoped> i = state.values().iterator();i.hasNext();) {
-        Scoped scoped = i.next();
-        i.remove();
+    for (Object key : state.keySet()) {
+      // Only the thread removing the value destroys it
+      Scoped scoped = state.remove(key);
+      if (scoped != null) {
         try {
           scoped.destroy();
         }
@@ -145,7 +145,7 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
     if (session != null) {
       context = (ScopedContext)session.getAttribute("juzu.flash_scope");
       if (context == null && create) {
-        session.setAttribute("juzu.flash_scope", context = new ServletScopedContext(getLogger(ServletScopedContext.class.getName())));
+        context = getSessionContext(session, "juzu.flash_scope");
       }
     }
     return context;
@@ -157,12 +157,26 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
     if (session != null) {
       context = (ScopedContext)session.getAttribute("juzu.session_scope");
       if (context == null && create) {
-        session.setAttribute("juzu.session_scope", context = new ServletScopedContext(getLogger(ServletScopedContext.class.getName())));
+        context = getSessionContext(session, "juzu.session_scope");
       }
     }
     return context;
   }
 
+  /**
+   * Create the context stored in a session attribute, concurrent requests of the same session must not
+   * replace the context set by another request.
+   */
+  private ScopedContext getSessionContext(HttpSession session, String name) {
+    synchronized (session) {
+      ScopedContext context = (ScopedContext)session.getAttribute(name);
+      if (context == null) {
+        session.setAttribute(name, context = new ServletScopedContext(getLogger(ServletScopedContext.class.getName())));
+      }
+      return context;
+    }
+  }
+
   public void purgeSession() {
     HttpSession session = ctx.req.getSession(false);
     if (session != null) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.servlet;
+
+import javax.servlet.ServletContext;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The index of the static resources of a web application, built once by walking the resource paths of the
+ * servlet context. The <code>/WEB-INF/</code> directory is not indexed as it is never served.
+ *
+ * @author Julien Viet
+ */
+final class StaticResources {
+
+  /**
+   * Index the resources of the servlet context.
+   *
+   * @param context the servlet context
+   * @return the index
+   */
+  static StaticResources create(ServletContext context) {
+    HashSet<String> paths = new HashSet<String>();
+    index(context, "/", paths);
+    return new StaticResources(paths);
+  }
+
+  private static void index(ServletContext context, String dir, HashSet<String> paths) {
+    Set<String> children = context.getResourcePaths(dir);
+    if (children != null) {
+      for (String child : children) {
+        if (child.endsWith("/")) {
+          if (!child.equals("/WEB-INF/")) {
+            // A directory is a resource as well, with or without the trailing slash
+            paths.add(child);
+            paths.add(child.substring(0, child.length() - 1));
+            index(context, child, paths);
+          }
+        } else {
+          paths.add(child);
+        }
+      }
+    }
+  }
+
+  /** . */
+  private final HashSet<String> paths;
+
+  private StaticResources(HashSet<String> paths) {
+    this.paths = paths;
+  }
+
+  /**
+   * Returns true when the path is a static resource.
+   *
+   * @param path the resource path relative to the context path
+   * @return true if the resource exists
+   */
+  boolean contains(String path) {
+    return paths.contains(path);
+  }
+}
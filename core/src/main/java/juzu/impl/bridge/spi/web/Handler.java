@@ -20,6 +20,7 @@ import juzu.HttpMethod;
 import juzu.Resource;
 import juzu.impl.bridge.Bridge;
 import juzu.impl.common.MethodHandle;
+import juzu.impl.common.ParameterMap;
 import juzu.impl.common.UriBuilder;
 import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.plugin.router.RouteDescriptor;
@@ -31,6 +32,7 @@ import juzu.impl.router.PathParam;
 import juzu.impl.router.Route;
 import juzu.impl.router.RouteMatch;
 import juzu.impl.router.Router;
+import juzu.impl.runtime.Deployment;
 import juzu.request.Phase;
 
 import java.io.Closeable;
@@ -65,8 +67,16 @@ public class Handler implements Closeable {
   /** . */
   final HashMap<Route, RouteDescriptor> backwardRoutes;
 
-  public Handler(Bridge bridge) throws Exception {
+  /** . */
+  final Deployment deployment;
+
+  /** . */
+  final ControllerService controller;
+
+  public Handler(Bridge bridge, Deployment deployment) throws Exception {
     this.bridge = bridge;
+    this.deployment = deployment;
+    this.controller = deployment.getControllerService();
 
     //
     HashMap<MethodHandle, Route> forwardRoutes = new HashMap<MethodHandle, Route>();
@@ -74,7 +84,7 @@ public class Handler implements Closeable {
 
     //
     Route root = new Router();
-    RouterService router = bridge.getApplication().resolveBean(RouterService.class);
+    RouterService router = deployment.getApplication().resolveBean(RouterService.class);
     if (router != null) {
       RouterDescriptor desc = router.getDescriptor();
       if (desc != null) {
@@ -108,6 +118,14 @@ public class Handler implements Closeable {
     return bridge;
   }
 
+  public Deployment getDeployment() {
+    return deployment;
+  }
+
+  public ControllerService getController() {
+    return controller;
+  }
+
   public void handle(WebBridge bridge) throws Throwable {
 
     //
@@ -128,7 +146,7 @@ public class Handler implements Closeable {
         RouteMatch match = matches.next();
         RouteDescriptor routeDesc = getMethods(match.getRoute());
         if (routeDesc != null) {
-          ControllerHandler target = this.bridge.getApplication().resolveBean(ControllerService.class).getDescriptor().getMethodByHandle(routeDesc.handle);
+          ControllerHandler target = controller.getDescriptor().getMethodByHandle(routeDesc.handle);
           if (target.getPhase() == Phase.VIEW) {
             if (requestMethod == HttpMethod.POST) {
               requestTarget =  target;
@@ -158,14 +176,15 @@ public class Handler implements Closeable {
       }
 
       // Determine parameters for the match
-      if (requestMatch != null && (requestMatch.getMatched().size() > 0 || bridge.getRequestContext().getParameters().size() > 0)) {
-        requestParameters = new HashMap<String, RequestParameter>();
-        for (RequestParameter requestParameter : bridge.getRequestContext().getParameters().values()) {
-          requestParameters.put(requestParameter.getName(), requestParameter);
-        }
-        for (Map.Entry<PathParam, String> entry : requestMatch.getMatched().entrySet()) {
-          RequestParameter requestParameter = RequestParameter.create(entry.getKey().getName(), entry.getValue());
-          requestParameters.put(requestParameter.getName(), requestParameter);
+      if (requestMatch != null) {
+        requestParameters = bridge.getRequestContext().getParameters();
+        if (requestMatch.getMatched().size() > 0) {
+          // The matched parameters shadow the request parameters without copying them
+          ParameterMap.Builder builder = new ParameterMap.Builder(requestParameters, controller.getParameterNames());
+          for (Map.Entry<PathParam, String> entry : requestMatch.getMatched().entrySet()) {
+            builder.set(RequestParameter.create(entry.getKey().getName(), entry.getValue()));
+          }
+          requestParameters = builder.build();
         }
       }
     }
@@ -174,7 +193,7 @@ public class Handler implements Closeable {
     // or we look for the handler method
     if (requestTarget == null) {
       // If we have an handler we locate the index method
-      requestTarget = this.bridge.getApplication().resolveBean(ControllerService.class).getResolver().resolve(Phase.VIEW, Collections.<String>emptySet());
+      requestTarget = controller.getResolver().resolve(Phase.VIEW, Collections.<String>emptySet());
     }
 
     // No method -> not found
@@ -16,9 +16,11 @@
 package juzu.impl.bridge.spi.web;
 
 import juzu.PropertyType;
+import juzu.impl.common.Tools;
 import juzu.io.Chunk;
 import juzu.io.Stream;
 
+import java.io.Flushable;
 import java.nio.charset.Charset;
 import java.util.LinkedList;
 import java.util.Map;
@@ -88,6 +90,22 @@ public abstract class HttpStream implements AsyncStream {
     }
   }
 
+  /**
+   * Send the headers when they are not yet sent and flush the data provided so far to the client.
+   */
+  public void flush() {
+    if (status == STATUS_BUFFERING) {
+      sendHeaders();
+      status = STATUS_STREAMING;
+    }
+    if (status == STATUS_STREAMING) {
+      Stream dataStream = getDataStream(true);
+      if (dataStream instanceof Flushable) {
+        Tools.safeFlush((Flushable)dataStream);
+      }
+    }
+  }
+
   protected abstract Stream getDataStream(boolean create);
 
   private void sendHeaders() {
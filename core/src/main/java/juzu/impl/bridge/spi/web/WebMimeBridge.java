@@ -48,7 +48,7 @@ public abstract class WebMimeBridge extends WebRequestBridge {
       Response.Status status = (Response.Status)response;
 
       //
-      AssetService assetPlugin = (AssetService)handler.getBridge().getApplication().getPlugin("asset");
+      AssetService assetPlugin = (AssetService)handler.getDeployment().getApplication().getPlugin("asset");
 
       //
       http.getRequestContext().send(assetPlugin, status, getPhase());
@@ -17,6 +17,7 @@ package juzu.impl.bridge.spi.web;
 
 import juzu.request.Phase;
 
+import juzu.PropertyType;
 import juzu.Response;
 import juzu.asset.AssetLocation;
 import juzu.impl.asset.AssetManager;
@@ -24,6 +25,7 @@ import juzu.impl.common.RunMode;
 import juzu.impl.compiler.CompilationException;
 import juzu.impl.io.SafeStream;
 import juzu.impl.plugin.asset.AssetService;
+import juzu.io.Chunk;
 import juzu.request.RequestParameter;
 
 import java.io.IOException;
@@ -48,33 +50,32 @@ public abstract class WebRequestContext {
 
     //
     if (response instanceof Response.Content) {
-
-      //
-      AssetManager assetManager;
-      if (assetPlugin != null) {
-        assetManager = assetPlugin.getAssetManager();
-      } else {
-        assetManager = null;
-      }
-      
-      //
-      stream = new WebStream((HttpStream)stream, assetManager, getRunMode().getMinifyAssets(), phase) {
-        @Override
-        public String renderAssetURL(AssetLocation location, String uri) {
-          try {
-            StringBuilder sb = new StringBuilder();
-            WebRequestContext.this.renderAssetURL(location, uri, sb);
-            return sb.toString();
-          }
-          catch (IOException e) {
-            e.printStackTrace();
-            throw new UnsupportedOperationException("handle me ", e);
-          }
-        }
-      };
+      stream = createWebStream((HttpStream)stream, assetPlugin, phase);
     }
 
     //
+    send(stream, response);
+  }
+
+  /**
+   * Open a view stream and flush the page head with the specified assets, the returned stream shall be used
+   * later for sending the response with {@link #send(AsyncStream, juzu.Response.Status)}.
+   *
+   * @param assetPlugin the asset plugin
+   * @param assets the assets to render in the head
+   * @return the stream
+   */
+  public final WebStream flush(AssetService assetPlugin, Iterable<Chunk.Property<String>> assets) {
+    WebStream stream = createWebStream(getStream(200), assetPlugin, Phase.VIEW);
+    stream.provide(new Chunk.Property<String>("text/html", PropertyType.MIME_TYPE));
+    for (Chunk.Property<String> asset : assets) {
+      stream.provide(asset);
+    }
+    stream.flush();
+    return stream;
+  }
+
+  public final void send(AsyncStream stream, Response.Status response) throws IOException {
     try {
       response.streamable().send(new SafeStream(stream));
     } finally {
@@ -82,6 +83,33 @@ public abstract class WebRequestContext {
     }
   }
 
+  private WebStream createWebStream(HttpStream stream, AssetService assetPlugin, Phase phase) {
+
+    //
+    AssetManager assetManager;
+    if (assetPlugin != null) {
+      assetManager = assetPlugin.getAssetManager();
+    } else {
+      assetManager = null;
+    }
+
+    //
+    return new WebStream(stream, assetManager, getRunMode().getMinifyAssets(), phase) {
+      @Override
+      public String renderAssetURL(AssetLocation location, String uri) {
+        try {
+          StringBuilder sb = new StringBuilder();
+          WebRequestContext.this.renderAssetURL(location, uri, sb);
+          return sb.toString();
+        }
+        catch (IOException e) {
+          e.printStackTrace();
+          throw new UnsupportedOperationException("handle me ", e);
+        }
+      }
+    };
+  }
+
   public abstract RunMode getRunMode();
 
   public abstract Map<String, RequestParameter> getParameters();
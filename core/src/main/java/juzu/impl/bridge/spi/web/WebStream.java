@@ -22,6 +22,7 @@ import juzu.Response;
 import juzu.asset.AssetLocation;
 import juzu.impl.asset.Asset;
 import juzu.impl.asset.AssetManager;
+import juzu.impl.bridge.BridgeConfig;
 import juzu.impl.common.Tools;
 import juzu.io.Chunk;
 import juzu.io.Stream;
@@ -69,12 +70,16 @@ public abstract class WebStream implements AsyncStream {
   /** . */
   private final Phase phase;
 
+  /** True when the head was flushed before the body. */
+  private boolean flushed;
+
   public WebStream(HttpStream stream, AssetManager assetManager, boolean minifyAssets, Phase phase) {
     this.stream = stream;
     this.assetManager = assetManager;
     this.page = new Page();
     this.minifyAssets = minifyAssets;
     this.phase = phase;
+    this.flushed = false;
   }
 
   public void provide(Chunk chunk) {
@@ -97,40 +102,22 @@ public abstract class WebStream implements AsyncStream {
           stream.provide(property);
         }
       } else if (chunk instanceof Chunk.Data) {
-        try {
-          if (page.assets.size() > 0 && assetManager != null) {
-            Iterable<Asset> resolvedAssets =  assetManager.resolveAssets(page.assets);
-            Tools.addAll(page.resolvedAssets, resolvedAssets);
-          }
-          status = STREAMING;
-          if (!Phase.RESOURCE.equals(phase)) {
-            page.sendHeader(stream);            
-          }
-        }
-        catch (IllegalArgumentException e) {
-
-          // Handle that better...
-          e.printStackTrace();
-
-          //
-          status = FAILED;
-          stream.setStatusCode(500);
-          page.clear();
-          page.sendHeader(stream);
-          Response.error(e).asStatus(true).streamable().send(new Stream() {
-            public void provide(Chunk chunk) {
-              stream.provide(chunk);
-            }
-            public void close(Thread.UncaughtExceptionHandler errorHandler) {
-              // Do nothing
-              // perhaps we should have a send(stream, boolean close)
-              // that would avoid to do that and help to nest stuff
-            }
-          });
-          page.sendFooter(stream);
+        if (!sendHead()) {
           return;
         }
       }
+    } else if (status == STREAMING && flushed && chunk instanceof Chunk.Property<?>) {
+      Chunk.Property<?> property = (Chunk.Property<?>)chunk;
+      if (property.type == PropertyType.ASSET) {
+        page.sendLateAsset(stream, (String)property.value);
+      } else if (
+          property.type == PropertyType.TITLE ||
+          property.type == PropertyType.META_TAG ||
+          property.type == PropertyType.META_HTTP_EQUIV ||
+          property.type == PropertyType.HEADER_TAG) {
+        throw new IllegalStateException("Cannot set the page property " + property.value + " because the page head " +
+            "was flushed early, disable the " + BridgeConfig.FLUSH_EARLY + " option to use it");
+      }
     }
 
     //
@@ -139,6 +126,61 @@ public abstract class WebStream implements AsyncStream {
     }
   }
 
+  /**
+   * Flush the page head to the client before any data is available. The assets provided so far are rendered
+   * in the head, assets provided afterwards are rendered in the body and other head properties are rejected.
+   */
+  public void flush() {
+    if (status == BUFFERING) {
+      if (sendHead()) {
+        flushed = true;
+        stream.flush();
+      }
+    }
+  }
+
+  /**
+   * Resolve the page assets and send the page head.
+   *
+   * @return true when the head was sent
+   */
+  private boolean sendHead() {
+    try {
+      if (page.assets.size() > 0 && assetManager != null) {
+        Iterable<Asset> resolvedAssets =  assetManager.resolveAssets(page.assets);
+        Tools.addAll(page.resolvedAssets, resolvedAssets);
+      }
+      status = STREAMING;
+      if (!Phase.RESOURCE.equals(phase)) {
+        page.sendHeader(stream);
+      }
+      return true;
+    }
+    catch (IllegalArgumentException e) {
+
+      // Handle that better...
+      e.printStackTrace();
+
+      //
+      status = FAILED;
+      stream.setStatusCode(500);
+      page.clear();
+      page.sendHeader(stream);
+      Response.error(e).asStatus(true).streamable().send(new Stream() {
+        public void provide(Chunk chunk) {
+          stream.provide(chunk);
+        }
+        public void close(Thread.UncaughtExceptionHandler errorHandler) {
+          // Do nothing
+          // perhaps we should have a send(stream, boolean close)
+          // that would avoid to do that and help to nest stuff
+        }
+      });
+      page.sendFooter(stream);
+      return false;
+    }
+  }
+
   public abstract String renderAssetURL(AssetLocation location, String uri);
 
   public void close(Thread.UncaughtExceptionHandler errorHandler) {
@@ -273,6 +315,28 @@ public abstract class WebStream implements AsyncStream {
               "<body>\n"));
     }
 
+    void sendLateAsset(Stream stream, String id) {
+      if (assetManager != null && !assets.contains(id)) {
+        assets.add(id);
+        for (Asset asset : assetManager.resolveAssets(Collections.singleton(id))) {
+          if (!resolvedAssets.contains(asset)) {
+            resolvedAssets.add(asset);
+            String uri = asset.resolveURI(minifyAssets);
+            String url = renderAssetURL(asset.getLocation(), uri);
+            if (asset.isStylesheet()) {
+              stream.provide(Chunk.create("<link rel=\"stylesheet\" href=\""));
+              stream.provide(Chunk.create(url));
+              stream.provide(Chunk.create("\"/>\n"));
+            } else if (asset.isScript() && !Boolean.FALSE.equals(asset.getHeader())) {
+              stream.provide(Chunk.create("<script type=\"text/javascript\" src=\""));
+              stream.provide(Chunk.create(url));
+              stream.provide(Chunk.create("\"></script>\n"));
+            }
+          }
+        }
+      }
+    }
+
     void sendFooter(Stream stream) {
       for (Asset asset : resolvedAssets) {
         if (asset.isScript() && Boolean.FALSE.equals(asset.getHeader())) {
@@ -16,16 +16,23 @@
 
 package juzu.impl.bridge.spi.web;
 
+import juzu.Response;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.plugin.asset.AssetService;
 import juzu.impl.request.ControllerHandler;
+import juzu.io.Chunk;
 import juzu.request.Phase;
 import juzu.request.RequestParameter;
 
+import java.util.Collection;
 import java.util.Map;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class WebViewBridge extends WebMimeBridge {
 
+  /** The stream when the page head was flushed before the invocation. */
+  private WebStream flushed;
+
   WebViewBridge(
       Bridge bridge,
       juzu.impl.bridge.spi.web.Handler handler,
@@ -34,4 +41,46 @@ public class WebViewBridge extends WebMimeBridge {
       Map<String, RequestParameter> parameters) {
     super(bridge, handler, http, Phase.VIEW, target, parameters);
   }
+
+  @Override
+  void invoke() throws Exception {
+    if (bridge.getConfig().flushEarly) {
+      AssetService assetPlugin = (AssetService)handler.getDeployment().getApplication().getPlugin("asset");
+      if (assetPlugin != null) {
+        Collection<Chunk.Property<String>> assets = assetPlugin.getAssets(target.getMethod());
+        if (assets.size() > 0) {
+          flushed = http.getRequestContext().flush(assetPlugin, assets);
+        }
+      }
+    }
+    if (flushed != null) {
+      try {
+        super.invoke();
+      }
+      catch (Exception e) {
+        response = Response.error(e);
+      }
+    } else {
+      super.invoke();
+    }
+  }
+
+  @Override
+  boolean send() throws Exception {
+    if (flushed != null) {
+      Response.Status status;
+      if (response instanceof Response.Content) {
+        status = (Response.Status)response;
+      } else if (response instanceof Response.Error) {
+        status = ((Response.Error)response).asStatus(bridge.getRunMode().getPrettyFail());
+      } else {
+        // The status code and the headers are already sent
+        status = Response.error("Cannot send " + response + " because the page head was flushed early").asStatus(bridge.getRunMode().getPrettyFail());
+      }
+      http.getRequestContext().send(flushed, status);
+      return true;
+    } else {
+      return super.send();
+    }
+  }
 }
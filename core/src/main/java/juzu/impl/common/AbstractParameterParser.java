@@ -21,7 +21,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /** @author Julien Viet */
-public abstract class AbstractParameterParser implements Iterable<RequestParameter> {
+public abstract class AbstractParameterParser extends ParameterDecoder implements Iterable<RequestParameter> {
 
   /** . */
   private final CharSequence s;
@@ -32,10 +32,18 @@ public abstract class AbstractParameterParser implements Iterable<RequestParamet
   /** . */
   private final int to;
 
+  /** When true the parameter values are decoded when they are read. */
+  private final boolean lazy;
+
   public AbstractParameterParser(CharSequence s, int from, int to) {
+    this(s, from, to, false);
+  }
+
+  public AbstractParameterParser(CharSequence s, int from, int to, boolean lazy) {
     this.s = s;
     this.from = from;
     this.to = to;
+    this.lazy = lazy;
   }
 
   public Iterator<RequestParameter> iterator() {
@@ -52,6 +60,12 @@ public abstract class AbstractParameterParser implements Iterable<RequestParamet
           if (decodeName != null) {
             return RequestParameter.create(decodeName, "");
           }
+        } else if (pos > 0 && lazy) {
+          String name = s.subSequence(from, pos).toString();
+          String decodedName = safeDecodeName(name);
+          if (decodedName != null) {
+            return createParameter(decodedName, s.subSequence(pos + 1, to).toString());
+          }
         } else if (pos > 0) {
           String value = s.subSequence(pos + 1, to).toString();
           String decodedValue = safeDecodeValue(value);
@@ -96,8 +110,4 @@ public abstract class AbstractParameterParser implements Iterable<RequestParamet
       }
     };
   }
-
-  protected abstract String safeDecodeName(String s);
-
-  protected abstract String safeDecodeValue(String s);
 }
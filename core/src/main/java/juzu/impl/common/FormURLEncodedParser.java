@@ -15,7 +15,6 @@
  */
 package juzu.impl.common;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.charset.Charset;
 
 /**
@@ -29,7 +28,11 @@ public class FormURLEncodedParser extends AbstractParameterParser {
   private final Charset encoding;
 
   public FormURLEncodedParser(Charset encoding, CharSequence s, int from, int to) {
-    super(s, from, to);
+    this(encoding, s, from, to, false);
+  }
+
+  public FormURLEncodedParser(Charset encoding, CharSequence s, int from, int to, boolean lazy) {
+    super(s, from, to, lazy);
 
     //
     this.encoding = encoding;
@@ -42,39 +45,59 @@ public class FormURLEncodedParser extends AbstractParameterParser {
 
   @Override
   protected String safeDecodeValue(String s) {
+    return decode(s, encoding);
+  }
+
+  /**
+   * Decodes a form url encoded string, the percent encoded bytes are decoded with the specified charset.
+   *
+   * @param s the string to decode
+   * @param encoding the charset
+   * @return the decoded string or null if the string is not valid
+   */
+  static String decode(String s, Charset encoding) {
     int len = s.length();
-    ByteArrayOutputStream baos = new ByteArrayOutputStream(20);
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = null;
+    byte[] bytes = null;
     int i = 0;
     while (i < len) {
       char c = s.charAt(i);
-      if (c == '%') {
-        if (i + 2 < len) {
-          int i1 = PercentCodec.hex(s.charAt(i + 1));
-          int i2 = PercentCodec.hex(s.charAt(i + 2));
-          int b = i1 * 0x10 + i2;
-          baos.write(b);
-          i += 3;
+      if (c == '%' || c == '+') {
+        if (sb == null) {
+          sb = new StringBuilder(len);
+          sb.append(s, 0, i);
+        }
+        if (c == '+') {
+          // change + character to recover space character
+          sb.append(' ');
+          i++;
         } else {
-          return null;
+          if (bytes == null) {
+            bytes = new byte[(len - i) / 3];
+          }
+          int count = 0;
+          while (i < len && s.charAt(i) == '%') {
+            if (i + 2 < len) {
+              try {
+                bytes[count++] = (byte)(PercentCodec.hex(s.charAt(i + 1)) * 0x10 + PercentCodec.hex(s.charAt(i + 2)));
+              }
+              catch (IllegalArgumentException e) {
+                return null;
+              }
+              i += 3;
+            } else {
+              return null;
+            }
+          }
+          sb.append(new String(bytes, 0, count, encoding));
         }
       } else {
-        // change + character to recover space character
-        if(c == '+'){
-          c = ' ';
-        }
-        if (baos.size() > 0) {
-          sb.append(new String(baos.toByteArray(), encoding));
-          baos.reset();
+        if (sb != null) {
+          sb.append(c);
         }
-        sb.append(c);
         i++;
       }
     }
-    if (baos.size() > 0) {
-      sb.append(new String(baos.toByteArray(), encoding));
-      baos.reset();
-    }
-    return sb.toString();
+    return sb != null ? sb.toString() : s;
   }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Parses a form url encoded body from its stream. The body is read with a fixed size buffer and split into
+ * parameters without being copied in memory, the parameter names are percent decoded from the bytes when they
+ * are parsed and the values are decoded when they are read, since their raw form is retained.
+ *
+ * @author Julien Viet
+ */
+public class FormURLEncodedStreamParser extends ParameterDecoder {
+
+  /** . */
+  private final Charset encoding;
+
+  /** The maximum size of the body in bytes or -1. */
+  private final int maxSize;
+
+  /** The maximum number of parameters or -1. */
+  private final int maxParameters;
+
+  /** The maximum size of a parameter name or value in bytes or -1. */
+  private final int maxValueSize;
+
+  public FormURLEncodedStreamParser(Charset encoding, int maxSize, int maxParameters, int maxValueSize) {
+    this.encoding = encoding;
+    this.maxSize = maxSize;
+    this.maxParameters = maxParameters;
+    this.maxValueSize = maxValueSize;
+  }
+
+  /**
+   * Parse the stream and append the parameters to the specified builder.
+   *
+   * @param in the stream
+   * @param parameters the parameters builder
+   * @throws IOException any io exception
+   * @throws FormLimitException when the body exceeds a limit
+   */
+  public void parse(InputStream in, ParameterMap.Builder parameters) throws IOException, FormLimitException {
+    byte[] buffer = new byte[4096];
+    byte[] token = new byte[64];
+    int length = 0;
+    int separator = -1;
+    int size = 0;
+    int count = 0;
+    while (true) {
+      int read = in.read(buffer);
+      if (read == -1) {
+        break;
+      }
+      size += read;
+      if (maxSize >= 0 && size > maxSize) {
+        throw new FormLimitException("Form size exceeds the " + maxSize + " bytes limit");
+      }
+      for (int i = 0;i < read;i++) {
+        byte b = buffer[i];
+        if (b == '&') {
+          if (length > 0) {
+            emit(token, length, separator, parameters, ++count);
+          }
+          length = 0;
+          separator = -1;
+        } else {
+          if (b == '=' && separator == -1) {
+            separator = length;
+          }
+          if (maxValueSize >= 0 && (separator == -1 ? length : length - separator - 1) >= maxValueSize) {
+            throw new FormLimitException("Form parameter exceeds the " + maxValueSize + " bytes limit");
+          }
+          if (length == token.length) {
+            byte[] tmp = new byte[token.length * 2];
+            System.arraycopy(token, 0, tmp, 0, length);
+            token = tmp;
+          }
+          token[length++] = b;
+        }
+      }
+    }
+    if (length > 0) {
+      emit(token, length, separator, parameters, ++count);
+    }
+  }
+
+  private void emit(byte[] token, int length, int separator, ParameterMap.Builder parameters, int count) {
+    if (maxParameters >= 0 && count > maxParameters) {
+      throw new FormLimitException("Form exceeds the " + maxParameters + " parameters limit");
+    }
+    RequestParameter parameter;
+    if (separator == -1) {
+      String name = decode(token, length);
+      parameter = name != null ? RequestParameter.create(name, "") : null;
+    } else if (separator > 0) {
+      String value = new String(token, separator + 1, length - separator - 1, encoding);
+      String name = decode(token, separator);
+      parameter = name != null ? createParameter(name, value) : null;
+    } else {
+      parameter = null;
+    }
+    if (parameter != null) {
+      parameters.append(parameter);
+    }
+  }
+
+  /**
+   * Percent decode the first bytes of a token in place and then decode them with the charset.
+   *
+   * @param token the token
+   * @param length the number of bytes to decode
+   * @return the decoded string or null when the bytes are malformed
+   */
+  private String decode(byte[] token, int length) {
+    int to = 0;
+    int from = 0;
+    while (from < length) {
+      byte b = token[from];
+      if (b == '+') {
+        token[to++] = ' ';
+        from++;
+      } else if (b == '%') {
+        if (from + 2 < length) {
+          try {
+            token[to++] = (byte)((PercentCodec.hex((char)(token[from + 1] & 0xFF)) << 4) + PercentCodec.hex((char)(token[from + 2] & 0xFF)));
+          }
+          catch (IllegalArgumentException e) {
+            return null;
+          }
+          from += 3;
+        } else {
+          return null;
+        }
+      } else {
+        token[to++] = b;
+        from++;
+      }
+    }
+    return new String(token, 0, to, encoding);
+  }
+
+  @Override
+  protected String safeDecodeName(String s) {
+    return FormURLEncodedParser.decode(s, encoding);
+  }
+
+  @Override
+  protected String safeDecodeValue(String s) {
+    return FormURLEncodedParser.decode(s, encoding);
+  }
+}
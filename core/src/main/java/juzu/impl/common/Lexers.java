@@ -205,8 +205,21 @@ public class Lexers {
   }
 
   public static Iterator<RequestParameter> queryParser(final CharSequence s, final int from, final int to) {
+    return queryParser(s, from, to, false);
+  }
+
+  /**
+   * Returns an iterator over the parameters of a query string.
+   *
+   * @param s the query string
+   * @param from the start index
+   * @param to the end index
+   * @param lazy when true the parameter values are decoded when they are read
+   * @return the parameter iterator
+   */
+  public static Iterator<RequestParameter> queryParser(final CharSequence s, final int from, final int to, boolean lazy) {
 
-    return new AbstractParameterParser(s, from, to) {
+    return new AbstractParameterParser(s, from, to, lazy) {
       @Override
       protected String safeDecodeName(String s) {
         return PercentCodec.RFC3986_QUERY_PARAM_NAME.safeDecode(s);
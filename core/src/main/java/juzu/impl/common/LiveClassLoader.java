@@ -24,10 +24,13 @@ import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.security.cert.Certificate;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Provides a custom classloading policy oscillating between parent-first and child-first:
@@ -54,7 +57,26 @@ public class LiveClassLoader extends URLClassLoader {
   /** . */
   private final ClassLoader parent;
 
+  /** The bytecode of the classes indexed by class name or null when the classes are loaded from the urls. */
+  private final Map<String, Resource> classes;
+
+  /** The code source of the classes defined from their bytecode. */
+  private final CodeSource codeSource;
+
   public LiveClassLoader(URL[] urls, ClassLoader parent) throws NullPointerException {
+    this(urls, parent, null);
+  }
+
+  /**
+   * Create a loader defining the classes directly from their bytecode, the urls are used for the other resources
+   * and the first url is the code source of the defined classes.
+   *
+   * @param urls the urls
+   * @param parent the parent loader
+   * @param classes the bytecode of the classes indexed by class name
+   * @throws NullPointerException if the parent is null
+   */
+  public LiveClassLoader(URL[] urls, ClassLoader parent, Map<String, Resource> classes) throws NullPointerException {
     super(urls, parent);
 
     //
@@ -64,6 +86,52 @@ public class LiveClassLoader extends URLClassLoader {
 
     //
     this.parent = parent;
+    this.classes = classes;
+    this.codeSource = urls.length > 0 ? new CodeSource(urls[0], (Certificate[])null) : null;
+  }
+
+  @Override
+  protected Class<?> findClass(String name) throws ClassNotFoundException {
+    if (classes == null) {
+      return super.findClass(name);
+    } else {
+      Resource resource = classes.get(name);
+      if (resource == null) {
+        throw new ClassNotFoundException(name);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> clazz = findLoadedClass(name);
+        if (clazz == null) {
+          int pos = name.lastIndexOf('.');
+          if (pos != -1) {
+            String pkgName = name.substring(0, pos);
+            if (getPackage(pkgName) == null) {
+              definePackage(pkgName, null, null, null, null, null, null, null);
+            }
+          }
+          byte[] bytecode = resource.getData();
+          clazz = defineClass(name, bytecode, 0, bytecode.length, codeSource);
+        }
+        return clazz;
+      }
+    }
+  }
+
+  /**
+   * Returns the bytecode of a class of this loader.
+   *
+   * @param name the class name
+   * @return the bytecode or null if the class does not exist
+   * @throws IOException any io exception
+   */
+  private byte[] findBytecode(String name) throws IOException {
+    if (classes == null) {
+      URL resource = findResource(name.replace('.', '/') + ".class");
+      return resource != null ? Tools.bytes(resource) : null;
+    } else {
+      Resource resource = classes.get(name);
+      return resource != null ? resource.getData() : null;
+    }
   }
 
   @Override
@@ -106,8 +174,14 @@ public class LiveClassLoader extends URLClassLoader {
         stack.add(clazz);
         try {
           String resourceName = clazz.getName().replace('.', '/') + ".class";
-          URL resource = findResource(resourceName);
-          if (resource == null) {
+          byte[] bytes;
+          try {
+            bytes = findBytecode(clazz.getName());
+          }
+          catch (IOException e) {
+            throw new UnsupportedOperationException("handle me gracefully", e);
+          }
+          if (bytes == null) {
             // No resource means it must be loaded from the parent
             return false;
           } else {
@@ -117,7 +191,6 @@ public class LiveClassLoader extends URLClassLoader {
             } else {
               try {
                 byte[] parentBytes = Tools.bytes(parentResource);
-                byte[] bytes = Tools.bytes(resource);
                 if (Arrays.equals(parentBytes, bytes)) {
                   // If any one dependency could is not loaded locally then this clazz must not be loaded
                   // locally
@@ -18,6 +18,7 @@ package juzu.impl.common;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 
 /**
@@ -361,4 +362,25 @@ public class Name implements Iterable<String>, Serializable, CharSequence {
       return false;
     }
   }
+
+  private Object writeReplace() {
+    return new Serialized(size == identifiers.length ? identifiers : Arrays.copyOf(identifiers, size));
+  }
+
+  /**
+   * The serialized form of a name retains only its identifiers, the value and the parent are recreated.
+   */
+  private static class Serialized implements Serializable {
+
+    /** . */
+    private final String[] identifiers;
+
+    private Serialized(String[] identifiers) {
+      this.identifiers = identifiers;
+    }
+
+    private Object readResolve() {
+      return identifiers.length == 0 ? EMPTY : new Name(identifiers);
+    }
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+
+/**
+ * Decodes the names and values of request parameters.
+ *
+ * @author Julien Viet
+ */
+public abstract class ParameterDecoder {
+
+  /**
+   * Create new parameter whose value is decoded by this decoder when it is read for the first time.
+   * A raw value that cannot be decoded is returned as is.
+   *
+   * @param name the parameter name
+   * @param raw the raw parameter value
+   * @return the new parameter
+   * @throws NullPointerException if any argument is null
+   */
+  protected final RequestParameter createParameter(String name, String raw) throws NullPointerException {
+    if (raw == null) {
+      throw new NullPointerException("No null raw value accepted");
+    }
+    return new DecodedParameter(name, raw, this);
+  }
+
+  /**
+   * Decodes a raw parameter value.
+   *
+   * @param s the raw value
+   * @return the decoded value or null if the value cannot be decoded
+   */
+  public final String decodeValue(String s) {
+    return safeDecodeValue(s);
+  }
+
+  protected abstract String safeDecodeName(String s);
+
+  protected abstract String safeDecodeValue(String s);
+
+  /**
+   * A parameter decoded on demand.
+   */
+  private static class DecodedParameter extends RequestParameter {
+    private DecodedParameter(String name, String raw, ParameterDecoder decoder) {
+      super(name, new String[]{raw}, decoder);
+    }
+  }
+}
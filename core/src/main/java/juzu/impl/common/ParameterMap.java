@@ -0,0 +1,332 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map of request parameters optimized for the small number of parameters of a request. The
+ * parameters are stored in a flat array with open addressing, a map can be layered over a parent map : its
+ * parameters shadow the parameters of the parent with the same name, the parent is never copied.
+ *
+ * @author Julien Viet
+ */
+public final class ParameterMap extends AbstractMap<String, RequestParameter> {
+
+  /** The parent map or null. */
+  private final Map<String, RequestParameter> parent;
+
+  /** The parameter names. */
+  private final String[] keys;
+
+  /** The parameters, a parameter is at the same index than its name. */
+  private final RequestParameter[] values;
+
+  /** The number of visible parameters. */
+  private final int size;
+
+  private ParameterMap(Map<String, RequestParameter> parent, String[] keys, RequestParameter[] values, int count) {
+    int size = count;
+    if (parent != null) {
+      for (RequestParameter parameter : parent.values()) {
+        if (index(keys, parameter.getName()) < 0) {
+          size++;
+        }
+      }
+    }
+
+    //
+    this.parent = parent;
+    this.keys = keys;
+    this.values = values;
+    this.size = size;
+  }
+
+  private static int index(String[] keys, Object key) {
+    int mask = keys.length - 1;
+    int h = key.hashCode();
+    for (int i = (h ^ (h >>> 16)) & mask;;i = (i + 1) & mask) {
+      String current = keys[i];
+      if (current == null) {
+        return -1 - i;
+      } else if (current == key || current.equals(key)) {
+        return i;
+      }
+    }
+  }
+
+  @Override
+  public RequestParameter get(Object key) {
+    if (key instanceof String) {
+      int index = index(keys, key);
+      if (index >= 0) {
+        return values[index];
+      } else if (parent != null) {
+        return parent.get(key);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public Collection<RequestParameter> values() {
+    return new AbstractCollection<RequestParameter>() {
+      @Override
+      public Iterator<RequestParameter> iterator() {
+        return new Parameters();
+      }
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<String, RequestParameter>> entrySet() {
+    return new AbstractSet<Entry<String, RequestParameter>>() {
+      @Override
+      public Iterator<Entry<String, RequestParameter>> iterator() {
+        final Parameters parameters = new Parameters();
+        return new Iterator<Entry<String, RequestParameter>>() {
+          public boolean hasNext() {
+            return parameters.hasNext();
+          }
+          public Entry<String, RequestParameter> next() {
+            RequestParameter next = parameters.next();
+            return new SimpleImmutableEntry<String, RequestParameter>(parameters.key, next);
+          }
+          public void remove() {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Iterates the parameters of this layer and then the parameters of the parent that are not shadowed.
+   */
+  private class Parameters implements Iterator<RequestParameter> {
+
+    /** . */
+    private int index = 0;
+
+    /** . */
+    private Iterator<RequestParameter> inherited;
+
+    /** . */
+    private RequestParameter next;
+
+    /** The name of the last returned parameter. */
+    private String key;
+
+    /** . */
+    private String nextKey;
+
+    public boolean hasNext() {
+      while (next == null) {
+        if (index < values.length) {
+          nextKey = keys[index];
+          next = values[index++];
+        } else {
+          if (inherited == null) {
+            if (parent == null) {
+              return false;
+            }
+            inherited = parent.values().iterator();
+          }
+          if (!inherited.hasNext()) {
+            return false;
+          }
+          RequestParameter parameter = inherited.next();
+          if (index(keys, parameter.getName()) < 0) {
+            nextKey = parameter.getName();
+            next = parameter;
+          }
+        }
+      }
+      return true;
+    }
+
+    public RequestParameter next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      RequestParameter tmp = next;
+      key = nextKey;
+      next = null;
+      return tmp;
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Builds a parameter map, a builder cannot be used anymore once the map is built.
+   */
+  public static class Builder {
+
+    /** . */
+    private final Map<String, RequestParameter> parent;
+
+    /** The canonical names or null. */
+    private final Map<String, String> names;
+
+    /** . */
+    private String[] keys;
+
+    /** . */
+    private RequestParameter[] values;
+
+    /** . */
+    private int count;
+
+    public Builder() {
+      this(null, null);
+    }
+
+    /**
+     * Create a new builder.
+     *
+     * @param parent the optional parent map shadowed by the built map
+     * @param names the optional canonical names, a parameter name found in this map is replaced by its value
+     */
+    public Builder(Map<String, RequestParameter> parent, Map<String, String> names) {
+      this.parent = parent != null && parent.isEmpty() ? null : parent;
+      this.names = names;
+      this.keys = new String[8];
+      this.values = new RequestParameter[8];
+      this.count = 0;
+    }
+
+    /**
+     * Returns the number of parameters added to this builder.
+     *
+     * @return the number of parameters
+     */
+    public int size() {
+      return count;
+    }
+
+    /**
+     * Add a parameter, its values are appended to an existing parameter with the same name.
+     *
+     * @param parameter the parameter
+     * @return this builder
+     */
+    public Builder append(RequestParameter parameter) {
+      return put(parameter, true);
+    }
+
+    /**
+     * Set a parameter, it replaces an existing parameter with the same name.
+     *
+     * @param parameter the parameter
+     * @return this builder
+     */
+    public Builder set(RequestParameter parameter) {
+      return put(parameter, false);
+    }
+
+    private Builder put(RequestParameter parameter, boolean append) {
+      String name = parameter.getName();
+      int index = index(keys, name);
+      if (index >= 0) {
+        values[index] = append ? values[index].append(parameter) : parameter;
+      } else {
+        if (names != null) {
+          String canonical = names.get(name);
+          if (canonical != null) {
+            name = canonical;
+          }
+        }
+        if ((count + 1) * 2 > keys.length) {
+          resize();
+          index = index(keys, name);
+        }
+        keys[-1 - index] = name;
+        values[-1 - index] = parameter;
+        count++;
+      }
+      return this;
+    }
+
+    private void resize() {
+      String[] keys = new String[this.keys.length * 2];
+      RequestParameter[] values = new RequestParameter[keys.length];
+      for (int i = 0;i < this.keys.length;i++) {
+        String key = this.keys[i];
+        if (key != null) {
+          int index = -1 - index(keys, key);
+          keys[index] = key;
+          values[index] = this.values[i];
+        }
+      }
+      this.keys = keys;
+      this.values = values;
+    }
+
+    /**
+     * Build the map.
+     *
+     * @return the map
+     */
+    public Map<String, RequestParameter> build() {
+      Map<String, RequestParameter> map;
+      if (count == 0) {
+        map = parent != null ? parent : Collections.<String, RequestParameter>emptyMap();
+      } else {
+        map = new ParameterMap(parent, keys, values, count);
+      }
+      keys = null;
+      values = null;
+      return map;
+    }
+  }
+}
@@ -19,11 +19,17 @@ package juzu.impl.common;
 import juzu.io.UndeclaredIOException;
 
 import java.io.IOException;
-import java.math.BigInteger;
+import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 
-/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
-public class PercentCodec extends BigInteger {
+/**
+ * A percent codec for a set of accepted chars. The set of chars is a lookup table of the 128 ascii chars
+ * stored in two longs, a char outside of the ascii range is never accepted. The bulk operations first
+ * scan the input and return it unchanged when there is nothing to encode or decode.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public final class PercentCodec {
 
   /** . */
   public static final PercentCodec RFC3986_GEN_DELIMS;
@@ -54,13 +60,13 @@ public class PercentCodec extends BigInteger {
     // rfc3986 : http://www.ietf.org/rfc/rfc3986.txt
 
     // gen-delims = ":" / "/" / "?" / "#" / "[" / "]" / "@"
-    RFC3986_GEN_DELIMS = PercentCodec.create(Tools.bitSet(":/?#[]&"));
+    RFC3986_GEN_DELIMS = PercentCodec.create(":/?#[]&");
 
     // sub-delims = "!" / "$" / "&" / "'" / "(" / ")" / "*" / "+" / "," / ";" / "="
-    RFC3986_SUB_DELIMS = PercentCodec.create(Tools.bitSet("!$&'()*+,;="));
+    RFC3986_SUB_DELIMS = PercentCodec.create("!$&'()*+,;=");
 
     // reserved = gen-delims / sub-delims
-    RFC3986_RESERVED_ = PercentCodec.create(RFC3986_GEN_DELIMS.or(RFC3986_SUB_DELIMS));
+    RFC3986_RESERVED_ = RFC3986_GEN_DELIMS.or(RFC3986_SUB_DELIMS);
 
     // unreserved  = ALPHA / DIGIT / "-" / "." / "_" / "~"
     StringBuilder sb = new StringBuilder();
@@ -74,19 +80,19 @@ public class PercentCodec extends BigInteger {
       sb.append(c);
     }
     sb.append("_.-~");
-    RFC3986_UNRESERVED = PercentCodec.create(Tools.bitSet(sb));
+    RFC3986_UNRESERVED = PercentCodec.create(sb);
 
     // pchar = unreserved / pct-encoded / sub-delims / ":" / "@"
-    RFC3986_PCHAR = PercentCodec.create(RFC3986_UNRESERVED.or(RFC3986_SUB_DELIMS).or(Tools.bitSet(":@")));
+    RFC3986_PCHAR = RFC3986_UNRESERVED.or(RFC3986_SUB_DELIMS).or(":@");
 
     // segment  = pchar
-    RFC3986_SEGMENT = PercentCodec.create(RFC3986_PCHAR);
+    RFC3986_SEGMENT = RFC3986_PCHAR;
 
     // path = segment / "/"
-    RFC3986_PATH = PercentCodec.create(RFC3986_SEGMENT.or(Tools.bitSet("/")));
+    RFC3986_PATH = RFC3986_SEGMENT.or("/");
 
     // query / "/" / "?"
-    RFC3986_QUERY = PercentCodec.create(RFC3986_PCHAR.or(Tools.bitSet("/?")));
+    RFC3986_QUERY = RFC3986_PCHAR.or("/?");
   }
 
   /** Not defined by the RFC. */
@@ -96,51 +102,209 @@ public class PercentCodec extends BigInteger {
   public static final PercentCodec RFC3986_QUERY_PARAM_VALUE;
 
   static {
-    RFC3986_QUERY_PARAM_NAME = PercentCodec.create(RFC3986_QUERY.clearBit('&').clearBit('='));
+    RFC3986_QUERY_PARAM_NAME = RFC3986_QUERY.clear('&').clear('=');
     // We accept '=' in query param value as Servlet Container does
-    RFC3986_QUERY_PARAM_VALUE = PercentCodec.create(RFC3986_QUERY.clearBit('&'));
+    RFC3986_QUERY_PARAM_VALUE = RFC3986_QUERY.clear('&');
   }
 
   /** . */
   public static final char[] ALPHABET = "0123456789ABCDEF".toCharArray();
 
-  public static PercentCodec create(BigInteger bitSet) {
-    if (bitSet instanceof PercentCodec) {
-      return (PercentCodec)bitSet;
-    } else {
-      return new PercentCodec(bitSet);
+  /** The hex value of the ascii chars or -1. */
+  private static final byte[] HEX = new byte[128];
+
+  static {
+    for (int i = 0;i < HEX.length;i++) {
+      HEX[i] = -1;
+    }
+    for (int i = 0;i < 16;i++) {
+      HEX[ALPHABET[i]] = (byte)i;
+      HEX[Character.toLowerCase(ALPHABET[i])] = (byte)i;
     }
   }
 
-  private PercentCodec(BigInteger val) {
-    super(val.toByteArray());
+  /**
+   * Create a codec accepting the specified chars.
+   *
+   * @param chars the accepted chars
+   * @return the codec
+   * @throws IllegalArgumentException if a char is not an ascii char
+   */
+  public static PercentCodec create(CharSequence chars) throws IllegalArgumentException {
+    return new PercentCodec(0, 0).or(chars);
+  }
+
+  /** Accepted chars from 0 to 63. */
+  private final long low;
+
+  /** Accepted chars from 64 to 127. */
+  private final long high;
+
+  private PercentCodec(long low, long high) {
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Returns a codec accepting the chars of this codec and of the specified codec.
+   *
+   * @param other the other codec
+   * @return the union codec
+   */
+  public PercentCodec or(PercentCodec other) {
+    return new PercentCodec(low | other.low, high | other.high);
   }
-  
+
+  /**
+   * Returns a codec accepting the chars of this codec and the specified chars.
+   *
+   * @param chars the chars
+   * @return the union codec
+   * @throws IllegalArgumentException if a char is not an ascii char
+   */
+  public PercentCodec or(CharSequence chars) throws IllegalArgumentException {
+    long low = this.low;
+    long high = this.high;
+    for (int i = 0;i < chars.length();i++) {
+      char c = chars.charAt(i);
+      if (c < 64) {
+        low |= 1L << c;
+      } else if (c < 128) {
+        high |= 1L << c;
+      } else {
+        throw new IllegalArgumentException("Illegal char " + (int)c);
+      }
+    }
+    return new PercentCodec(low, high);
+  }
+
+  /**
+   * Returns a codec accepting the chars of this codec except the specified char.
+   *
+   * @param c the char to remove
+   * @return the codec
+   */
+  public PercentCodec clear(char c) {
+    if (c < 64) {
+      return new PercentCodec(low & ~(1L << c), high);
+    } else if (c < 128) {
+      return new PercentCodec(low, high & ~(1L << c));
+    } else {
+      return this;
+    }
+  }
+
   public boolean accept(char c) {
-    return testBit(c);
+    if (c < 64) {
+      return (low & (1L << c)) != 0;
+    } else if (c < 128) {
+      return (high & (1L << c)) != 0;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the index of the first char that needs to be encoded or <code>to</code> when there is none.
+   */
+  private int scanEncode(CharSequence s, int from, int to) {
+    while (from < to && accept(s.charAt(from))) {
+      from++;
+    }
+    return from;
+  }
+
+  private int scanEncode(char[] chars, int from, int to) {
+    while (from < to && accept(chars[from])) {
+      from++;
+    }
+    return from;
   }
 
   public void encode(CharSequence s, Appendable appendable) throws IOException {
-    for (int len = s.length(), i = 0;i < len;i++) {
-      char c = s.charAt(i);
-      encode(c, appendable);
+    int len = s.length();
+    int i = scanEncode(s, 0, len);
+    if (i == len) {
+      appendable.append(s);
+    } else {
+      appendable.append(s, 0, i);
+      while (i < len) {
+        encode(s.charAt(i++), appendable);
+      }
     }
   }
 
   public String encode(CharSequence s) {
-    try {
-      StringBuilder sb = new StringBuilder(s.length());
-      encode(s, sb);
-      return sb.toString();
+    int len = s.length();
+    int i = scanEncode(s, 0, len);
+    if (i == len) {
+      return s.toString();
+    } else {
+      try {
+        StringBuilder sb = new StringBuilder(len + 16);
+        sb.append(s, 0, i);
+        while (i < len) {
+          encode(s.charAt(i++), sb);
+        }
+        return sb.toString();
+      }
+      catch (IOException e) {
+        throw new UndeclaredIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Encode a char array.
+   *
+   * @param chars the chars
+   * @param off the offset
+   * @param len the length
+   * @param appendable the destination
+   * @throws IOException any io exception
+   */
+  public void encode(char[] chars, int off, int len, Appendable appendable) throws IOException {
+    int to = off + len;
+    int i = scanEncode(chars, off, to);
+    if (i > off) {
+      appendable.append(CharBuffer.wrap(chars, off, i - off));
     }
-    catch (IOException e) {
-      throw new UndeclaredIOException(e);
+    while (i < to) {
+      encode(chars[i++], appendable);
+    }
+  }
+
+  /**
+   * Encode a char array.
+   *
+   * @param chars the chars
+   * @param off the offset
+   * @param len the length
+   * @return the encoded string
+   */
+  public String encode(char[] chars, int off, int len) {
+    int to = off + len;
+    int i = scanEncode(chars, off, to);
+    if (i == to) {
+      return new String(chars, off, len);
+    } else {
+      try {
+        StringBuilder sb = new StringBuilder(len + 16);
+        sb.append(chars, off, i - off);
+        while (i < to) {
+          encode(chars[i++], sb);
+        }
+        return sb.toString();
+      }
+      catch (IOException e) {
+        throw new UndeclaredIOException(e);
+      }
     }
   }
 
   public void encode(char c, Appendable appendable) throws IOException {
     if (c < 2 << 6) {
-      if (testBit(c)) {
+      if (accept(c)) {
         appendable.append(c);
       } else {
         appendable.append('%');
@@ -185,16 +349,131 @@ public class PercentCodec extends BigInteger {
   }
 
   public String decode(CharSequence s) throws IllegalArgumentException, UndeclaredIOException {
-    try {
-      StringBuilder sb = new StringBuilder(s.length());
-      decode(s, sb);
-      return sb.toString();
+    int len = s.length();
+    int i = 0;
+    while (i < len) {
+      char c = s.charAt(i);
+      if (c == '%' || !accept(c)) {
+        break;
+      }
+      i++;
+    }
+    if (i == len) {
+      return s.toString();
+    } else {
+      char[] buffer = new char[len];
+      s.toString().getChars(0, len, buffer, 0);
+      return new String(buffer, 0, decodeInPlace(buffer, i, len));
+    }
+  }
+
+  /**
+   * Decode a char array.
+   *
+   * @param chars the chars
+   * @param off the offset
+   * @param len the length
+   * @return the decoded string
+   * @throws IllegalArgumentException if the chars cannot be decoded
+   */
+  public String decode(char[] chars, int off, int len) throws IllegalArgumentException {
+    int to = off + len;
+    int i = off;
+    while (i < to) {
+      char c = chars[i];
+      if (c == '%' || !accept(c)) {
+        break;
+      }
+      i++;
+    }
+    if (i == to) {
+      return new String(chars, off, len);
+    } else {
+      char[] buffer = new char[len];
+      System.arraycopy(chars, off, buffer, 0, len);
+      return new String(buffer, 0, decodeInPlace(buffer, i - off, len));
+    }
+  }
+
+  /**
+   * Decode an ascii byte array, a byte outside of the ascii range is rejected.
+   *
+   * @param bytes the bytes
+   * @param off the offset
+   * @param len the length
+   * @return the decoded string
+   * @throws IllegalArgumentException if the bytes cannot be decoded
+   */
+  public String decode(byte[] bytes, int off, int len) throws IllegalArgumentException {
+    char[] buffer = new char[len];
+    int i = 0;
+    boolean plain = true;
+    while (i < len) {
+      char c = (char)(bytes[off + i] & 0xFF);
+      plain &= c != '%' && accept(c);
+      buffer[i++] = c;
     }
-    catch (IOException e) {
-      throw new UndeclaredIOException(e);
+    if (plain) {
+      return new String(buffer, 0, len);
+    } else {
+      return new String(buffer, 0, decodeInPlace(buffer, 0, len));
     }
   }
 
+  /**
+   * Decode the chars of a buffer in place, the decoded chars never use more room than the encoded chars.
+   *
+   * @param buffer the buffer
+   * @param from the index of the first char to decode, the chars before are left untouched
+   * @param to the index after the last char to decode
+   * @return the index after the last decoded char
+   * @throws IllegalArgumentException if the chars cannot be decoded
+   */
+  private int decodeInPlace(char[] buffer, int from, int to) throws IllegalArgumentException {
+    int pos = from;
+    while (from < to) {
+      char c = buffer[from];
+      if (c == '%') {
+        int c1 = decodeByte(buffer, from, to);
+        from += 3;
+        if ((c1 & 0x80) == 0x00) {
+          buffer[pos++] = (char)c1;
+        } else {
+          int c2 = decodeByte(buffer, from, to);
+          from += 3;
+          if ((c1 & 0xE0) == 0xC0) {
+            buffer[pos++] = (char)(((c1 & 0x1F) << 6) + (c2 & 0x3F));
+          } else {
+            int c3 = decodeByte(buffer, from, to);
+            from += 3;
+            if ((c1 & 0xF0) == 0xE0) {
+              buffer[pos++] = (char)(((c1 & 0x0F) << 12) + ((c2 & 0x3F) << 6) + (c3 & 0x3F));
+            } else {
+              // Java primitive type cannot handle more than 16 bits
+              throw new IllegalArgumentException();
+            }
+          }
+        }
+      } else if (accept(c)) {
+        buffer[pos++] = c;
+        from++;
+      } else {
+        throw new IllegalArgumentException("Illegal char " + (int)c);
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * Decode the percent encoded byte at the specified index.
+   */
+  private static int decodeByte(char[] buffer, int from, int to) throws IllegalArgumentException {
+    if (to - from < 3 || buffer[from] != '%') {
+      throw new IllegalArgumentException();
+    }
+    return (hex(buffer[from + 1]) << 4) + hex(buffer[from + 2]);
+  }
+
   public void decode(CharSequence s, Appendable appendable) throws IllegalArgumentException, IOException {
     decode(s, 0, s.length(), appendable);
   }
@@ -271,16 +550,10 @@ public class PercentCodec extends BigInteger {
   }
 
   public static int hex(char c) {
-    if (c >= '0' && c <= '9') {
-      return c - '0';
-    }
-    else if (c >= 'A' && c <= 'F') {
-      return c + 10 - 'A';
-    }
-    else if (c >= 'a' && c <= 'f') {
-      return c + 10 - 'a';
-    } else {
+    int value = c < 128 ? HEX[c] : -1;
+    if (value < 0) {
       throw new IllegalArgumentException();
     }
+    return value;
   }
 }
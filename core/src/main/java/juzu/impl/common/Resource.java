@@ -56,6 +56,15 @@ public class Resource {
     return data.clone();
   }
 
+  /**
+   * Returns the bytes of this resource without copying them, they must not be modified.
+   *
+   * @return the bytes
+   */
+  byte[] getData() {
+    return data;
+  }
+
   public InputStream getInputStream() {
     return new ByteArrayInputStream(data);
   }
@@ -46,7 +46,6 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.Charset;
@@ -68,8 +67,15 @@ import java.util.NoSuchElementException;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -173,6 +179,100 @@ public class Tools {
     return ServiceLoader.load(service, loader);
   }
 
+  /**
+   * The threads executing the tasks of {@link #invokeAll(List)}, they are shared by the invocations and bounded by
+   * the number of processors, an idle thread terminates after a minute.
+   */
+  private static final ThreadPoolExecutor INVOKER;
+
+  static {
+    INVOKER = new ThreadPoolExecutor(
+        Runtime.getRuntime().availableProcessors(),
+        Runtime.getRuntime().availableProcessors(),
+        60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(),
+        new ThreadFactory() {
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "Juzu invoker");
+            thread.setDaemon(true);
+            thread.setContextClassLoader(null);
+            return thread;
+          }
+        });
+    INVOKER.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Execute the tasks in parallel and wait for their completion, a single task is executed by the current thread.
+   * The tasks are executed by a shared pool of threads with the context class loader of the current thread, the
+   * current thread executes the tasks not yet picked by the pool, so an invocation completes even when the pool
+   * threads are busy, for instance when a task invokes tasks itself.
+   *
+   * @param tasks the tasks
+   * @param <V> the result type
+   * @return the results in the order of the tasks
+   * @throws ExecutionException when a task failed, wrapping the first failure
+   * @throws InterruptedException if the current thread was interrupted
+   */
+  public static <V> List<V> invokeAll(List<? extends Callable<V>> tasks) throws ExecutionException, InterruptedException {
+    ArrayList<V> results = new ArrayList<V>(tasks.size());
+    if (tasks.size() == 1) {
+      try {
+        results.add(tasks.get(0).call());
+      }
+      catch (Exception e) {
+        throw new ExecutionException(e);
+      }
+    } else if (tasks.size() > 1) {
+      final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      ArrayList<FutureTask<V>> futures = new ArrayList<FutureTask<V>>(tasks.size());
+      for (final Callable<V> task : tasks) {
+        FutureTask<V> future = new FutureTask<V>(new Callable<V>() {
+          public V call() throws Exception {
+            Thread current = Thread.currentThread();
+            ClassLoader previous = current.getContextClassLoader();
+            current.setContextClassLoader(loader);
+            try {
+              return task.call();
+            }
+            finally {
+              current.setContextClassLoader(previous);
+            }
+          }
+        });
+        futures.add(future);
+        INVOKER.execute(future);
+      }
+      try {
+        // A task already run by the pool is not run again
+        for (FutureTask<V> future : futures) {
+          future.run();
+        }
+        ExecutionException failure = null;
+        for (FutureTask<V> future : futures) {
+          try {
+            results.add(future.get());
+          }
+          catch (ExecutionException e) {
+            results.add(null);
+            if (failure == null) {
+              failure = e;
+            }
+          }
+        }
+        if (failure != null) {
+          throw failure;
+        }
+      }
+      finally {
+        for (FutureTask<V> future : futures) {
+          future.cancel(true);
+        }
+      }
+    }
+    return results;
+  }
+
   public static Class<?> getPackageClass(ClassLoader loader, String pkgName) {
     // TODO: This cache should be taken care from AssetService as the root cause of the problem.
     // Let's improve it when working on JUZU-41
@@ -1128,24 +1228,6 @@ public class Tools {
     return map;
   }
 
-  public static BigInteger bitSet(CharSequence s) {
-    BigInteger current = BigInteger.ZERO;
-    for (int i = s.length() - 1;i >= 0;i--) {
-      char c = s.charAt(i);
-      current = current.setBit(c);
-
-    }
-    return current;
-  }
-
-  public static BigInteger bitSet(char... chars) {
-    BigInteger current = BigInteger.ZERO;
-    for (char c : chars) {
-      current = current.setBit(c);
-    }
-    return current;
-  }
-
   public static String[] safeConcat(String[] first, String[] second) {
     if (first != null) {
       if (second != null) {
@@ -105,10 +105,10 @@ public final class UriBuilder {
     if (s == null) {
       throw new NullPointerException("No null path accepted");
     }
-    for (int len = s.length(), i = 0;i < len;i++) {
-      char c = s.charAt(i);
-      appendSegment(c);
+    if (questionMarkDone) {
+      throw new IllegalStateException("Query separator already written");
     }
+    PercentCodec.RFC3986_SEGMENT.encode(s, appendable);
   }
 
   /**
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The dependency information of a compiled class: its name, its super types, the name of its source file and
+ * the names it references. The names are internal names, i.e <code>juzu/impl/compiler/ClassFile</code>.
+ *
+ * @author Julien Viet
+ */
+public class ClassFile {
+
+  /**
+   * Read the dependency information of a class file.
+   *
+   * @param bytes the class file bytes
+   * @return the class file
+   * @throws IOException when the class file cannot be read
+   */
+  public static ClassFile parse(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    if (in.readInt() != 0xCAFEBABE) {
+      throw new IOException("Not a class file");
+    }
+    in.readUnsignedShort();
+    in.readUnsignedShort();
+
+    // Constant pool
+    int count = in.readUnsignedShort();
+    String[] utf8 = new String[count];
+    int[] classes = new int[count];
+    for (int i = 1;i < count;i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1:
+          utf8[i] = in.readUTF();
+          break;
+        case 7:
+          classes[i] = in.readUnsignedShort();
+          break;
+        case 8:
+        case 16:
+        case 19:
+        case 20:
+          in.skipBytes(2);
+          break;
+        case 15:
+          in.skipBytes(3);
+          break;
+        case 3:
+        case 4:
+        case 9:
+        case 10:
+        case 11:
+        case 12:
+        case 17:
+        case 18:
+          in.skipBytes(4);
+          break;
+        case 5:
+        case 6:
+          in.skipBytes(8);
+          i++;
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag " + tag);
+      }
+    }
+
+    // The class constants are internal names or array descriptors, the other names are found in the
+    // descriptors and the signatures of the members and in the annotation values
+    HashSet<String> references = new HashSet<String>();
+    for (int i = 1;i < count;i++) {
+      if (classes[i] != 0) {
+        String s = utf8[classes[i]];
+        if (s.length() > 0 && s.charAt(0) != '[') {
+          references.add(s);
+        }
+      }
+    }
+    for (String s : utf8) {
+      if (s != null) {
+        signature(s, references);
+      }
+    }
+
+    //
+    in.readUnsignedShort();
+    String name = utf8[classes[in.readUnsignedShort()]];
+    int superIndex = in.readUnsignedShort();
+    String superName = superIndex != 0 ? utf8[classes[superIndex]] : null;
+    String[] interfaces = new String[in.readUnsignedShort()];
+    for (int i = 0;i < interfaces.length;i++) {
+      interfaces[i] = utf8[classes[in.readUnsignedShort()]];
+    }
+
+    // Skip fields and methods
+    for (int members = 0;members < 2;members++) {
+      for (int i = in.readUnsignedShort();i > 0;i--) {
+        in.skipBytes(6);
+        skipAttributes(in);
+      }
+    }
+
+    //
+    String source = null;
+    for (int i = in.readUnsignedShort();i > 0;i--) {
+      String attribute = utf8[in.readUnsignedShort()];
+      int length = in.readInt();
+      if ("SourceFile".equals(attribute)) {
+        source = utf8[in.readUnsignedShort()];
+      } else {
+        in.skipBytes(length);
+      }
+    }
+
+    //
+    return new ClassFile(name, superName, interfaces, source, references);
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    for (int i = in.readUnsignedShort();i > 0;i--) {
+      in.skipBytes(2);
+      in.skipBytes(in.readInt());
+    }
+  }
+
+  /**
+   * Collects the class names of a descriptor or of a signature, see the 4.3 and 4.7.9.1 sections of the JVM
+   * specification. The parsing stops at the first character that does not fit the grammar, so any other string
+   * is ignored.
+   *
+   * @param s the string to parse
+   * @param names the collected names
+   */
+  static void signature(String s, Set<String> names) {
+    int i = 0;
+    if (i < s.length() && s.charAt(i) == '<') {
+      i = typeParameters(s, i, names);
+    }
+    if (i != -1 && i < s.length() && s.charAt(i) == '(') {
+      // Method descriptor or signature
+      i++;
+      while (i != -1 && i < s.length() && s.charAt(i) != ')') {
+        i = type(s, i, names);
+      }
+      if (i != -1 && i < s.length()) {
+        i = type(s, i + 1, names);
+        while (i != -1 && i < s.length() && s.charAt(i) == '^') {
+          i = type(s, i + 1, names);
+        }
+      }
+    } else {
+      // Field descriptor or class signature (a super class followed by the super interfaces)
+      while (i != -1 && i < s.length()) {
+        i = type(s, i, names);
+      }
+    }
+  }
+
+  private static int typeParameters(String s, int i, Set<String> names) {
+    i++;
+    while (i < s.length() && s.charAt(i) != '>') {
+      int colon = s.indexOf(':', i);
+      if (colon == -1) {
+        return -1;
+      }
+      i = colon;
+      while (i != -1 && i < s.length() && s.charAt(i) == ':') {
+        i++;
+        if (i < s.length() && s.charAt(i) != ':') {
+          i = type(s, i, names);
+        }
+      }
+      if (i == -1) {
+        return -1;
+      }
+    }
+    return i < s.length() ? i + 1 : -1;
+  }
+
+  /**
+   * Parse a type at the specified index.
+   *
+   * @param s the string
+   * @param i the index
+   * @param names the collected names
+   * @return the index following the type or -1 if the string does not match
+   */
+  private static int type(String s, int i, Set<String> names) {
+    if (i >= s.length()) {
+      return -1;
+    }
+    switch (s.charAt(i)) {
+      case 'B':
+      case 'C':
+      case 'D':
+      case 'F':
+      case 'I':
+      case 'J':
+      case 'S':
+      case 'Z':
+      case 'V':
+      case '*':
+        return i + 1;
+      case '[':
+      case '+':
+      case '-':
+        return type(s, i + 1, names);
+      case 'T':
+        int semicolon = s.indexOf(';', i);
+        return semicolon == -1 ? -1 : semicolon + 1;
+      case 'L':
+        return classType(s, i, names);
+      default:
+        return -1;
+    }
+  }
+
+  private static int classType(String s, int i, Set<String> names) {
+    String outer = null;
+    i++;
+    while (true) {
+      int from = i;
+      while (i < s.length() && ";<.".indexOf(s.charAt(i)) == -1) {
+        i++;
+      }
+      if (i == s.length() || i == from) {
+        return -1;
+      }
+      String name = outer == null ? s.substring(from, i) : outer + '$' + s.substring(from, i);
+      names.add(name);
+      if (s.charAt(i) == '<') {
+        i++;
+        while (i != -1 && i < s.length() && s.charAt(i) != '>') {
+          i = type(s, i, names);
+        }
+        if (i == -1 || i == s.length()) {
+          return -1;
+        }
+        i++;
+      }
+      if (i < s.length() && s.charAt(i) == '.') {
+        outer = name;
+        i++;
+      } else if (i < s.length() && s.charAt(i) == ';') {
+        return i + 1;
+      } else {
+        return -1;
+      }
+    }
+  }
+
+  /** . */
+  private final String name;
+
+  /** . */
+  private final String superName;
+
+  /** . */
+  private final String[] interfaces;
+
+  /** . */
+  private final String source;
+
+  /** . */
+  private final Set<String> references;
+
+  private ClassFile(String name, String superName, String[] interfaces, String source, Set<String> references) {
+    this.name = name;
+    this.superName = superName;
+    this.interfaces = interfaces;
+    this.source = source;
+    this.references = references;
+  }
+
+  /**
+   * @return the class name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the package name or the empty string for the default package
+   */
+  public String getPackageName() {
+    int index = name.lastIndexOf('/');
+    return index == -1 ? "" : name.substring(0, index);
+  }
+
+  /**
+   * @return the super class name or null for <code>java/lang/Object</code>
+   */
+  public String getSuperName() {
+    return superName;
+  }
+
+  /**
+   * @return the implemented interface names
+   */
+  public String[] getInterfaces() {
+    return interfaces;
+  }
+
+  /**
+   * @return the source file name or null when the class was compiled without it
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Returns the compilation unit path of this class, for instance <code>/juzu/impl/compiler/ClassFile.java</code>.
+   *
+   * @return the compilation unit or null when the class has no source file
+   */
+  public String getCompilationUnit() {
+    if (source == null) {
+      return null;
+    } else {
+      String pkg = getPackageName();
+      return pkg.length() > 0 ? "/" + pkg + "/" + source : "/" + source;
+    }
+  }
+
+  /**
+   * Returns true when this class extends or implements one of the specified names.
+   *
+   * @param names the names
+   * @return true if this class is a direct subtype of one of the names
+   */
+  public boolean isSubtypeOf(Set<String> names) {
+    if (superName != null && names.contains(superName)) {
+      return true;
+    }
+    for (String i : interfaces) {
+      if (names.contains(i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when this class references one of the specified names.
+   *
+   * @param names the names
+   * @return true if one of the names is referenced
+   */
+  public boolean references(Set<String> names) {
+    Set<String> smaller = names.size() < references.size() ? names : references;
+    Set<String> larger = smaller == names ? references : names;
+    for (String name : smaller) {
+      if (larger.contains(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
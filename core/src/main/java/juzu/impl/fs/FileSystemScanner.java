@@ -20,9 +20,15 @@ import juzu.impl.common.Resource;
 import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.common.Tools;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.CRC32;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class FileSystemScanner<P> implements Filter<P> {
@@ -35,6 +41,10 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     return new Hash<P>(fs);
   }
 
+  public static <P> FileSystemScanner<P> createHybrid(ReadFileSystem<P> fs) {
+    return new Hybrid<P>(fs);
+  }
+
   public static class Timestamped<P> extends FileSystemScanner<P> {
     public Timestamped(ReadFileSystem<P> fs) {
       super(fs);
@@ -61,7 +71,9 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
       juzu.impl.common.Timestamped<Resource> resource = fs.getResource(file);
       InputStream in = resource.getObject().getInputStream();
       byte[] bytes = Tools.bytes(in);
-      return Tools.md5(bytes);
+      CRC32 crc = new CRC32();
+      crc.update(bytes, 0, bytes.length);
+      return ((long)bytes.length << 32) | crc.getValue();
     }
 
     @Override
@@ -70,11 +82,128 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     }
   }
 
-  /** . */
-  protected final ReadFileSystem<P> fs;
+  /**
+   * A hash scanner that reads the content of a file only when its size or last modified date has changed since
+   * the previous scan. A file modified during the racy interval before it was hashed is hashed again at the
+   * next scan since a modification may not have changed its last modified date, given the timestamp granularity
+   * of the file system.
+   */
+  public static class Hybrid<P> extends Hash<P> {
+
+    /** The default racy interval. */
+    private static final long RACY_INTERVAL = 2000;
+
+    /** The number of files to hash above which the files are hashed in parallel. */
+    private static final int PARALLEL_THRESHOLD = 32;
+
+    /** . */
+    private final long racyInterval;
+
+    /** The metadata and the stamp of the files of the last scan. */
+    private HashMap<String, Metadata> metadata;
+
+    public Hybrid(ReadFileSystem<P> fs) {
+      this(fs, RACY_INTERVAL);
+    }
+
+    Hybrid(ReadFileSystem<P> fs, long racyInterval) {
+      super(fs);
+
+      //
+      this.racyInterval = racyInterval;
+      this.metadata = new HashMap<String, Metadata>();
+    }
+
+    @Override
+    protected long[] stampOf(List<String> ids, final List<P> files) throws IOException {
+      HashMap<String, Metadata> previous = metadata;
+      HashMap<String, Metadata> current = new HashMap<String, Metadata>(ids.size() * 2);
+      long[] stamps = new long[ids.size()];
+      ArrayList<Integer> modified = new ArrayList<Integer>();
+      for (int i = 0;i < stamps.length;i++) {
+        P file = files.get(i);
+        File f = fs.getFile(file);
+        Metadata m = new Metadata(fs.getLastModified(file), f != null ? f.length() : -1);
+        Metadata p = previous.get(ids.get(i));
+        if (p != null && p.lastModified == m.lastModified && p.length == m.length && p.lastModified + racyInterval < p.hashed) {
+          m = p;
+        } else {
+          modified.add(i);
+        }
+        current.put(ids.get(i), m);
+        stamps[i] = m.stamp;
+      }
+
+      // Hash the modified files
+      long now = System.currentTimeMillis();
+      if (modified.size() < PARALLEL_THRESHOLD) {
+        for (int i : modified) {
+          stamps[i] = stampOf(files.get(i));
+        }
+      } else {
+        ArrayList<Callable<Long>> tasks = new ArrayList<Callable<Long>>(modified.size());
+        for (final int i : modified) {
+          tasks.add(new Callable<Long>() {
+            public Long call() throws Exception {
+              return stampOf(files.get(i));
+            }
+          });
+        }
+        try {
+          List<Long> hashes = Tools.invokeAll(tasks);
+          for (int i = 0;i < hashes.size();i++) {
+            stamps[modified.get(i)] = hashes.get(i);
+          }
+        }
+        catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof IOException) {
+            throw (IOException)cause;
+          } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+          } else {
+            throw new IOException(cause);
+          }
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      for (int i : modified) {
+        Metadata m = current.get(ids.get(i));
+        m.stamp = stamps[i];
+        m.hashed = now;
+      }
+
+      //
+      this.metadata = current;
+      return stamps;
+    }
+  }
+
+  private static class Metadata {
+
+    /** . */
+    final long lastModified;
+
+    /** . */
+    final long length;
+
+    /** . */
+    long stamp;
+
+    /** . */
+    long hashed;
+
+    private Metadata(long lastModified, long length) {
+      this.lastModified = lastModified;
+      this.length = length;
+    }
+  }
 
   /** . */
-  final ArrayList<String> stack = new ArrayList<String>();
+  protected final ReadFileSystem<P> fs;
 
   private FileSystemScanner(ReadFileSystem<P> fs) {
     this.fs = fs;
@@ -96,6 +225,22 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     return !name.startsWith(".");
   }
 
+  /**
+   * Returns the stamps of the scanned files.
+   *
+   * @param ids the file ids
+   * @param files the files
+   * @return the stamps
+   * @throws IOException any io exception
+   */
+  protected long[] stampOf(List<String> ids, List<P> files) throws IOException {
+    long[] stamps = new long[files.size()];
+    for (int i = 0;i < stamps.length;i++) {
+      stamps[i] = stampOf(files.get(i));
+    }
+    return stamps;
+  }
+
   protected abstract long stampOf(P file) throws IOException;
 
   protected abstract boolean isModified(long snapshot, long current);
@@ -15,7 +15,6 @@
  */
 package juzu.impl.fs;
 
-import juzu.impl.common.Tools;
 import juzu.impl.fs.spi.ReadFileSystem;
 
 import java.io.IOException;
@@ -55,42 +54,51 @@ public class Snapshot<P> extends HashMap<String, Long> {
     //
     final FileSystemScanner<P> scanner = current.scanner;
     final ReadFileSystem<P> fs = scanner.fs;
-    final ArrayList<String> stack = scanner.stack;
+    final ArrayList<String> ids = new ArrayList<String>();
+    final ArrayList<P> files = new ArrayList<P>();
 
-    // Create a new snapshot
-    final Snapshot<P> next = new Snapshot<P>(scanner);
-
-    // Traverse map
+    // Collect the files, the id of a file is the path of its parent directory followed by its name
     fs.traverse(scanner, new Visitor<P>() {
 
+      /** . */
+      final StringBuilder path = new StringBuilder();
+
       public void enterDir(P dir, String name) throws IOException {
-        stack.add(name);
+        path.append(name).append('/');
       }
 
       public void file(P file, String name) throws IOException {
-        long stamp = scanner.stampOf(file);
-        stack.add(name);
-        String id = Tools.join('/', stack);
-        stack.remove(stack.size() - 1);
-        next.put(id, stamp);
-
-        //
-        Long data = current.get(id);
-        if (data == null) {
-          next.changes.put(id, Change.ADD);
-        } else {
-          if (scanner.isModified(data, stamp)) {
-            next.changes.put(id, Change.UPDATE);
-          }
-        }
+        int length = path.length();
+        ids.add(path.append(name).toString());
+        files.add(file);
+        path.setLength(length);
       }
 
       public void leaveDir(P dir, String name) throws IOException {
-        stack.remove(scanner.stack.size() - 1);
+        path.setLength(path.length() - name.length() - 1);
       }
 
     });
 
+    // Create a new snapshot
+    final Snapshot<P> next = new Snapshot<P>(scanner);
+    long[] stamps = scanner.stampOf(ids, files);
+    for (int i = 0;i < stamps.length;i++) {
+      String id = ids.get(i);
+      long stamp = stamps[i];
+      next.put(id, stamp);
+
+      //
+      Long data = current.get(id);
+      if (data == null) {
+        next.changes.put(id, Change.ADD);
+      } else {
+        if (scanner.isModified(data, stamp)) {
+          next.changes.put(id, Change.UPDATE);
+        }
+      }
+    }
+
     // Now find all removed entries
     for (String id : current.keySet()) {
       if (!next.containsKey(id)) {
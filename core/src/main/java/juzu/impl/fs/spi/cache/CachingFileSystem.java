@@ -0,0 +1,261 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.fs.spi.cache;
+
+import juzu.impl.common.Resource;
+import juzu.impl.common.Timestamped;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.Change;
+import juzu.impl.fs.spi.PathType;
+import juzu.impl.fs.spi.ReadFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read through cache of a file system: the directory tree and the path metadata are resolved once from the
+ * cached file system and kept until they are invalidated. The content of the files smaller than a configured size
+ * can be kept as well.
+ *
+ * @author Julien Viet
+ */
+public class CachingFileSystem<P> extends ReadFileSystem<P> {
+
+  /** Marks a value that is not yet resolved. */
+  private static final Object UNRESOLVED = new Object();
+
+  /** . */
+  private final ReadFileSystem<P> cached;
+
+  /** The maximum size of a cached file content, 0 means the content is not cached. */
+  private final int maxContentSize;
+
+  /** The entries keyed by the path names. */
+  private final ConcurrentHashMap<String, Entry<P>> entries;
+
+  /** . */
+  private volatile P root;
+
+  public CachingFileSystem(ReadFileSystem<P> cached) {
+    this(cached, 0);
+  }
+
+  public CachingFileSystem(ReadFileSystem<P> cached, int maxContentSize) {
+    if (maxContentSize < 0) {
+      throw new IllegalArgumentException("Invalid max content size " + maxContentSize);
+    }
+    this.cached = cached;
+    this.maxContentSize = maxContentSize;
+    this.entries = new ConcurrentHashMap<String, Entry<P>>();
+  }
+
+  /**
+   * Invalidate all the cached paths.
+   */
+  public void invalidate() {
+    entries.clear();
+    root = null;
+  }
+
+  /**
+   * Invalidate a cached path, the children of a directory are not invalidated.
+   *
+   * @param path the path to invalidate
+   */
+  public void invalidate(P path) {
+    entries.remove(key(path));
+  }
+
+  /**
+   * Invalidate the changed paths of a scan. An updated file is invalidated, an added or removed file is invalidated
+   * with its ancestors since their children changed.
+   *
+   * @param changes the changes keyed by the file paths, the path names are separated by a slash
+   */
+  public void invalidate(Map<String, Change> changes) {
+    for (Map.Entry<String, Change> change : changes.entrySet()) {
+      String key = change.getKey();
+      if (key.startsWith("/")) {
+        key = key.substring(1);
+      }
+      entries.remove(key);
+      if (change.getValue() != Change.UPDATE) {
+        for (int index = key.lastIndexOf('/');index != -1;index = key.lastIndexOf('/')) {
+          key = key.substring(0, index);
+          entries.remove(key);
+        }
+        entries.remove("");
+      }
+    }
+  }
+
+  @Override
+  public boolean equals(P left, P right) {
+    return cached.equals(left, right);
+  }
+
+  @Override
+  public P getRoot() throws IOException {
+    P root = this.root;
+    if (root == null) {
+      this.root = root = cached.getRoot();
+    }
+    return root;
+  }
+
+  @Override
+  public P getChild(P dir, String name) throws IOException {
+    return entry(dir).children(cached, dir).get(name);
+  }
+
+  @Override
+  public Iterator<P> getChildren(P dir) throws IOException {
+    return Collections.unmodifiableCollection(entry(dir).children(cached, dir).values()).iterator();
+  }
+
+  @Override
+  public long getLastModified(P path) throws IOException {
+    Entry<P> entry = entry(path);
+    Object lastModified = entry.lastModified;
+    if (lastModified == UNRESOLVED) {
+      entry.lastModified = lastModified = cached.getLastModified(path);
+    }
+    return (Long)lastModified;
+  }
+
+  @Override
+  public PathType typeOf(P path) throws IOException {
+    Entry<P> entry = entry(path);
+    Object type = entry.type;
+    if (type == UNRESOLVED) {
+      entry.type = type = cached.typeOf(path);
+    }
+    return (PathType)type;
+  }
+
+  @Override
+  public Timestamped<Resource> getResource(P file) throws IOException {
+    if (maxContentSize == 0) {
+      return cached.getResource(file);
+    } else {
+      Entry<P> entry = entry(file);
+      Timestamped<Resource> resource = entry.resource;
+      if (resource == null) {
+        resource = cached.getResource(file);
+        if (resource != null && resource.getObject().getBytes().length <= maxContentSize) {
+          entry.resource = resource;
+        }
+      }
+      return resource;
+    }
+  }
+
+  @Override
+  public URL getURL(P path) throws NullPointerException, IOException {
+    if (path == null) {
+      throw new NullPointerException("No null path accepted");
+    }
+    Entry<P> entry = entry(path);
+    Object url = entry.url;
+    if (url == UNRESOLVED) {
+      entry.url = url = cached.getURL(path);
+    }
+    return (URL)url;
+  }
+
+  @Override
+  public File getFile(P path) {
+    return cached.getFile(path);
+  }
+
+  @Override
+  public Class<P> getType() {
+    return cached.getType();
+  }
+
+  @Override
+  public String getDescription() {
+    return "Caching[" + cached.getDescription() + "]";
+  }
+
+  @Override
+  public String getName(P path) {
+    return cached.getName(path);
+  }
+
+  @Override
+  public Iterable<String> getNames(P path) {
+    return cached.getNames(path);
+  }
+
+  private String key(P path) {
+    return Tools.join('/', cached.getNames(path));
+  }
+
+  private Entry<P> entry(P path) {
+    String key = key(path);
+    Entry<P> entry = entries.get(key);
+    if (entry == null) {
+      Entry<P> existing = entries.putIfAbsent(key, entry = new Entry<P>());
+      if (existing != null) {
+        entry = existing;
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * The cached state of a path, a value may be resolved concurrently by several threads as resolving a value
+   * twice does not matter.
+   */
+  private static final class Entry<P> {
+
+    /** . */
+    volatile Object type = UNRESOLVED;
+
+    /** . */
+    volatile Object lastModified = UNRESOLVED;
+
+    /** . */
+    volatile Object url = UNRESOLVED;
+
+    /** . */
+    volatile Map<String, P> children;
+
+    /** . */
+    volatile Timestamped<Resource> resource;
+
+    Map<String, P> children(ReadFileSystem<P> fs, P dir) throws IOException {
+      Map<String, P> children = this.children;
+      if (children == null) {
+        LinkedHashMap<String, P> tmp = new LinkedHashMap<String, P>();
+        for (Iterator<P> i = fs.getChildren(dir);i.hasNext();) {
+          P child = i.next();
+          tmp.put(fs.getName(child), child);
+        }
+        this.children = children = tmp;
+      }
+      return children;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import juzu.impl.fs.spi.ReadFileSystem;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
@@ -47,37 +48,50 @@ public class JarFileSystem extends ReadFileSystem<String> {
   private final TreeMap<String, ZipEntry> entries;
 
   public JarFileSystem(JarFile f) throws IOException {
-    TreeMap<String, ZipEntry> entries = new TreeMap<String, ZipEntry>();
-    for (Enumeration<? extends ZipEntry> en = f.entries();en.hasMoreElements();) {
-      ZipEntry entry = en.nextElement();
-      String name = entry.getName();
-      if (name.length() > 0 && name.charAt(name.length() - 1) != '/') {
-        entries.put(name, entry);
-        String current = name;
-        while (true) {
-          int index = current.lastIndexOf('/');
-          if (index == -1) {
-            break;
-          } else {
-            current = name.substring(0, index);
-            if (entries.containsKey(current)) {
-              break;
-            } else {
-              entries.put(current, null);
-            }
-          }
-        }
-      }
-    }
     this.baseURL = new File(f.getName()).toURI().toURL();
-    this.entries = entries;
+    this.entries = entries(f.entries());
   }
 
   public JarFileSystem(URL baseURL) throws IOException {
+    File file = baseURL.getProtocol().equals("file") ? file(baseURL) : null;
+    if (file != null) {
+      // Index the central directory instead of reading the whole archive
+      JarFile f = new JarFile(file, false);
+      try {
+        this.baseURL = baseURL;
+        this.entries = entries(f.entries());
+      }
+      finally {
+        Tools.safeClose(f);
+      }
+    } else {
+      this.baseURL = baseURL;
+      this.entries = stream(baseURL);
+    }
+  }
+
+  /**
+   * Returns the file of a <code>file:</code> url.
+   *
+   * @param url the url
+   * @return the file or null when the url cannot be converted to a file, for instance when it contains unescaped characters
+   */
+  private static File file(URL url) {
+    try {
+      return new File(url.toURI());
+    }
+    catch (URISyntaxException e) {
+      return null;
+    }
+    catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static TreeMap<String, ZipEntry> stream(URL baseURL) throws IOException {
     final ZipInputStream in = new ZipInputStream(baseURL.openStream());
     try {
-      this.baseURL = baseURL;
-      this.entries = entries(new Enumeration<ZipEntry>() {
+      return entries(new Enumeration<ZipEntry>() {
         ZipEntry next;
         public boolean hasMoreElements() {
           try {
@@ -108,7 +122,7 @@ public class JarFileSystem extends ReadFileSystem<String> {
     }
   }
 
-  private TreeMap<String, ZipEntry> entries(Enumeration<ZipEntry> e) {
+  private static TreeMap<String, ZipEntry> entries(Enumeration<? extends ZipEntry> e) {
     TreeMap<String, ZipEntry> entries = new TreeMap<String, ZipEntry>();
     while (e.hasMoreElements()) {
       ZipEntry entry = e.nextElement();
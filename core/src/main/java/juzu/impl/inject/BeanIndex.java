@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.inject;
+
+import juzu.impl.common.Resource;
+import juzu.impl.common.Timestamped;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.spi.ReadFileSystem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The bean index lists the binary names of the classes compiled by the annotation processor, it is emitted in the
+ * class output as a sorted list of names, one per line, so the injectors can find the bean classes of an
+ * application without traversing its file system.
+ *
+ * @author Julien Viet
+ */
+public final class BeanIndex {
+
+  /** The package of the index resource. */
+  public static final String PACKAGE = "juzu";
+
+  /** The name of the index resource. */
+  public static final String NAME = "beans.idx";
+
+  private BeanIndex() {
+  }
+
+  /**
+   * Read the names of an index.
+   *
+   * @param in the index stream
+   * @return the names
+   * @throws IOException any io exception
+   */
+  public static TreeSet<String> read(InputStream in) throws IOException {
+    TreeSet<String> names = new TreeSet<String>();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, Tools.UTF_8));
+    for (String line = reader.readLine();line != null;line = reader.readLine()) {
+      line = line.trim();
+      if (line.length() > 0) {
+        names.add(line);
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Write the names of an index, the names should be sorted.
+   *
+   * @param names the names
+   * @param out the index stream
+   * @throws IOException any io exception
+   */
+  public static void write(Collection<String> names, OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(out, Tools.UTF_8);
+    for (String name : names) {
+      writer.append(name).append('\n');
+    }
+    writer.flush();
+  }
+
+  /**
+   * Load the bean classes of a file system from its index, the indexed classes whose class file does not exist
+   * anymore are ignored.
+   *
+   * @param fs the file system
+   * @param <P> the path type
+   * @return the class names or null when the file system has no index
+   * @throws IOException any io exception
+   */
+  public static <P> List<String> load(ReadFileSystem<P> fs) throws IOException {
+    P path = fs.getPath(PACKAGE, NAME);
+    if (path == null || !fs.isFile(path)) {
+      return null;
+    }
+    Timestamped<Resource> resource = fs.getResource(path);
+    if (resource == null) {
+      return null;
+    }
+    InputStream in = resource.getObject().getInputStream();
+    TreeSet<String> names;
+    try {
+      names = read(in);
+    }
+    finally {
+      Tools.safeClose(in);
+    }
+    ArrayList<String> classes = new ArrayList<String>(names.size());
+    for (String name : names) {
+      String[] segments = Tools.split(name, '.');
+      segments[segments.length - 1] += ".class";
+      P file = fs.getPath(Arrays.asList(segments));
+      if (file != null && fs.isFile(file)) {
+        classes.add(name);
+      }
+    }
+    return classes;
+  }
+}
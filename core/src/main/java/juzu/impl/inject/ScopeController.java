@@ -83,6 +83,27 @@ public class ScopeController {
     ctx.setContextualValue(scope, key, scoped);
   }
 
+  /**
+   * Obtain a scoped object or create it when it does not exist, the factory is invoked once
+   * for a given key even when several threads race to create it.
+   *
+   * @param scope   the scope
+   * @param key     the key
+   * @param factory the factory creating the scoped object
+   * @return the scoped object
+   * @throws IllegalStateException if the scope is not active
+   */
+  public Scoped getOrCreate(Scope scope, Object key, ScopedFactory factory) throws IllegalStateException {
+    ScopingContext ctx = currentContext.get();
+    if (ctx == null) {
+      throw new IllegalStateException("Context not active");
+    }
+    if (!ctx.isActive(scope)) {
+      throw new IllegalStateException("Context not active");
+    }
+    return ctx.getOrCreateContextualValue(scope, key, factory);
+  }
+
   /**
    * Tells if a scope is active or not.
    *
@@ -25,6 +25,8 @@ public interface ScopingContext {
 
   void setContextualValue(Scope scope, Object key, Scoped value);
 
+  Scoped getOrCreateContextualValue(Scope scope, Object key, ScopedFactory factory);
+
   boolean isActive(Scope scope);
 
 }
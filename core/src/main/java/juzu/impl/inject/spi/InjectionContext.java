@@ -22,10 +22,14 @@ import java.io.Closeable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class InjectionContext<B, C> implements Closeable {
 
+  /** The singleton instances resolved by type, the context lives until the application is refreshed. */
+  private final ConcurrentHashMap<Class<?>, Object> singletons = new ConcurrentHashMap<Class<?>, Object>();
+
   public abstract ScopeController getScopeController();
 
   /**
@@ -43,6 +47,17 @@ public abstract class InjectionContext<B, C> implements Closeable {
 
   public abstract Iterable<B> resolveBeans(Class<?> type);
 
+  /**
+   * Returns true when the bean is a singleton, the instance of a singleton bean is resolved once and then
+   * reused by {@link #resolveInstance(Class)}. The default implementation returns false.
+   *
+   * @param bean the bean
+   * @return true if the bean is a singleton
+   */
+  protected boolean isSingleton(B bean) {
+    return false;
+  }
+
   /**
    * Create a bean context for the specified bean.
    *
@@ -140,9 +155,21 @@ public abstract class InjectionContext<B, C> implements Closeable {
   }
 
   public final <T> T resolveInstance(Class<T> beanType) {
+    Object singleton = singletons.get(beanType);
+    if (singleton != null) {
+      return beanType.cast(singleton);
+    }
     try {
-      BeanLifeCycle<T> pluginLifeCycle = get(beanType);
-      return pluginLifeCycle != null ? pluginLifeCycle.get() : null;
+      B bean = resolveBean(beanType);
+      if (bean == null) {
+        return null;
+      } else {
+        T instance = new BeanLifeCycleImpl<B, C, T>(beanType, this, bean).get();
+        if (instance != null && isSingleton(bean)) {
+          singletons.putIfAbsent(beanType, instance);
+        }
+        return instance;
+      }
     }
     catch (InvocationTargetException e) {
       // log.log("Could not retrieve bean of type " + beanType, e.getCause());
@@ -150,6 +177,17 @@ public abstract class InjectionContext<B, C> implements Closeable {
     }
   }
 
+  /**
+   * Resolve the instance of a singleton bean ahead of its first use, the other beans are not instantiated.
+   *
+   * @param beanType the bean type
+   * @return true if the bean is a singleton that was resolved
+   */
+  public final boolean prewarm(Class<?> beanType) {
+    B bean = resolveBean(beanType);
+    return bean != null && isSingleton(bean) && resolveInstance(beanType) != null;
+  }
+
   public final <T> Iterable<T> resolveInstances(final Class<T> beanType) {
     return new Iterable<T>() {
       Iterable<BeanLifeCycle<T>> lifecycles = resolve(beanType);
@@ -21,10 +21,13 @@ import juzu.impl.inject.ScopeController;
 import juzu.impl.plugin.controller.AmbiguousResolutionException;
 import juzu.impl.inject.spi.InjectionContext;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.CreationException;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -103,6 +106,12 @@ public abstract class CDIContext extends InjectionContext<Bean<?>, CreationalCon
     }
   }
 
+  @Override
+  protected boolean isSingleton(Bean<?> bean) {
+    Class<? extends Annotation> scope = bean.getScope();
+    return scope == Singleton.class || scope == ApplicationScoped.class;
+  }
+
   public CreationalContext<?> createContext(Bean<?> bean) {
     BeanManager manager = getBeanManager();
     return manager.createCreationalContext(bean);
@@ -18,6 +18,8 @@ package juzu.impl.inject.spi.cdi;
 
 import juzu.Scope;
 import juzu.impl.inject.ScopeController;
+import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.spi.Context;
@@ -47,15 +49,18 @@ final class ContextImpl implements Context {
     return scopeType;
   }
 
-  public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+  public <T> T get(final Contextual<T> contextual, final CreationalContext<T> creationalContext) {
     try {
-      CDIScoped<T> scoped = (CDIScoped<T>)controller.get(scope, contextual);
-      if (scoped == null) {
-        if (creationalContext != null) {
-          T object = contextual.create(creationalContext);
-          scoped = new CDIScoped<T>(contextual, creationalContext, object);
-          controller.put(scope, contextual, scoped);
-        }
+      CDIScoped<T> scoped;
+      if (creationalContext != null) {
+        scoped = (CDIScoped<T>)controller.getOrCreate(scope, contextual, new ScopedFactory() {
+          public Scoped create() {
+            T object = contextual.create(creationalContext);
+            return new CDIScoped<T>(contextual, creationalContext, object);
+          }
+        });
+      } else {
+        scoped = (CDIScoped<T>)controller.get(scope, contextual);
       }
       return scoped != null ? scoped.object : null;
     }
@@ -19,6 +19,7 @@ package juzu.impl.inject.spi.cdi.weld;
 import juzu.impl.common.Tools;
 import juzu.impl.fs.Visitor;
 import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.inject.BeanIndex;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.bootstrap.api.helpers.SimpleServiceRegistry;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
@@ -63,32 +64,42 @@ class BeanDeploymentArchiveImpl implements BeanDeploymentArchive {
     final StringBuilder buffer = new StringBuilder();
     final ArrayList<String> beanClasses = new ArrayList<String>();
     for (final ReadFileSystem fileSystem : fileSystems) {
-      fileSystem.traverse(new Visitor.Default() {
-        @Override
-        public void enterDir(Object dir, String name) throws IOException {
-          if (name.length() > 0) {
-            buffer.append(name).append('.');
+      // The classes of the file system are the beans, unless the bean index emitted by the processor is enabled
+      List<String> indexed = owner.beanIndex ? BeanIndex.load(fileSystem) : null;
+      if (indexed != null) {
+        for (String fqn : indexed) {
+          if (isBeanClass(fqn)) {
+            beanClasses.add(fqn);
           }
         }
-        @Override
-        public void file(Object file, String name) throws IOException {
-          if (name.endsWith(".class")) {
-            int len = name.length() - ".class".length();
-            buffer.append(name, 0, len);
-            String fqn = buffer.toString();
-            buffer.setLength(buffer.length() - len);
-            if (!fqn.startsWith("juzu.impl.inject.spi.guice.") && !fqn.startsWith("juzu.impl.inject.spi.spring.")) {
-              beanClasses.add(fqn);
+      } else {
+        fileSystem.traverse(new Visitor.Default() {
+          @Override
+          public void enterDir(Object dir, String name) throws IOException {
+            if (name.length() > 0) {
+              buffer.append(name).append('.');
             }
           }
-        }
-        @Override
-        public void leaveDir(Object dir, String name) throws IOException {
-          if (name.length() > 0) {
-            buffer.setLength(buffer.length() - name.length() - 1);
+          @Override
+          public void file(Object file, String name) throws IOException {
+            if (name.endsWith(".class")) {
+              int len = name.length() - ".class".length();
+              buffer.append(name, 0, len);
+              String fqn = buffer.toString();
+              buffer.setLength(buffer.length() - len);
+              if (isBeanClass(fqn)) {
+                beanClasses.add(fqn);
+              }
+            }
           }
-        }
-      });
+          @Override
+          public void leaveDir(Object dir, String name) throws IOException {
+            if (name.length() > 0) {
+              buffer.setLength(buffer.length() - name.length() - 1);
+            }
+          }
+        });
+      }
 
       //
       // fsURLs.add(fileSystem.getURL());
@@ -119,6 +130,10 @@ class BeanDeploymentArchiveImpl implements BeanDeploymentArchive {
     this.owner = owner;
   }
 
+  private static boolean isBeanClass(String fqn) {
+    return !fqn.startsWith("juzu.impl.inject.spi.guice.") && !fqn.startsWith("juzu.impl.inject.spi.spring.");
+  }
+
   public ClassLoader getClassLoader() {
     return owner.classLoader;
   }
@@ -45,6 +45,9 @@ public class WeldContainer extends Container {
   /** . */
   final Bootstrap bootstrap;
 
+  /** . */
+  final boolean beanIndex;
+
   /** . */
   private BeanManager manager;
 
@@ -89,11 +92,12 @@ public class WeldContainer extends Container {
     manager = bootstrap.getManager(bda);
   }
 
-  public WeldContainer(ClassLoader classLoader, ScopeController scopeController, Set<Scope> scopes) {
+  public WeldContainer(ClassLoader classLoader, ScopeController scopeController, Set<Scope> scopes, boolean beanIndex) {
     super(scopeController, scopes);
 
     //
     this.classLoader = classLoader;
+    this.beanIndex = beanIndex;
     this.bootstrap = new WeldBootstrap();
   }
 
@@ -37,6 +37,9 @@ public class WeldInjector extends CDIInjector {
   /** . */
   private List<ReadFileSystem<?>> fileSystems;
 
+  /** . */
+  private boolean beanIndex;
+
   public WeldInjector() {
     this.classLoader = null;
     this.fileSystems = new ArrayList<ReadFileSystem<?>>();
@@ -48,6 +51,7 @@ public class WeldInjector extends CDIInjector {
     //
     this.classLoader = that.classLoader;
     this.fileSystems = new ArrayList<ReadFileSystem<?>>(that.fileSystems);
+    this.beanIndex = that.beanIndex;
   }
 
   @Override
@@ -67,9 +71,21 @@ public class WeldInjector extends CDIInjector {
     return this;
   }
 
+  /**
+   * Use the bean index emitted by the processor to find the bean classes instead of traversing the file systems.
+   * A class compiled without the processor is not listed in the index and is not a bean when the index is used.
+   *
+   * @param beanIndex true to use the bean index
+   * @return this injector
+   */
+  public WeldInjector setBeanIndex(boolean beanIndex) {
+    this.beanIndex = beanIndex;
+    return this;
+  }
+
   @Override
   public InjectionContext<?, ?> create(Handler<Class<?>, Boolean> filter) throws Exception {
-    final Container container = new WeldContainer(classLoader, scopeController, scopes);
+    final Container container = new WeldContainer(classLoader, scopeController, scopes, beanIndex);
     for (ReadFileSystem<?> fs : fileSystems) {
       container.addFileSystem(fs);
     }
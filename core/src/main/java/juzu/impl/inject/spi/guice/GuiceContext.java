@@ -22,6 +22,7 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.ProvisionException;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.binder.ScopedBindingBuilder;
@@ -217,6 +218,11 @@ public class GuiceContext extends InjectionContext<GuiceBean, Object> {
     return bean;
   }
 
+  @Override
+  protected boolean isSingleton(GuiceBean bean) {
+    return Scopes.isSingleton(bean.binding);
+  }
+
   public Object createContext(GuiceBean bean) throws InvocationTargetException {
     try {
       return bean.binding.getProvider().get();
@@ -20,6 +20,8 @@ import com.google.inject.Key;
 import com.google.inject.Provider;
 import com.google.inject.Scope;
 import juzu.impl.inject.ScopeController;
+import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 
 /**
  * Integrate guice scope.
@@ -41,11 +43,11 @@ public class GuiceScope implements Scope {
   public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
     return new Provider<T>() {
       public T get() {
-        GuiceScoped scoped = (GuiceScoped)controller.get(scope, key);
-        if (scoped == null) {
-          scoped = new GuiceScoped(unscoped.get());
-          controller.put(scope, key, scoped);
-        }
+        GuiceScoped scoped = (GuiceScoped)controller.getOrCreate(scope, key, new ScopedFactory() {
+          public Scoped create() {
+            return new GuiceScoped(unscoped.get());
+          }
+        });
         return (T)scoped.o;
       }
     };
@@ -108,6 +108,11 @@ public class SpringContext extends InjectionContext<String, Object> {
     return factory.getBeansOfType(type).keySet();
   }
 
+  @Override
+  protected boolean isSingleton(String bean) {
+    return factory.isSingleton(bean);
+  }
+
   public Object createContext(String bean) throws InvocationTargetException {
     try {
       return factory.getBean(bean);
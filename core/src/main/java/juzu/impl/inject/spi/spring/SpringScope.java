@@ -17,6 +17,8 @@
 package juzu.impl.inject.spi.spring;
 
 import juzu.impl.inject.ScopeController;
+import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.Scope;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
@@ -33,25 +35,35 @@ class SpringScope implements Scope {
   /** . */
   private final ScopeController controller;
 
+  /** The scoped object being created by the current thread. */
+  private final ThreadLocal<SpringScoped> creating = new ThreadLocal<SpringScoped>();
+
   SpringScope(DefaultListableBeanFactory factory, juzu.Scope scope, ScopeController controller) {
     this.factory = factory;
     this.scope = scope;
     this.controller = controller;
   }
 
-  public Object get(String name, ObjectFactory<?> objectFactory) {
-    SpringScoped scoped = (SpringScoped)controller.get(scope, name);
-    if (scoped == null) {
-      // We register first the scoped object
-      // as creating the object from the factory
-      // will make a call in the method registerDestructionCallback
-      scoped = new SpringScoped(factory, name);
-      controller.put(scope, name, scoped);
-
-      // Create the object, it will likely create a registerDestructionCallback invocation
-      // to set the callback when the object will need to be destroyed
-      scoped.o = objectFactory.getObject();
-    }
+  public Object get(final String name, final ObjectFactory<?> objectFactory) {
+    SpringScoped scoped = (SpringScoped)controller.getOrCreate(scope, name, new ScopedFactory() {
+      public Scoped create() {
+        // We expose first the scoped object
+        // as creating the object from the factory
+        // will make a call in the method registerDestructionCallback
+        SpringScoped scoped = new SpringScoped(factory, name);
+        SpringScoped previous = creating.get();
+        creating.set(scoped);
+        try {
+          // Create the object, it will likely create a registerDestructionCallback invocation
+          // to set the callback when the object will need to be destroyed
+          scoped.o = objectFactory.getObject();
+        }
+        finally {
+          creating.set(previous);
+        }
+        return scoped;
+      }
+    });
     return scoped.o;
   }
 
@@ -61,7 +73,10 @@ class SpringScope implements Scope {
   }
 
   public void registerDestructionCallback(String name, Runnable callback) {
-    SpringScoped scoped = (SpringScoped)controller.get(scope, name);
+    SpringScoped scoped = creating.get();
+    if (scoped == null || !scoped.bean.equals(name)) {
+      scoped = (SpringScoped)controller.get(scope, name);
+    }
     if (scoped != null) {
       scoped.destructionCallback = callback;
     }
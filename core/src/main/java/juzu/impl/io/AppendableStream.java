@@ -23,7 +23,7 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 
 /** @author Julien Viet */
-public class AppendableStream extends CharStream {
+public class AppendableStream extends CharStream implements Flushable {
 
   /** . */
   private final Appendable out;
@@ -17,12 +17,13 @@ package juzu.impl.io;
 
 import juzu.impl.common.Tools;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 
 /** @author Julien Viet */
-public class BinaryOutputStream extends BinaryStream {
+public class BinaryOutputStream extends BinaryStream implements Flushable {
 
   /** . */
   private final OutputStream out;
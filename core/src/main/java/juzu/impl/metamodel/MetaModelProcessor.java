@@ -21,7 +21,6 @@ import juzu.impl.compiler.BaseProcessor;
 import juzu.impl.compiler.MessageCode;
 import juzu.impl.compiler.ProcessingContext;
 import juzu.impl.common.Logger;
-import juzu.impl.common.Tools;
 
 import javax.annotation.Generated;
 import javax.annotation.processing.Completion;
@@ -32,9 +31,6 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
-import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -64,12 +60,9 @@ public abstract class MetaModelProcessor<P extends MetaModelPlugin<M, P>, M exte
 
     // Try to get state or create new one
     if (state == null) {
-      InputStream in = null;
       try {
         FileObject file = getContext().getResource(StandardLocation.SOURCE_OUTPUT, "juzu", "metamodel.ser");
-        in = file.openInputStream();
-        ObjectInputStream ois = new ObjectInputStream(in);
-        state = (MetaModelState<P, M>)ois.readObject();
+        state = (MetaModelState<P, M>)MetaModelState.read(file.openInputStream());
         log.info("Loaded model from " + file.toUri());
       }
       catch (Exception e) {
@@ -78,9 +71,6 @@ public abstract class MetaModelProcessor<P extends MetaModelPlugin<M, P>, M exte
         metaModel.init(getContext());
         state = metaModel;
       }
-      finally {
-        Tools.safeClose(in);
-      }
     }
 
     //
@@ -109,20 +99,15 @@ public abstract class MetaModelProcessor<P extends MetaModelPlugin<M, P>, M exte
         state.metaModel.prePassivate();
 
         // Passivate model
-        ObjectOutputStream out = null;
         try {
           FileObject file = getContext().createResource(StandardLocation.SOURCE_OUTPUT, "juzu", "metamodel.ser");
-          out = new ObjectOutputStream(file.openOutputStream());
-          out.writeObject(state);
+          MetaModelState.write(state, file.openOutputStream());
           state = null;
         }
         catch (Exception e) {
           e.printStackTrace();
           log.info("Could not passivate model ", e);
         }
-        finally {
-          Tools.safeClose(out);
-        }
       }
       else {
         log.info("Starting APT round #" + index);
@@ -16,13 +16,85 @@
 
 package juzu.impl.metamodel;
 
+import juzu.impl.common.Tools;
 import juzu.impl.compiler.ProcessingContext;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 
-/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+/**
+ * The state of the meta model processing persisted between two compilations. The state is stored with a header made
+ * of a magic number and a format version followed by the serialized state. The state is not compressed since
+ * inflating it costs more than reading the bytes it saves.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
 public class MetaModelState<P extends MetaModelPlugin<M, P>, M extends MetaModel<P, M>> implements Serializable {
 
+  /** . */
+  private static final int MAGIC = 0x4A5A4D4D;
+
+  /** The format version, it must be incremented when the format or the persisted classes change. */
+  private static final int VERSION = 4;
+
+  /** . */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Read a state.
+   *
+   * @param in the stream to read from, it is closed by this method
+   * @return the state
+   * @throws IOException when the state cannot be read or has another format version
+   * @throws ClassNotFoundException when a class of the state cannot be found
+   */
+  public static MetaModelState<?, ?> read(InputStream in) throws IOException, ClassNotFoundException {
+    try {
+      DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+      if (data.readInt() != MAGIC) {
+        throw new IOException("Not a meta model state");
+      }
+      int version = data.readInt();
+      if (version != VERSION) {
+        throw new IOException("Meta model state version " + version + " is not supported");
+      }
+      ObjectInputStream ois = new ObjectInputStream(data);
+      return (MetaModelState<?, ?>)ois.readObject();
+    }
+    finally {
+      Tools.safeClose(in);
+    }
+  }
+
+  /**
+   * Write a state.
+   *
+   * @param state the state to write
+   * @param out the stream to write to, it is closed by this method
+   * @throws IOException any io exception
+   */
+  public static void write(MetaModelState<?, ?> state, OutputStream out) throws IOException {
+    try {
+      DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+      data.writeInt(MAGIC);
+      data.writeInt(VERSION);
+      ObjectOutputStream oos = new ObjectOutputStream(data);
+      oos.writeObject(state);
+      oos.flush();
+    }
+    finally {
+      Tools.safeClose(out);
+    }
+  }
+
   /** . */
   final MetaModelContext<P, M> context;
 
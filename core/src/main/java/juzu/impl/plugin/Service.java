@@ -35,7 +35,8 @@ public abstract class Service {
   }
 
   /**
-   * Returns the plugin descriptor or null if the plugin should not be loaded.
+   * Returns the plugin descriptor or null if the plugin should not be loaded. The services of an application are
+   * initialized in parallel, so this method must only rely on its context and must not use the other services.
    *
    * @param context the plugin context
    * @return the descriptor
@@ -32,12 +32,17 @@ import juzu.impl.resource.ResourceResolver;
 import javax.inject.Singleton;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 @Singleton
@@ -104,11 +109,12 @@ public class Application implements ResourceResolver {
       throw new UnsupportedOperationException("Handle me gracefully : missing plugins " + names);
     }
 
-    //
-    HashMap<String, ServiceDescriptor> pluginDescriptors = new HashMap<String, ServiceDescriptor>();
+    // The plugins do not depend on each other when they are initialized, so they are initialized in parallel
+    ArrayList<ApplicationService> initialized = new ArrayList<ApplicationService>(configs.size());
+    ArrayList<Callable<ServiceDescriptor>> inits = new ArrayList<Callable<ServiceDescriptor>>(configs.size());
     for (final Map.Entry<ApplicationService, JSON> entry : configs.entrySet()) {
-      ApplicationService plugin = entry.getKey();
-      ServiceContext pluginContext = new ServiceContext() {
+      final ApplicationService plugin = entry.getKey();
+      final ServiceContext pluginContext = new ServiceContext() {
         public JSON getConfig() {
           return entry.getValue();
         }
@@ -122,10 +128,33 @@ public class Application implements ResourceResolver {
           return applicationResolver;
         }
       };
-      plugin.setApplication(descriptor);
-      ServiceDescriptor pluginDescriptor = plugin.init(pluginContext);
+      initialized.add(plugin);
+      inits.add(new Callable<ServiceDescriptor>() {
+        public ServiceDescriptor call() throws Exception {
+          plugin.setApplication(descriptor);
+          return plugin.init(pluginContext);
+        }
+      });
+    }
+    List<ServiceDescriptor> results;
+    try {
+      results = Tools.invokeAll(inits);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception)cause;
+      } else if (cause instanceof Error) {
+        throw (Error)cause;
+      } else {
+        throw e;
+      }
+    }
+    HashMap<String, ServiceDescriptor> pluginDescriptors = new HashMap<String, ServiceDescriptor>();
+    for (int i = 0;i < results.size();i++) {
+      ServiceDescriptor pluginDescriptor = results.get(i);
       if (pluginDescriptor != null) {
-        pluginDescriptors.put(plugin.getName(), pluginDescriptor);
+        pluginDescriptors.put(initialized.get(i).getName(), pluginDescriptor);
       }
     }
 
@@ -169,7 +198,8 @@ public class Application implements ResourceResolver {
     // any class prefixed with the application package is accepted
     // any other application class is refused (i.e a class having an ancestor package annotated with @Application)
     Handler<Class<?>, Boolean> filter = new Handler<Class<?>, Boolean>() {
-      HashSet<String> blackList = new HashSet<String>();
+      // The packages already probed, mapped to true when they are an application package
+      final ConcurrentHashMap<String, Boolean> probed = new ConcurrentHashMap<String, Boolean>();
       public Boolean handle(Class<?> argument) {
         if (argument.getName().startsWith("juzu.")) {
           return false;
@@ -177,20 +207,19 @@ public class Application implements ResourceResolver {
           return true;
         } else {
           for (String currentPkg = argument.getPackage().getName();currentPkg != null;currentPkg = Tools.parentPackageOf(currentPkg)) {
-            if (blackList.contains(currentPkg)) {
-              return false;
-            } else {
+            Boolean application = probed.get(currentPkg);
+            if (application == null) {
               try {
                 Class<?> packageClass = classLoader.loadClass(currentPkg + ".package-info");
-                juzu.Application ann = packageClass.getAnnotation(juzu.Application.class);
-                if (ann != null) {
-                  blackList.add(currentPkg);
-                  return false;
-                }
+                application = packageClass.getAnnotation(juzu.Application.class) != null;
               }
               catch (ClassNotFoundException e) {
-                // Skip it
+                application = false;
               }
+              probed.put(currentPkg, application);
+            }
+            if (application) {
+              return false;
             }
           }
           return true;
@@ -47,6 +47,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AssetService extends ApplicationService implements RequestFilter<Stage.Unmarshalling> {
@@ -63,6 +64,9 @@ public class AssetService extends ApplicationService implements RequestFilter<St
   /** The path to the assets dir. */
   private String assetsPath;
 
+  /** The assets statically declared by controller methods. */
+  private final ConcurrentHashMap<Method, Collection<Chunk.Property<String>>> declaredAssets = new ConcurrentHashMap<Method, Collection<Chunk.Property<String>>>();
+
   /** . */
   @Inject
   AssetManager assetManager;
@@ -218,6 +222,22 @@ public class AssetService extends ApplicationService implements RequestFilter<St
     return assets;
   }
 
+  /**
+   * Returns the assets statically declared by the {@link Assets} annotation of the specified controller method,
+   * its declaring class or its packages. The result is computed once per method.
+   *
+   * @param method the controller method
+   * @return the declared assets
+   */
+  public Collection<Chunk.Property<String>> getAssets(Method method) {
+    Collection<Chunk.Property<String>> assets = declaredAssets.get(method);
+    if (assets == null) {
+      assets = foo(method, Collections.<Chunk.Property<String>>emptyList());
+      declaredAssets.put(method, assets);
+    }
+    return assets;
+  }
+
   private Collection<Chunk.Property<String>> foo(AnnotatedElement elt, List<Chunk.Property<String>> bar) {
     Assets decl = elt.getAnnotation(Assets.class);
     if (decl != null) {
@@ -284,7 +304,7 @@ public class AssetService extends ApplicationService implements RequestFilter<St
     Request request = argument.getRequest();
     if (request.getPhase() == Phase.VIEW) {
       if (result instanceof Response.Content) {
-        final Collection<Chunk.Property<String>> bar = foo(request.getHandler().getMethod(), Collections.<Chunk.Property<String>>emptyList());
+        final Collection<Chunk.Property<String>> bar = getAssets(request.getHandler().getMethod());
         Response.Status status = (Response.Status)result;
         if ((bar.size() > 0)) {
           status = new Response.Content(status.getCode(), new StreamableDecorator(status.streamable()) {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.bundle;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A per locale cache of the messages of an application. The bundle resolved for a locale is flattened
+ * with its parents into an immutable map, subsequent lookups for the same locale return this map wrapped
+ * as a bundle and a message lookup is a single hash lookup.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public abstract class MessageCatalog {
+
+  /** Marker for a locale that has no bundle. */
+  private static final ResourceBundle NONE = new Messages(null, Collections.<String, Object>emptyMap());
+
+  /** . */
+  private final ConcurrentHashMap<Locale, ResourceBundle> bundles = new ConcurrentHashMap<Locale, ResourceBundle>();
+
+  /**
+   * Load the bundle for the specified locale.
+   *
+   * @param locale the locale
+   * @return the bundle or null when there is no bundle
+   */
+  protected abstract ResourceBundle load(Locale locale);
+
+  /**
+   * Returns the bundle for the specified locale.
+   *
+   * @param locale the locale
+   * @return the bundle or null
+   */
+  public final ResourceBundle get(Locale locale) {
+    if (locale == null) {
+      return load(null);
+    }
+    ResourceBundle bundle = bundles.get(locale);
+    if (bundle == null) {
+      ResourceBundle loaded = load(locale);
+      bundle = loaded != null ? flatten(loaded) : NONE;
+      ResourceBundle phantom = bundles.putIfAbsent(locale, bundle);
+      if (phantom != null) {
+        bundle = phantom;
+      }
+    }
+    return bundle != NONE ? bundle : null;
+  }
+
+  private static ResourceBundle flatten(ResourceBundle bundle) {
+    Set<String> keys = bundle.keySet();
+    HashMap<String, Object> messages = new HashMap<String, Object>(keys.size() * 4 / 3 + 1);
+    for (String key : keys) {
+      messages.put(key, bundle.getObject(key));
+    }
+    return new Messages(bundle.getLocale(), Collections.unmodifiableMap(messages));
+  }
+
+  /**
+   * A bundle backed by a map.
+   */
+  private static class Messages extends ResourceBundle {
+
+    /** . */
+    private final Locale locale;
+
+    /** . */
+    private final Map<String, Object> messages;
+
+    private Messages(Locale locale, Map<String, Object> messages) {
+      this.locale = locale;
+      this.messages = messages;
+    }
+
+    @Override
+    public Locale getLocale() {
+      return locale;
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+      return messages.get(key);
+    }
+
+    @Override
+    protected Set<String> handleKeySet() {
+      return messages.keySet();
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+      return messages.containsKey(key);
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+      return Collections.enumeration(messages.keySet());
+    }
+  }
+}
@@ -32,7 +32,9 @@ import juzu.impl.bridge.spi.RequestBridge;
 import juzu.impl.common.MethodHandle;
 import juzu.impl.inject.spi.InjectionContext;
 import juzu.impl.plugin.application.ApplicationService;
+import juzu.impl.plugin.controller.descriptor.ControllerDescriptor;
 import juzu.impl.plugin.controller.descriptor.ControllersDescriptor;
+import juzu.impl.request.PhaseParameter;
 import juzu.impl.request.Request;
 import juzu.request.RequestParameter;
 
@@ -43,7 +45,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ControllerService extends ApplicationService {
@@ -54,6 +60,12 @@ public class ControllerService extends ApplicationService {
   /** . */
   final ArrayList<ValueType<?>> valueTypes = new ArrayList<ValueType<?>>();
 
+  /** Java type -> value type, the first value type declaring a java type wins. */
+  private final HashMap<Class<?>, ValueType<?>> valueTypeMap = new HashMap<Class<?>, ValueType<?>>();
+
+  /** The canonical instance of the phase parameter names. */
+  private final HashMap<String, String> parameterNames = new HashMap<String, String>();
+
   /** . */
   final List<RequestFilter<?>>                             filters = new ArrayList<RequestFilter<?>>();
 
@@ -83,7 +95,60 @@ public class ControllerService extends ApplicationService {
     for (ValueType<?> valueType : Tools.loadService(ValueType.class, context.getClassLoader())) {
       valueTypes.add(valueType);
     }
-    return descriptor = new ControllersDescriptor(context.getClassLoader(), context.getConfig());
+    for (ValueType<?> valueType : valueTypes) {
+      for (Class<?> type : valueType.getTypes()) {
+        if (!valueTypeMap.containsKey(type)) {
+          valueTypeMap.put(type, valueType);
+        }
+      }
+    }
+    descriptor = new ControllersDescriptor(context.getClassLoader(), context.getConfig());
+
+    // Resolve the value type and the name of the phase parameters once
+    for (ControllerHandler<?> handler : descriptor.getHandlers()) {
+      for (ControlParameter parameter : handler.getParameters()) {
+        if (parameter instanceof PhaseParameter) {
+          PhaseParameter phaseParameter = (PhaseParameter)parameter;
+          phaseParameter.setResolvedValueType(resolveValueType(phaseParameter.getValueType()));
+          String name = phaseParameter.getMappedName();
+          if (!parameterNames.containsKey(name)) {
+            parameterNames.put(name, name);
+          }
+        }
+      }
+    }
+    return descriptor;
+  }
+
+  /**
+   * Returns the canonical instances of the phase parameter names, the request parameters are stored with these
+   * instances so the lookup of a phase parameter value compares the same string.
+   *
+   * @return the parameter names
+   */
+  public Map<String, String> getParameterNames() {
+    return parameterNames;
+  }
+
+  /**
+   * Resolve the singleton controllers in parallel, so the first request of a controller does not pay its creation.
+   *
+   * @throws ExecutionException when a controller could not be resolved, wrapping the first failure
+   * @throws InterruptedException if the current thread was interrupted
+   */
+  public void prewarm() throws ExecutionException, InterruptedException {
+    if (descriptor != null) {
+      final InjectionContext<?, ?> injectionContext = getInjectionContext();
+      List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+      for (final ControllerDescriptor controller : descriptor.getControllers()) {
+        tasks.add(new Callable<Boolean>() {
+          public Boolean call() throws Exception {
+            return injectionContext.prewarm(controller.getType());
+          }
+        });
+      }
+      Tools.invokeAll(tasks);
+    }
   }
 
   public InjectionContext<?, ?> getInjectionContext() {
@@ -105,15 +170,7 @@ public class ControllerService extends ApplicationService {
   }
 
   public <T> ValueType<T> resolveValueType(Class<T> type) {
-    for (int i = 0;i < valueTypes.size();i++) {
-      ValueType<?> valueType = valueTypes.get(i);
-      for (Class<?> tmp : valueType.getTypes()) {
-        if (tmp.equals(type)) {
-          return (ValueType<T>)valueType;
-        }
-      }
-    }
-    return null;
+    return (ValueType<T>)valueTypeMap.get(type);
   }
 
   public void invoke(RequestBridge bridge) {
@@ -23,10 +23,15 @@ import juzu.impl.plugin.template.metadata.TemplateDescriptor;
 import juzu.impl.template.spi.TemplateStub;
 import juzu.impl.plugin.template.metadata.TemplatesDescriptor;
 import juzu.impl.common.Path;
+import juzu.impl.common.Tools;
 import juzu.template.TagHandler;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class TemplateService extends ApplicationService {
@@ -78,6 +83,41 @@ public class TemplateService extends ApplicationService {
     return tag;
   }
 
+  /**
+   * Configures the behavior of the application template stubs after a failed initialization.
+   *
+   * @param retry the retry flag
+   * @see TemplateStub#setRetry(boolean)
+   */
+  public void setRetry(boolean retry) {
+    for (TemplateDescriptor template : descriptor.getTemplates()) {
+      template.getStub().setRetry(retry);
+    }
+  }
+
+  /**
+   * Initialize the stubs of the application templates in parallel, so the first render of a template
+   * does not pay the template initialization.
+   *
+   * @throws ExecutionException when a stub could not be initialized, wrapping the first failure
+   * @throws InterruptedException if the current thread was interrupted
+   */
+  public void prewarm() throws ExecutionException, InterruptedException {
+    List<TemplateDescriptor> templates = descriptor.getTemplates();
+    if (templates.size() > 0) {
+      List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(templates.size());
+      for (final TemplateDescriptor template : templates) {
+        tasks.add(new Callable<Void>() {
+          public Void call() throws Exception {
+            template.getStub().init();
+            return null;
+          }
+        });
+      }
+      Tools.invokeAll(tasks);
+    }
+  }
+
   public TemplateStub resolveTemplateStub(String path) {
     return resolveTemplateStub(juzu.impl.common.Path.parse(path));
   }
@@ -107,11 +147,12 @@ public class TemplateService extends ApplicationService {
       TemplateStub phantom = stubs.putIfAbsent(path, stub);
       if (phantom != null) {
         stub = phantom;
-      } else {
-        stub.init();
       }
     }
 
+    // Returns immediately when the stub is initialized, otherwise waits for the initializing thread
+    stub.init();
+
     //
     return stub;
   }
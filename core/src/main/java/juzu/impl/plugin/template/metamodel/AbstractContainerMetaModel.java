@@ -24,17 +24,27 @@ import juzu.impl.plugin.application.metamodel.ApplicationMetaModel;
 import juzu.impl.metamodel.MetaModelObject;
 import juzu.impl.common.JSON;
 import juzu.impl.common.Path;
+import juzu.impl.common.Resource;
+import juzu.impl.common.Tools;
+import juzu.impl.template.spi.ParseContext;
+import juzu.impl.template.spi.TemplateException;
+import juzu.impl.template.spi.TemplateModel;
 import juzu.impl.template.spi.TemplateProvider;
+import juzu.impl.template.spi.juzu.ast.TokenMgrError;
 import juzu.template.TagHandler;
 
 import javax.lang.model.element.Element;
 import javax.tools.FileObject;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class AbstractContainerMetaModel extends MetaModelObject implements Iterable<TemplateMetaModel> {
@@ -60,6 +70,9 @@ public abstract class AbstractContainerMetaModel extends MetaModelObject impleme
   /** . */
   final HashMap<Path.Absolute, TemplateMetaModel> templates;
 
+  /** The templates parsed ahead of their resolution. */
+  transient HashMap<Path.Absolute, TemplateModel<?>> parsed;
+
   public AbstractContainerMetaModel(Name name) {
     this.name = name;
     this.templates = new HashMap<Path.Absolute, TemplateMetaModel>();
@@ -131,9 +144,16 @@ public abstract class AbstractContainerMetaModel extends MetaModelObject impleme
           log.info("Detected template removal " + template.getPath());
         }
         else if (resource.getLastModified() > template.templateModel.getLastModified()) {
-          // That will force the regeneration of the template
-          template.templateModel = null;
-          log.info("Detected stale template " + template.getPath());
+          if (isUnchanged(resource, template.templateModel)) {
+            // Only the timestamp changed, keep the parsed template
+            TemplateModel<?> templateModel = touch(template.templateModel, resource.getLastModified());
+            template.templateModel = templateModel;
+            log.info("Template " + template.getPath() + " content is unchanged");
+          } else {
+            // That will force the regeneration of the template
+            template.templateModel = null;
+            log.info("Detected stale template " + template.getPath());
+          }
         }
         else {
           log.info("Template " + template.getPath() + " is valid");
@@ -142,7 +162,106 @@ public abstract class AbstractContainerMetaModel extends MetaModelObject impleme
     }
   }
 
+  private static boolean isUnchanged(FileObject resource, TemplateModel<?> templateModel) {
+    try {
+      return Tools.md5(Tools.bytes(resource.openInputStream())) == templateModel.getMD5();
+    }
+    catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static <M extends Serializable> TemplateModel<M> touch(TemplateModel<M> templateModel, long lastModified) {
+    TemplateModel<M> touched = new TemplateModel<M>(
+        templateModel.getModel(),
+        templateModel.getPath(),
+        lastModified,
+        templateModel.getMD5());
+    for (String parameter : templateModel.getParameters()) {
+      touched.addParameter(parameter);
+    }
+    return touched;
+  }
+
+  /**
+   * Parse in parallel the templates that need to be resolved, the resources are read on the processing thread and
+   * the parsed templates are then picked by the process context. A template that cannot be read or parsed is left
+   * to the process context that will report the failure.
+   */
+  private void parse() {
+    ArrayList<Callable<TemplateModel<?>>> tasks = new ArrayList<Callable<TemplateModel<?>>>();
+    for (TemplateMetaModel template : templates.values()) {
+      if (template.templateModel == null) {
+        final Path.Absolute path = template.getPath();
+        FileObject resource = application.resolveResource(path);
+        if (resource != null) {
+          try {
+            final byte[] bytes = Tools.bytes(resource.openInputStream());
+            final long lastModified = resource.getLastModified();
+            tasks.add(new Callable<TemplateModel<?>>() {
+              public TemplateModel<?> call() {
+                try {
+                  return parse(resolveTemplateProvider(path.getExt()), path, lastModified, bytes);
+                }
+                catch (Exception e) {
+                  // The template is parsed again by the process context that reports the failure
+                  log.info("Could not parse template " + path + " in parallel", e);
+                  return null;
+                }
+                catch (TokenMgrError e) {
+                  // The lexical errors of the template are reported the same way
+                  log.info("Could not parse template " + path + " in parallel", e);
+                  return null;
+                }
+              }
+            });
+          }
+          catch (IOException ignore) {
+          }
+        }
+      }
+    }
+    if (tasks.size() > 1) {
+      log.info("Parsing " + tasks.size() + " templates");
+      try {
+        for (TemplateModel<?> templateModel : Tools.invokeAll(tasks)) {
+          if (templateModel != null) {
+            parsed.put(templateModel.getPath(), templateModel);
+          }
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      catch (ExecutionException e) {
+        log.info("Could not parse templates in parallel", e.getCause());
+      }
+    }
+  }
+
+  private static <M extends Serializable> TemplateModel<M> parse(TemplateProvider<M> provider, Path.Absolute path, long lastModified, byte[] bytes) {
+    try {
+      M templateAST = provider.parse(new ParseContext(), new Resource(bytes, Charset.defaultCharset()).getCharSequence());
+      return new TemplateModel<M>(templateAST, path, lastModified, Tools.md5(bytes));
+    }
+    catch (TemplateException e) {
+      return null;
+    }
+  }
+
   void resolve() {
+    parsed = new HashMap<Path.Absolute, TemplateModel<?>>();
+    try {
+      resolveTemplates();
+    }
+    finally {
+      parsed = null;
+    }
+  }
+
+  private void resolveTemplates() {
+    parse();
+
     //
     for (final TemplateMetaModel template : new ArrayList<TemplateMetaModel>(templates.values())) {
       if (template.templateModel == null) {
@@ -160,10 +279,7 @@ public abstract class AbstractContainerMetaModel extends MetaModelObject impleme
 
   void emit() {
     // Generate missing files from template
-    for (TemplateMetaModel template : templates.values()) {
-      Element[] elements = getElements(template);
-      emitter.emit(template, elements);
-    }
+    emitter.emit(templates.values());
   }
 
   protected abstract Element[] getElements(TemplateMetaModel template);
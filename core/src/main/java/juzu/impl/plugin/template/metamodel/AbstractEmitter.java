@@ -21,6 +21,7 @@ import juzu.impl.compiler.BaseProcessor;
 import juzu.impl.template.spi.EmitContext;
 import juzu.impl.template.spi.TemplateProvider;
 import juzu.impl.common.Logger;
+import juzu.impl.common.Name;
 import juzu.impl.common.Path;
 import juzu.impl.common.Tools;
 import juzu.template.TagHandler;
@@ -29,17 +30,35 @@ import javax.lang.model.element.Element;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.Writer;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The template emitter.
+ * The template emitter. The emission of a template is kept across compilations and reused when the template content
+ * is unchanged, the templates that must be emitted are emitted in parallel. The emit context queries are answered
+ * on the processing thread as the processing environment is not thread safe.
+ *
+ * The emissions hold the template bytecode, they are stored in a resource per template instead of the meta model
+ * state, so the state does not grow with the templates and only the emitted templates are written.
  *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  */
@@ -48,6 +67,15 @@ abstract class AbstractEmitter implements Serializable {
   /** . */
   private static final Logger log = BaseProcessor.getLogger(AbstractEmitter.class);
 
+  /** The package of the emission resources. */
+  private static final Name EMISSIONS = Name.parse("juzu.emissions");
+
+  /** . */
+  private static final Runnable NOOP = new Runnable() {
+    public void run() {
+    }
+  };
+
   /** . */
   final AbstractContainerMetaModel owner;
 
@@ -69,65 +97,283 @@ abstract class AbstractEmitter implements Serializable {
     classCache.clear();
   }
 
-  void emit(TemplateMetaModel template, Element[] elements) {
-    TemplateProvider<?> provider = owner.resolveTemplateProvider(template.getPath().getExt());
-    resolvedQualified(provider, template, elements);
-    emitScript(template, provider, elements);
-  }
+  void emit(Collection<TemplateMetaModel> templates) {
 
-  private void emitScript(final TemplateMetaModel template, final TemplateProvider provider, final Element[] elements) {
-    owner.application.getProcessingContext().executeWithin(elements[0], new Callable<Void>() {
-      public Void call() throws Exception {
+    // Answers the queries of the providers
+    EmitContext queries = new QueryContext(null);
 
-        //
-        Path.Absolute path = template.getPath();
+    //
+    ArrayList<TemplateMetaModel> emitting = new ArrayList<TemplateMetaModel>();
+    ArrayList<Element[]> emittingElements = new ArrayList<Element[]>();
+    for (TemplateMetaModel template : templates) {
+      TemplateProvider<?> provider = owner.resolveTemplateProvider(template.getPath().getExt());
+      Element[] elements = owner.getElements(template);
+      resolvedQualified(provider, template, elements);
+      Path.Absolute path = template.getPath();
+      if (emitted.contains(path)) {
+        log.info("Template " + path + " was found in cache");
+      } else {
+        Emission emission = load(path);
+        if (emission != null && emission.isValid(template.templateModel.getMD5(), queries)) {
+          log.info("Template " + path + " is unchanged");
+          write(template, elements, emission, false);
+        } else {
+          emitting.add(template);
+          emittingElements.add(elements);
+        }
+      }
+    }
 
-        // If it's the cache we do nothing
-        if (!emitted.contains(path)) {
-          //
-          try {
-            EmitContext emitCtx = new EmitContext() {
+    //
+    if (emitting.size() > 0) {
+      List<Object> results = emit(emitting);
+      for (int i = 0;i < results.size();i++) {
+        write(emitting.get(i), emittingElements.get(i), results.get(i), true);
+      }
+    }
+  }
 
-              @Override
-              public TagHandler resolveTagHandler(String name) {
-                return owner.resolveTagHandler(name);
+  /**
+   * Emit templates, the emissions are emitted in parallel when there are several of them.
+   *
+   * @param templates the templates
+   * @return the emission or the failure of each template
+   */
+  private List<Object> emit(List<TemplateMetaModel> templates) {
+    ArrayList<Object> results = new ArrayList<Object>(templates.size());
+    int threads = Math.min(templates.size(), Runtime.getRuntime().availableProcessors());
+    if (threads < 2) {
+      EmitContext context = new QueryContext(null);
+      for (TemplateMetaModel template : templates) {
+        try {
+          results.add(emit(template, context));
+        }
+        catch (Exception e) {
+          results.add(e);
+        }
+      }
+    } else {
+      log.info("Emitting " + templates.size() + " templates with " + threads + " threads");
+      final LinkedBlockingQueue<Runnable> queue = new LinkedBlockingQueue<Runnable>();
+      final EmitContext context = new QueryContext(queue);
+      final AtomicInteger pending = new AtomicInteger(templates.size());
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        ArrayList<Future<Emission>> futures = new ArrayList<Future<Emission>>(templates.size());
+        for (final TemplateMetaModel template : templates) {
+          futures.add(executor.submit(new Callable<Emission>() {
+            public Emission call() throws Exception {
+              try {
+                return emit(template, context);
               }
-
-              @Override
-              public void createResource(Path.Absolute path, CharSequence content) throws IOException {
-                FileKey key = FileKey.newName(path);
-                FileObject scriptFile = owner.application.getProcessingContext().createResource(StandardLocation.CLASS_OUTPUT, key, elements);
-                Writer writer = null;
-                try {
-                  writer = scriptFile.openWriter();
-                  writer.append(content);
-                  log.info("Generated template script " + path.getCanonical() + " as " + scriptFile.toUri() +
-                      " with originating elements " + Arrays.asList(elements));
-                }
-                finally {
-                  Tools.safeClose(writer);
+              finally {
+                if (pending.decrementAndGet() == 0) {
+                  queue.add(NOOP);
                 }
               }
-            };
+            }
+          }));
+        }
 
-            //
-            provider.emit(emitCtx, template.templateModel);
+        // Answer the queries until all templates are emitted
+        while (pending.get() > 0 || !queue.isEmpty()) {
+          queue.take().run();
+        }
 
-            // Put it in cache
-            emitted.add(path);
+        //
+        for (Future<Emission> future : futures) {
+          try {
+            results.add(future.get());
           }
-          catch (Exception e) {
-            throw TemplateMetaModel.CANNOT_WRITE_TEMPLATE_SCRIPT.failure(e, template.getPath());
+          catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            results.add(cause instanceof Exception ? cause : new UndeclaredThrowableException(cause));
           }
         }
-        else {
-          log.info("Template " + template.getPath() + " was found in cache");
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new UndeclaredThrowableException(e);
+      }
+      finally {
+        executor.shutdownNow();
+      }
+    }
+    return results;
+  }
+
+  private Emission emit(TemplateMetaModel template, EmitContext context) throws Exception {
+    TemplateProvider provider = owner.resolveTemplateProvider(template.getPath().getExt());
+    Emission emission = new Emission(template.templateModel.getMD5());
+    provider.emit(emission.record(context), template.templateModel);
+    return emission;
+  }
+
+  /**
+   * Answers a query, the query is executed by the current thread when the queue is null, otherwise it is added
+   * to the queue and the current thread waits for its answer.
+   *
+   * @param queue the queue or null
+   * @param callable the query
+   * @return the answer
+   */
+  private static <T> T call(BlockingQueue<Runnable> queue, Callable<T> callable) {
+    FutureTask<T> task = new FutureTask<T>(callable);
+    if (queue != null) {
+      queue.add(task);
+    } else {
+      task.run();
+    }
+    try {
+      return task.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UndeclaredThrowableException(e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      } else if (cause instanceof Error) {
+        throw (Error)cause;
+      } else {
+        throw new UndeclaredThrowableException(cause);
+      }
+    }
+  }
+
+  /**
+   * The context answering the queries of the providers, the artifacts are created by replaying the recorded
+   * {@link Emission} instead. When a queue is provided, the queries are answered by the thread running the
+   * queue as the processing environment is not thread safe.
+   */
+  private class QueryContext extends EmitContext {
+
+    /** . */
+    private final BlockingQueue<Runnable> queue;
+
+    private QueryContext(BlockingQueue<Runnable> queue) {
+      this.queue = queue;
+    }
+
+    @Override
+    public void createResource(Path.Absolute path, CharSequence content) {
+      throw new UnsupportedOperationException("Cannot create resource " + path + " from a query context");
+    }
+
+    @Override
+    public void createClass(Name name, byte[] bytecode) {
+      throw new UnsupportedOperationException("Cannot create class " + name + " from a query context");
+    }
+
+    @Override
+    public TagHandler resolveTagHandler(final String name) {
+      return call(queue, new Callable<TagHandler>() {
+        public TagHandler call() throws Exception {
+          return owner.resolveTagHandler(name);
+        }
+      });
+    }
+
+    @Override
+    public boolean isType(final String name) {
+      return call(queue, new Callable<Boolean>() {
+        public Boolean call() throws Exception {
+          return owner.application.getProcessingContext().getTypeElement(name) != null;
+        }
+      });
+    }
+  }
+
+  /**
+   * Write the artifacts of the emission of a template.
+   *
+   * @param template the template
+   * @param elements the originating elements
+   * @param result the emission or the failure of the emission
+   * @param store true when the emission must be stored for the next compilations
+   */
+  private void write(final TemplateMetaModel template, final Element[] elements, final Object result, final boolean store) {
+    owner.application.getProcessingContext().executeWithin(elements[0], new Callable<Void>() {
+      public Void call() throws Exception {
+        try {
+          if (result instanceof Exception) {
+            throw (Exception)result;
+          }
+          Emission emission = (Emission)result;
+          emission.replay(new EmitContext() {
+
+            @Override
+            public void createResource(Path.Absolute path, CharSequence content) throws IOException {
+              FileKey key = FileKey.newName(path);
+              FileObject scriptFile = owner.application.getProcessingContext().createResource(StandardLocation.CLASS_OUTPUT, key, elements);
+              Writer writer = null;
+              try {
+                writer = scriptFile.openWriter();
+                writer.append(content);
+                log.info("Generated template script " + path.getCanonical() + " as " + scriptFile.toUri() +
+                    " with originating elements " + Arrays.asList(elements));
+              }
+              finally {
+                Tools.safeClose(writer);
+              }
+            }
+
+            @Override
+            public void createClass(Name name, byte[] bytecode) throws IOException {
+              FileObject classFile = owner.application.getProcessingContext().createClassFile(name, elements);
+              OutputStream out = null;
+              try {
+                out = classFile.openOutputStream();
+                out.write(bytecode);
+                log.info("Generated template class " + name + " as " + classFile.toUri() +
+                    " with originating elements " + Arrays.asList(elements));
+              }
+              finally {
+                Tools.safeClose(out);
+              }
+            }
+          });
+
+          // Keep it for the next compilations
+          if (store) {
+            store(template.getPath(), emission, elements);
+          }
+          emitted.add(template.getPath());
+        }
+        catch (Exception e) {
+          throw TemplateMetaModel.CANNOT_WRITE_TEMPLATE_SCRIPT.failure(e, template.getPath());
         }
         return null;
       }
     });
   }
 
+  /**
+   * Load the emission of a template stored by a previous compilation.
+   *
+   * @param path the template path
+   * @return the emission or null when it cannot be loaded
+   */
+  private Emission load(Path.Absolute path) {
+    FileObject file = owner.application.getProcessingContext().getResource(StandardLocation.SOURCE_OUTPUT, EMISSIONS.append(path.getDirs()), path.getSimpleName() + ".ser");
+    if (file != null) {
+      try {
+        return Tools.unserialize(Emission.class, file.openInputStream());
+      }
+      catch (Exception e) {
+        log.info("Could not load the emission of template " + path, e);
+      }
+    }
+    return null;
+  }
+
+  private void store(Path.Absolute path, Emission emission, Element[] elements) throws IOException {
+    FileObject file = owner.application.getProcessingContext().createResource(StandardLocation.SOURCE_OUTPUT, EMISSIONS.append(path.getDirs()), path.getSimpleName() + ".ser", elements);
+    Tools.serialize(emission, file.openOutputStream());
+  }
+
   protected abstract void emitClass(
       TemplateProvider<?> provider,
       TemplateMetaModel template,
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.template.metamodel;
+
+import juzu.impl.common.Name;
+import juzu.impl.common.Path;
+import juzu.impl.template.spi.EmitContext;
+import juzu.template.TagHandler;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The emission of a template: the artifacts created by the template provider and the answers to the queries the
+ * provider made to the emit context. An emission is reused when the template content is unchanged and the queries
+ * still have the same answers.
+ *
+ * @author Julien Viet
+ */
+class Emission implements Serializable {
+
+  /** The template content hash. */
+  final long md5;
+
+  /** . */
+  final LinkedHashMap<Path.Absolute, String> resources;
+
+  /** . */
+  final LinkedHashMap<Name, byte[]> classes;
+
+  /** The type queries. */
+  final HashMap<String, Boolean> types;
+
+  /** The tag queries, a tag resolves to the class name of its handler or null. */
+  final HashMap<String, String> tags;
+
+  Emission(long md5) {
+    this.md5 = md5;
+    this.resources = new LinkedHashMap<Path.Absolute, String>();
+    this.classes = new LinkedHashMap<Name, byte[]>();
+    this.types = new HashMap<String, Boolean>();
+    this.tags = new HashMap<String, String>();
+  }
+
+  /**
+   * Returns true when this emission can be reused for a template.
+   *
+   * @param md5 the template content hash
+   * @param context the context answering the queries
+   * @return true when the emission can be reused
+   */
+  boolean isValid(long md5, EmitContext context) {
+    if (this.md5 != md5) {
+      return false;
+    }
+    for (Map.Entry<String, Boolean> type : types.entrySet()) {
+      if (context.isType(type.getKey()) != type.getValue()) {
+        return false;
+      }
+    }
+    for (Map.Entry<String, String> tag : tags.entrySet()) {
+      TagHandler handler = context.resolveTagHandler(tag.getKey());
+      String className = handler != null ? handler.getClassName() : null;
+      if (className == null ? tag.getValue() != null : !className.equals(tag.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Create the artifacts of this emission.
+   *
+   * @param context the context creating the artifacts
+   * @throws IOException any io exception
+   */
+  void replay(EmitContext context) throws IOException {
+    for (Map.Entry<Path.Absolute, String> resource : resources.entrySet()) {
+      context.createResource(resource.getKey(), resource.getValue());
+    }
+    for (Map.Entry<Name, byte[]> clazz : classes.entrySet()) {
+      context.createClass(clazz.getKey(), clazz.getValue());
+    }
+  }
+
+  /**
+   * Returns a context recording the artifacts created and the queries made to the specified context.
+   *
+   * @param context the context answering the queries
+   * @return the recording context
+   */
+  EmitContext record(final EmitContext context) {
+    return new EmitContext() {
+      @Override
+      public void createResource(Path.Absolute path, CharSequence content) {
+        resources.put(path, content.toString());
+      }
+      @Override
+      public void createClass(Name name, byte[] bytecode) {
+        classes.put(name, bytecode);
+      }
+      @Override
+      public boolean isType(String name) {
+        boolean type = context.isType(name);
+        types.put(name, type);
+        return type;
+      }
+      @Override
+      public TagHandler resolveTagHandler(String name) {
+        TagHandler handler = context.resolveTagHandler(name);
+        tags.put(name, handler != null ? handler.getClassName() : null);
+        return handler;
+      }
+    };
+  }
+}
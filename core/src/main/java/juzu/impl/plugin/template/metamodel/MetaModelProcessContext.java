@@ -108,11 +108,13 @@ class MetaModelProcessContext extends ProcessContext {
     if (template instanceof TemplateMetaModel) {
       TemplateMetaModel tmm = (TemplateMetaModel)template;
       if (tmm.templateModel == null) {
-        Timestamped<Resource> resource = resolveResource(path);
-        if (resource == null) {
-          throw TemplateMetaModel.TEMPLATE_NOT_RESOLVED.failure(path);
-        } else {
-          TemplateProvider<M> provider = (TemplateProvider<M>)owner.resolveTemplateProvider(path.getExt());
+        TemplateProvider<M> provider = (TemplateProvider<M>)owner.resolveTemplateProvider(path.getExt());
+        TemplateModel<M> templateModel = owner.parsed != null ? (TemplateModel<M>)owner.parsed.remove(path) : null;
+        if (templateModel == null) {
+          Timestamped<Resource> resource = resolveResource(path);
+          if (resource == null) {
+            throw TemplateMetaModel.TEMPLATE_NOT_RESOLVED.failure(path);
+          }
           M templateAST;
           try {
             templateAST = provider.parse(new ParseContext(), resource.getObject().getCharSequence());
@@ -120,18 +122,18 @@ class MetaModelProcessContext extends ProcessContext {
           catch (TemplateException e1) {
             throw TemplateMetaModel.TEMPLATE_SYNTAX_ERROR.failure(path).initCause(e1);
           }
-          TemplateModel<M> templateModel =  new TemplateModel<M>(
+          templateModel =  new TemplateModel<M>(
               templateAST,
               path,
               resource.getTime(),
               Tools.md5(resource.getObject().getBytes()));
-          tmm.templateModel = templateModel;
-          try {
-            provider.process(new MetaModelProcessContext(owner, tmm), templateModel);
-          }
-          catch (TemplateException e) {
-            throw TemplateMetaModel.TEMPLATE_VALIDATION_ERROR.failure(path);
-          }
+        }
+        tmm.templateModel = templateModel;
+        try {
+          provider.process(new MetaModelProcessContext(owner, tmm), templateModel);
+        }
+        catch (TemplateException e) {
+          throw TemplateMetaModel.TEMPLATE_VALIDATION_ERROR.failure(path);
         }
       }
     }
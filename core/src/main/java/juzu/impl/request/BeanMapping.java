@@ -0,0 +1,309 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.request;
+
+import juzu.impl.common.AbstractAnnotatedElement;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.value.ValueType;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mapping of a bean class to request parameters computed once: the setters and fields that bind a parameter
+ * and the fields and getters that render it, each with its resolved value type.
+ *
+ * @author Julien Viet
+ */
+final class BeanMapping {
+
+  /** . */
+  final ControllerService plugin;
+
+  /** Property name -> writers, the first writer producing a value wins. */
+  private final Map<String, Accessor[]> writers;
+
+  /** . */
+  private final Accessor[] readers;
+
+  BeanMapping(ControllerService plugin, Class<?> type) {
+
+    // Setters first then fields, as a setter has precedence over a field
+    LinkedHashMap<String, List<Accessor>> writers = new LinkedHashMap<String, List<Accessor>>();
+    for (Method method : type.getMethods()) {
+      String name = method.getName();
+      int modifiers = method.getModifiers();
+      if (name.startsWith("set") && name.length() > 3 && Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)) {
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        if (parameterTypes.length == 1) {
+          Converter converter = Converter.create(plugin, parameterTypes[0]);
+          if (converter != null) {
+            Accessor writer = new Accessor(method, AbstractAnnotatedElement.wrap(method.getParameterAnnotations()[0]), converter);
+            // The parameters whose name with an upper case first char gives the setter name
+            String suffix = name.substring(3);
+            char c = suffix.charAt(0);
+            if (Character.toUpperCase(c) == c) {
+              add(writers, suffix, writer);
+              char lower = Character.toLowerCase(c);
+              if (lower != c) {
+                add(writers, lower + suffix.substring(1), writer);
+              }
+            }
+          }
+        }
+      }
+    }
+    ArrayList<Accessor> readers = new ArrayList<Accessor>();
+    for (Field field : type.getFields()) {
+      Converter converter = Converter.create(plugin, field.getGenericType());
+      if (converter != null) {
+        Accessor accessor = new Accessor(field, field, converter);
+        add(writers, field.getName(), accessor);
+        readers.add(accessor);
+      }
+    }
+    for (Method method : type.getMethods()) {
+      String name = method.getName();
+      int modifiers = method.getModifiers();
+      if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && name.startsWith("get") && name.length() > 3 && method.getParameterTypes().length == 0) {
+        Converter converter = Converter.create(plugin, method.getGenericReturnType());
+        if (converter != null) {
+          readers.add(new Accessor(method, method, converter));
+        }
+      }
+    }
+
+    //
+    HashMap<String, Accessor[]> writerMap = new HashMap<String, Accessor[]>(writers.size() * 4 / 3 + 1);
+    for (Map.Entry<String, List<Accessor>> entry : writers.entrySet()) {
+      writerMap.put(entry.getKey(), entry.getValue().toArray(new Accessor[entry.getValue().size()]));
+    }
+
+    //
+    this.plugin = plugin;
+    this.writers = writerMap;
+    this.readers = readers.toArray(new Accessor[readers.size()]);
+  }
+
+  private static void add(Map<String, List<Accessor>> map, String name, Accessor accessor) {
+    List<Accessor> list = map.get(name);
+    if (list == null) {
+      map.put(name, list = new ArrayList<Accessor>(1));
+    }
+    list.add(accessor);
+  }
+
+  /**
+   * Set a property of a bean.
+   *
+   * @param bean the bean
+   * @param name the property name
+   * @param value the property value
+   * @throws Exception any exception
+   */
+  void set(Object bean, String name, String[] value) throws Exception {
+    Accessor[] accessors = writers.get(name);
+    if (accessors != null) {
+      for (Accessor accessor : accessors) {
+        Object o = accessor.converter.parse(accessor.annotations, value);
+        if (o != null) {
+          accessor.set(bean, o);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Render the properties of a bean, the fields first then the getters. The properties rendered before a failure
+   * remain in the parameters.
+   *
+   * @param bean the bean
+   * @param prefix the optional prefix of the parameter names
+   * @param parameters the parameters
+   * @throws Exception any exception
+   */
+  void get(Object bean, String prefix, Map<String, String[]> parameters) throws Exception {
+    for (Accessor reader : readers) {
+      Object v = reader.get(bean);
+      if (v != null) {
+        String[] value = reader.converter.format(reader.annotations, v);
+        if (value != null) {
+          parameters.put(prefix != null ? prefix + reader.name : reader.name, value);
+        }
+      }
+    }
+  }
+
+  /**
+   * A field or a method.
+   */
+  private static final class Accessor {
+
+    /** . */
+    final String name;
+
+    /** . */
+    final Field field;
+
+    /** . */
+    final Method method;
+
+    /** . */
+    final AnnotatedElement annotations;
+
+    /** . */
+    final Converter converter;
+
+    private Accessor(Member member, AnnotatedElement annotations, Converter converter) {
+      String name = member.getName();
+      if (member instanceof Method) {
+        name = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+      }
+
+      //
+      this.name = name;
+      this.field = member instanceof Field ? (Field)member : null;
+      this.method = member instanceof Method ? (Method)member : null;
+      this.annotations = annotations;
+      this.converter = converter;
+    }
+
+    void set(Object bean, Object value) throws Exception {
+      if (field != null) {
+        field.set(bean, value);
+      } else {
+        method.invoke(bean, value);
+      }
+    }
+
+    Object get(Object bean) throws Exception {
+      if (field != null) {
+        return field.get(bean);
+      } else {
+        return method.invoke(bean);
+      }
+    }
+  }
+
+  /**
+   * Converts a single value, an array or a list with a value type.
+   */
+  private static final class Converter {
+
+    static Converter create(ControllerService plugin, Type type) {
+      if (type instanceof Class<?>) {
+        Class<?> clazz = (Class<?>)type;
+        if (clazz.isArray()) {
+          Class<?> componentType = clazz.getComponentType();
+          ValueType<?> valueType = plugin.resolveValueType(componentType);
+          return valueType != null ? new Converter(valueType, ARRAY, componentType) : null;
+        } else {
+          ValueType<?> valueType = plugin.resolveValueType(clazz);
+          return valueType != null ? new Converter(valueType, SINGLE, clazz) : null;
+        }
+      } else if (type instanceof ParameterizedType) {
+        ParameterizedType parameterizedType = (ParameterizedType)type;
+        if (List.class.equals(parameterizedType.getRawType())) {
+          Type typeArg = parameterizedType.getActualTypeArguments()[0];
+          if (typeArg instanceof Class) {
+            ValueType<?> valueType = plugin.resolveValueType((Class<?>)typeArg);
+            return valueType != null ? new Converter(valueType, LIST, (Class<?>)typeArg) : null;
+          }
+        }
+      }
+      return null;
+    }
+
+    /** . */
+    private static final int SINGLE = 0, ARRAY = 1, LIST = 2;
+
+    /** . */
+    private final ValueType valueType;
+
+    /** . */
+    private final int kind;
+
+    /** . */
+    private final Class<?> elementType;
+
+    private Converter(ValueType<?> valueType, int kind, Class<?> elementType) {
+      this.valueType = valueType;
+      this.kind = kind;
+      this.elementType = elementType;
+    }
+
+    Object parse(AnnotatedElement annotations, String[] value) throws Exception {
+      switch (kind) {
+        case SINGLE:
+          return valueType.parse(annotations, value[0]);
+        case ARRAY:
+          Object array = Array.newInstance(elementType, value.length);
+          for (int i = 0;i < value.length;i++) {
+            Array.set(array, i, valueType.parse(annotations, value[i]));
+          }
+          return array;
+        default:
+          ArrayList<Object> list = new ArrayList<Object>(value.length);
+          for (String s : value) {
+            list.add(valueType.parse(annotations, s));
+          }
+          return list;
+      }
+    }
+
+    String[] format(AnnotatedElement annotations, Object value) {
+      switch (kind) {
+        case SINGLE:
+          return new String[]{valueType.format(annotations, value)};
+        case ARRAY: {
+          int length = Array.getLength(value);
+          if (length == 0) {
+            return null;
+          }
+          String[] ret = new String[length];
+          for (int i = 0;i < length;i++) {
+            ret[i] = valueType.format(annotations, Array.get(value, i));
+          }
+          return ret;
+        }
+        default: {
+          List<?> list = (List<?>)value;
+          int size = list.size();
+          if (size == 0) {
+            return null;
+          }
+          String[] ret = new String[size];
+          for (int i = 0;i < size;i++) {
+            ret[i] = valueType.format(annotations, list.get(i));
+          }
+          return ret;
+        }
+      }
+    }
+  }
+}
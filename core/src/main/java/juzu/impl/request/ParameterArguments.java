@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.request;
+
+import juzu.request.RequestParameter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parameter arguments of a request. The request arguments of the bridge are used as is until the arguments
+ * are modified, for instance by an entity unmarshaller, they are copied once when it happens.
+ *
+ * @author Julien Viet
+ */
+final class ParameterArguments extends AbstractMap<String, RequestParameter> {
+
+  /** . */
+  private Map<String, RequestParameter> arguments = Collections.emptyMap();
+
+  /** True when the arguments are a copy owned by this map. */
+  private boolean copied = false;
+
+  /**
+   * Add the specified arguments, they are not copied when this map is empty.
+   *
+   * @param added the added arguments
+   */
+  void addAll(Map<String, RequestParameter> added) {
+    if (arguments.isEmpty() && !copied) {
+      arguments = added;
+    } else if (added.size() > 0) {
+      writable().putAll(added);
+    }
+  }
+
+  private Map<String, RequestParameter> writable() {
+    if (!copied) {
+      arguments = new HashMap<String, RequestParameter>(arguments);
+      copied = true;
+    }
+    return arguments;
+  }
+
+  @Override
+  public RequestParameter get(Object key) {
+    return arguments.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return arguments.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return arguments.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return arguments.isEmpty();
+  }
+
+  @Override
+  public RequestParameter put(String key, RequestParameter value) {
+    return writable().put(key, value);
+  }
+
+  @Override
+  public RequestParameter remove(Object key) {
+    return arguments.containsKey(key) ? writable().remove(key) : null;
+  }
+
+  @Override
+  public void clear() {
+    arguments = Collections.emptyMap();
+    copied = false;
+  }
+
+  @Override
+  public Set<Entry<String, RequestParameter>> entrySet() {
+    return entries;
+  }
+
+  /** . */
+  private final AbstractSet<Entry<String, RequestParameter>> entries = new AbstractSet<Entry<String, RequestParameter>>() {
+
+    @Override
+    public Iterator<Entry<String, RequestParameter>> iterator() {
+      final Iterator<Entry<String, RequestParameter>> i = arguments.entrySet().iterator();
+      if (copied) {
+        return i;
+      }
+
+      // The arguments are not owned, modifications are performed on a copy
+      return new Iterator<Entry<String, RequestParameter>>() {
+
+        /** . */
+        private String last;
+
+        public boolean hasNext() {
+          return i.hasNext();
+        }
+
+        public Entry<String, RequestParameter> next() {
+          final Entry<String, RequestParameter> next = i.next();
+          last = next.getKey();
+          return new SimpleEntry<String, RequestParameter>(next) {
+            @Override
+            public RequestParameter setValue(RequestParameter value) {
+              super.setValue(value);
+              return writable().put(getKey(), value);
+            }
+          };
+        }
+
+        public void remove() {
+          if (last == null) {
+            throw new IllegalStateException();
+          }
+          writable().remove(last);
+          last = null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return arguments.size();
+    }
+  };
+}
@@ -18,6 +18,7 @@ package juzu.impl.request;
 
 import juzu.impl.common.Cardinality;
 import juzu.impl.common.Tools;
+import juzu.impl.value.ValueType;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Array;
@@ -35,6 +36,9 @@ public class PhaseParameter<V> extends ControlParameter {
   /** . */
   private final Class<V> valueType;
 
+  /** The value type resolved when the application starts. */
+  private ValueType<V> resolvedValueType;
+
   public PhaseParameter(
       String name,
       Class<?> type,
@@ -91,6 +95,19 @@ public class PhaseParameter<V> extends ControlParameter {
     return valueType;
   }
 
+  /**
+   * Returns the value type converting the parameter values, it is resolved once when the application starts.
+   *
+   * @return the value type or null when the value type cannot be converted
+   */
+  public ValueType<V> getResolvedValueType() {
+    return resolvedValueType;
+  }
+
+  public void setResolvedValueType(ValueType<V> resolvedValueType) {
+    this.resolvedValueType = resolvedValueType;
+  }
+
   public Object getValue(List<V> values) {
     switch (cardinality) {
       case SINGLE:
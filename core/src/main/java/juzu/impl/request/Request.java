@@ -25,6 +25,7 @@ import juzu.impl.bridge.spi.ScopedContext;
 import juzu.impl.common.RunMode;
 import juzu.impl.inject.ScopeController;
 import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 import juzu.impl.inject.ScopingContext;
 import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.bridge.spi.RequestBridge;
@@ -83,7 +84,7 @@ public class Request implements ScopingContext {
   final ControllerHandler<?> handler;
 
   /** . */
-  private Map<String, RequestParameter> parameterArguments;
+  final ParameterArguments parameterArguments;
 
   /** . */
   private Map<ContextualParameter, Object> contextualArguments;
@@ -97,7 +98,7 @@ public class Request implements ScopingContext {
     this.bridge = bridge;
     this.controllerPlugin = controllerPlugin;
     this.handler = handler;
-    this.parameterArguments = new HashMap<String, RequestParameter>();
+    this.parameterArguments = new ParameterArguments();
     this.contextualArguments = new HashMap<ContextualParameter, Object>();
   }
 
@@ -170,6 +171,10 @@ public class Request implements ScopingContext {
     }
   }
 
+  public final Scoped getOrCreateContextualValue(Scope scope, Object key, ScopedFactory factory) {
+    return bridge.getScopedContext(scope, true).getOrCreate(key, factory);
+  }
+
   public boolean isActive(Scope scope) {
     return true;
   }
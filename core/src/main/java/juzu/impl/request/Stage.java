@@ -109,8 +109,8 @@ public abstract class Stage {
     protected Response response() {
 
       //
-      Map<String, RequestParameter> parameterArguments = request.getParameterArguments();
-      parameterArguments.putAll(request.bridge.getRequestArguments());
+      ParameterArguments parameterArguments = request.parameterArguments;
+      parameterArguments.addAll(request.bridge.getRequestArguments());
 
       //
       Map<ContextualParameter,Object> contextualArguments = request.getContextualArguments();
@@ -190,7 +190,7 @@ public abstract class Stage {
             PhaseParameter phaseParam = (PhaseParameter)parameter;
             RequestParameter requestParam = request.getParameterArguments().get(phaseParam.getMappedName());
             if (requestParam != null) {
-              ValueType<?> valueType = request.controllerPlugin.resolveValueType(phaseParam.getValueType());
+              ValueType<?> valueType = phaseParam.getResolvedValueType();
               if (valueType != null) {
                 List values = new ArrayList(requestParam.size());
                 for (String s : requestParam) {
@@ -30,10 +30,13 @@ import juzu.impl.common.Logger;
 import juzu.impl.plugin.application.Application;
 import juzu.impl.plugin.application.descriptor.ApplicationDescriptor;
 import juzu.impl.plugin.asset.AssetService;
+import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.resource.ResourceResolver;
 
 import java.io.Closeable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The application life cycle.
@@ -42,6 +45,20 @@ import java.lang.reflect.InvocationTargetException;
  */
 public class ApplicationRuntime<P, R> implements Closeable {
 
+  /**
+   * Prepares a started deployment before it is published.
+   */
+  public interface Preparation {
+
+    /**
+     * Prepare the deployment, the deployment does not serve requests yet.
+     *
+     * @param deployment the started deployment
+     */
+    void prepare(Deployment deployment);
+
+  }
+
   /** Configuration: name. */
   private final Name name;
 
@@ -60,20 +77,11 @@ public class ApplicationRuntime<P, R> implements Closeable {
   /** Contextual: module. */
   private final ModuleRuntime<?> moduleLifeCycle;
 
-  /** . */
-  private ApplicationDescriptor descriptor;
-
-  /** . */
-  private AssetManager assetManager;
-
-  /** . */
-  private InjectionContext<?, ?> injectionContext;
-
-  /** . */
-  private Application application;
+  /** The current deployment. */
+  private final AtomicReference<Started> current;
 
-  /** The last used class loader : used for checking refresh. */
-  private ClassLoader classLoader;
+  /** Serializes the deployments. */
+  private final ReentrantLock lock;
 
   /** . */
   private final RunMode runMode;
@@ -95,6 +103,8 @@ public class ApplicationRuntime<P, R> implements Closeable {
     this.assetServer = assetServer;
     this.resourceResolver = resourceResolver;
     this.runMode = runMode;
+    this.current = new AtomicReference<Started>();
+    this.lock = new ReentrantLock();
   }
 
   public Name getName() {
@@ -102,105 +112,218 @@ public class ApplicationRuntime<P, R> implements Closeable {
   }
 
   public Application getApplication() {
-    return application != null ? application : null;
+    Started deployment = current.get();
+    return deployment != null ? deployment.getApplication() : null;
   }
 
   public AssetManager getAssetManager() {
-    return assetManager;
+    Started deployment = current.get();
+    return deployment != null ? deployment.assetManager : null;
   }
 
   public ApplicationDescriptor getDescriptor() {
-    return descriptor;
+    Started deployment = current.get();
+    return deployment != null ? deployment.descriptor : null;
   }
 
   public <T> T resolveBean(Class<T> beanType) {
-    return injectionContext.resolveInstance(beanType);
+    return current.get().injectionContext.resolveInstance(beanType);
   }
 
   public <T> Iterable<T> resolveBeans(final Class<T> beanType) {
-    return injectionContext.resolveInstances(beanType);
+    return current.get().injectionContext.resolveInstances(beanType);
+  }
+
+  /**
+   * Returns the current deployment without acquiring it.
+   *
+   * @return the current deployment or null
+   */
+  public Deployment getDeployment() {
+    return current.get();
   }
 
-  public synchronized Completion<Boolean> refresh() {
-    if (application != null) {
-      if (classLoader != moduleLifeCycle.getClassLoader()) {
-        stop();
+  /**
+   * Acquire the current deployment for serving a request, the returned deployment must be closed when the request
+   * ends. A deployment replaced by a refresh is stopped once the last request it serves ends.
+   *
+   * @return the acquired deployment or null when there is no deployment
+   */
+  public Deployment acquire() {
+    while (true) {
+      Started deployment = current.get();
+      if (deployment == null || deployment.acquire()) {
+        return deployment;
       }
     }
+  }
 
-    //
-    if (application == null) {
+  /**
+   * Refresh the application when the module class loader changed. The new application is started while the
+   * current application keeps serving requests, it is then published and the previous application is closed
+   * once its requests are served.
+   *
+   * @return the refresh completion
+   */
+  public Completion<Boolean> refresh() {
+    return refresh(null);
+  }
+
+  /**
+   * Refresh the application when the module class loader changed, the new application is prepared before
+   * it is published.
+   *
+   * @param preparation the preparation of the new application or null
+   * @return the refresh completion
+   */
+  public Completion<Boolean> refresh(Preparation preparation) {
+    Started deployment = current.get();
+    if (deployment != null && deployment.classLoader == moduleLifeCycle.getClassLoader()) {
+      return Completion.completed(false);
+    }
+    lock.lock();
+    try {
+      deployment = current.get();
+      ClassLoader classLoader = moduleLifeCycle.getClassLoader();
+      if (deployment != null && deployment.classLoader == classLoader) {
+        return Completion.completed(false);
+      }
+      Started next;
       try {
-        start();
-        return Completion.completed(true);
+        next = start(classLoader);
       }
       catch (Exception e) {
         return Completion.failed(e);
       }
-    } else {
-      return Completion.completed(false);
+      if (preparation != null) {
+        try {
+          preparation.prepare(next);
+        }
+        catch (RuntimeException e) {
+          retire(next);
+          return Completion.failed(e);
+        }
+      }
+      current.set(next);
+      if (deployment != null) {
+        retire(deployment);
+      }
+      return Completion.completed(true);
+    }
+    finally {
+      lock.unlock();
     }
   }
 
-  protected final void start() throws Exception {
+  private Started start(ClassLoader classLoader) throws Exception {
+    long begin = System.currentTimeMillis();
     ReadFileSystem<?> classes = moduleLifeCycle.getClasses();
 
     //
-    ApplicationDescriptor descriptor = ApplicationDescriptor.create(moduleLifeCycle.getClassLoader(), name.toString());
+    ApplicationDescriptor descriptor = ApplicationDescriptor.create(classLoader, name.toString());
 
     //
     Injector injector = injectorProvider.get();
     injector.addFileSystem(classes);
-    injector.setClassLoader(moduleLifeCycle.getClassLoader());
+    injector.setClassLoader(classLoader);
 
     //
     log.info("Starting " + descriptor.getName());
     Application application = new Application(injector, descriptor, resourceResolver);
+    long described = System.currentTimeMillis();
     application.start();
+    long injected = System.currentTimeMillis();
     InjectionContext<?, ?> injectionContext = application.getInjectionContext();
 
     //
     AssetService assetPlugin = injectionContext.get(AssetService.class).get();
 
-    //
-    if (assetServer != null) {
-
-      assetServer.register(application, runMode.getCacheAssets());
-    }
-
-    //
-    this.injectionContext = injectionContext;
-    this.assetManager = assetPlugin.getAssetManager();
-    this.descriptor = descriptor;
-    this.application = application;
-    this.classLoader = moduleLifeCycle.getClassLoader();
-
     // For application start (perhaps we could remove that)
     BeanLifeCycle lf = injectionContext.get(Application.class);
     try {
       lf.get();
     }
     catch (InvocationTargetException e) {
+      Tools.safeClose(injectionContext);
       throw new UnsupportedOperationException("handle me gracefully", e);
     }
     finally {
       lf.close();
     }
+
+    //
+    Started deployment = new Started(classLoader, descriptor, assetPlugin.getAssetManager(), injectionContext, application);
+
+    //
+    if (assetServer != null) {
+      assetServer.register(application, runMode.getCacheAssets());
+    }
+
+    //
+    long end = System.currentTimeMillis();
+    log.info("Started " + descriptor.getName() + " in " + (end - begin) + "ms (descriptor " + (described - begin) +
+        "ms, services and injector " + (injected - described) + "ms, application " + (end - injected) + "ms)");
+
+    //
+    return deployment;
   }
 
-  void stop() {
+  private void retire(Started deployment) {
     if (assetServer != null) {
-      assetServer.unregister(application);
+      assetServer.unregister(deployment.getApplication());
     }
-    Tools.safeClose(injectionContext);
-    application = null;
-    injectionContext = null;
-    assetManager = null;
-    descriptor = null;
-    classLoader = null;
+    Tools.safeClose(deployment);
   }
 
   public void close() {
-    stop();
+    lock.lock();
+    try {
+      Started deployment = current.getAndSet(null);
+      if (deployment != null) {
+        retire(deployment);
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * A deployment started by this runtime.
+   */
+  private class Started extends Deployment {
+
+    /** . */
+    final ClassLoader classLoader;
+
+    /** . */
+    final ApplicationDescriptor descriptor;
+
+    /** . */
+    final AssetManager assetManager;
+
+    /** . */
+    final InjectionContext<?, ?> injectionContext;
+
+    Started(
+        ClassLoader classLoader,
+        ApplicationDescriptor descriptor,
+        AssetManager assetManager,
+        InjectionContext<?, ?> injectionContext,
+        Application application) {
+      super(application, application.resolveBean(ControllerService.class));
+
+      //
+      this.classLoader = classLoader;
+      this.descriptor = descriptor;
+      this.assetManager = assetManager;
+      this.injectionContext = injectionContext;
+    }
+
+    @Override
+    protected void stop() {
+      log.info("Stopping " + descriptor.getName());
+      Tools.safeClose(injectionContext);
+    }
   }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.fs.FileSystemScanner;
+import juzu.impl.fs.Snapshot;
+import juzu.impl.fs.spi.ReadFileSystem;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects the changes of a file system with a timestamp scan performed periodically by a background thread, the
+ * changes are published as a dirty flag. A file modified during the racy interval before a scan keeps the flag set
+ * since a later modification may not change its last modified date. The background task holds the detector
+ * weakly and stops when the detector is closed or is not used anymore.
+ *
+ * @author Julien Viet
+ */
+class ChangeDetector<P> {
+
+  /** The default racy interval. */
+  static final long RACY_INTERVAL = 2000;
+
+  /** The thread shared by the detectors. */
+  private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "Juzu change detector");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private static class Task implements Runnable {
+
+    /** . */
+    private final WeakReference<ChangeDetector<?>> ref;
+
+    /** . */
+    private volatile ScheduledFuture<?> future;
+
+    private Task(ChangeDetector<?> detector) {
+      this.ref = new WeakReference<ChangeDetector<?>>(detector);
+    }
+
+    public void run() {
+      ChangeDetector<?> detector = ref.get();
+      if (detector == null) {
+        future.cancel(false);
+      } else {
+        detector.scan();
+      }
+    }
+  }
+
+  /** . */
+  private final long racyInterval;
+
+  /** . */
+  private Snapshot<P> snapshot;
+
+  /** . */
+  private volatile boolean dirty;
+
+  /** . */
+  private final Task task;
+
+  ChangeDetector(ReadFileSystem<P> fs, long interval) {
+    this(fs, interval, RACY_INTERVAL);
+  }
+
+  ChangeDetector(ReadFileSystem<P> fs, long interval, long racyInterval) {
+    FileSystemScanner<P> scanner = new FileSystemScanner.Timestamped<P>(fs) {
+      @Override
+      protected boolean isModified(long snapshot, long current) {
+        return snapshot != current;
+      }
+    };
+
+    //
+    this.racyInterval = racyInterval;
+    this.snapshot = scanner.take();
+    this.dirty = true;
+
+    // The initial scan, the flag is set until the first clear
+    scan();
+    this.task = new Task(this);
+    this.task.future = executor.scheduleWithFixedDelay(task, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return true when a change was detected since the last {@link #clear()}
+   */
+  boolean isDirty() {
+    return dirty;
+  }
+
+  /**
+   * Clear the dirty flag, it must be done before scanning the sources so a change occurring during the scan
+   * is detected.
+   */
+  void clear() {
+    dirty = false;
+  }
+
+  /**
+   * Stop the detection.
+   */
+  void close() {
+    task.future.cancel(false);
+  }
+
+  private synchronized void scan() {
+    long now = System.currentTimeMillis();
+    try {
+      Snapshot<P> next = snapshot.scan();
+      boolean racy = false;
+      for (long lastModified : next.values()) {
+        if (lastModified + racyInterval >= now) {
+          racy = true;
+          break;
+        }
+      }
+      if (next.hasChanges() || racy) {
+        dirty = true;
+      }
+      snapshot = next;
+    }
+    catch (IOException e) {
+      // Let the refresh report the failure
+      dirty = true;
+    }
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.common.Logger;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.Filter;
+import juzu.impl.fs.Visitor;
+import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.fs.spi.disk.DiskFileSystem;
+import juzu.impl.fs.spi.ram.RAMFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An on disk cache of the build of a live module. The cache holds the output of the last build of the module, it
+ * contains the classes, the generated sources, the resources and the metamodel state. The output is keyed by the
+ * content of the sources and by the fingerprint of the class path of the compilation, so a restart with the same
+ * sources and the same class path loads the output instead of compiling the module again. The cache is only used
+ * by the first build of a module, the output of a compilation is stored in the background so the build does not
+ * wait for the disk.
+ *
+ * @author Julien Viet
+ */
+final class CompilationCache {
+
+  /** The thread storing the outputs. */
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "Juzu compilation cache");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /** . */
+  private final File dir;
+
+  /** . */
+  private String classPathFingerprint;
+
+  /**
+   * Create a cache for a module.
+   *
+   * @param root the cache directory
+   * @param module the module identifier, usually the description of its source path
+   */
+  CompilationCache(File root, String module) {
+    this.dir = new File(root, digest(module).substring(0, 16));
+  }
+
+  /**
+   * Compute the key of a build with a SHA-1 digest of the class path fingerprint and of the path and the content of
+   * each source file, the snapshot stamps are not used as a collision would load a stale build. The class path of a
+   * module does not change, it is fingerprinted once.
+   *
+   * @param sources the sources
+   * @param filter the filter of the sources, it is the filter of the source scanner
+   * @param classPath the class path loader of the compilation
+   * @return the key
+   * @throws IOException any io exception
+   */
+  <P> String key(final ReadFileSystem<P> sources, Filter<P> filter, ClassLoader classPath) throws IOException {
+    if (classPathFingerprint == null) {
+      classPathFingerprint = fingerprint(classPath);
+    }
+    final TreeMap<String, P> files = new TreeMap<String, P>();
+    sources.traverse(filter, new Visitor.Default<P>() {
+      @Override
+      public void file(P file, String name) throws IOException {
+        files.put(Tools.join('/', sources.getNames(file)), file);
+      }
+    });
+    MessageDigest digest = sha1();
+    digest.update(classPathFingerprint.getBytes(Tools.UTF_8));
+    for (Map.Entry<String, P> file : files.entrySet()) {
+      byte[] content = sources.getResource(file.getValue()).getObject().getBytes();
+      digest.update(("\n" + file.getKey() + "\n" + content.length + "\n").getBytes(Tools.UTF_8));
+      digest.update(content);
+    }
+    return hex(digest.digest());
+  }
+
+  /**
+   * Load the output of a build.
+   *
+   * @param key the build key
+   * @return the output or null when the build is not cached
+   * @throws IOException any io exception
+   */
+  RAMFileSystem load(String key) throws IOException {
+    File entry = new File(dir, key);
+    if (entry.isDirectory()) {
+      RAMFileSystem output = new RAMFileSystem();
+      new DiskFileSystem(entry).copy(output);
+      return output;
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Store the output of a build in the background, the output must not be modified afterwards.
+   *
+   * @param key the build key
+   * @param output the output
+   * @param logger the logger of the failure
+   * @return the future of the store
+   */
+  Future<Void> storeLater(final String key, final RAMFileSystem output, final Logger logger) {
+    return executor.submit(new Callable<Void>() {
+      public Void call() throws Exception {
+        try {
+          store(key, output);
+        }
+        catch (IOException e) {
+          logger.error("Could not store application in the compilation cache", e);
+          throw e;
+        }
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Store the output of a build, it replaces the previous entry of the module.
+   *
+   * @param key the build key
+   * @param output the output
+   * @throws IOException any io exception
+   */
+  synchronized void store(String key, RAMFileSystem output) throws IOException {
+    File entry = new File(dir, key);
+    if (!entry.isDirectory()) {
+
+      // Write to a temporary directory first, so a partial entry is never loaded
+      File tmp = new File(dir, key + ".tmp" + System.nanoTime());
+      if (!tmp.mkdirs()) {
+        throw new IOException("Could not create directory " + tmp.getAbsolutePath());
+      }
+      try {
+        output.copy(new DiskFileSystem(tmp));
+        if (!tmp.renameTo(entry) && !entry.isDirectory()) {
+          throw new IOException("Could not rename " + tmp.getAbsolutePath() + " to " + entry.getAbsolutePath());
+        }
+      }
+      finally {
+        delete(tmp);
+      }
+    }
+
+    // Remove the other entries
+    File[] children = dir.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        if (!child.getName().equals(key) && !child.getName().contains(".tmp")) {
+          delete(child);
+        }
+      }
+    }
+  }
+
+  /**
+   * Fingerprint the class path roots and archives with their most recent last modified date and their size.
+   */
+  private static String fingerprint(ClassLoader classPath) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append(System.getProperty("java.version")).append('\n');
+
+    //
+    TreeSet<String> roots = new TreeSet<String>();
+    for (Enumeration<URL> e = classPath.getResources("META-INF/MANIFEST.MF");e.hasMoreElements();) {
+      URL url = e.nextElement();
+      String s = url.toString();
+      int pos = s.lastIndexOf("!/");
+      roots.add(pos == -1 ? s : s.substring(0, pos));
+    }
+    for (Enumeration<URL> e = classPath.getResources("");e.hasMoreElements();) {
+      roots.add(e.nextElement().toString());
+    }
+    for (String root : roots) {
+      sb.append(root);
+      String location = root.startsWith("jar:file:") ? root.substring(4) : root.startsWith("file:") ? root : null;
+      if (location != null) {
+        try {
+          long[] fingerprint = {0, 0};
+          fingerprint(new File(new URL(location).toURI()), fingerprint);
+          sb.append(' ').append(fingerprint[0]).append(' ').append(fingerprint[1]);
+        }
+        catch (URISyntaxException ignore) {
+        }
+      }
+      sb.append('\n');
+    }
+
+    //
+    return sb.toString();
+  }
+
+  /**
+   * Fingerprint a file or a directory with the most recent last modified date and the total size of its files.
+   */
+  private static void fingerprint(File file, long[] fingerprint) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        fingerprint(child, fingerprint);
+      }
+    } else {
+      fingerprint[0] = Math.max(fingerprint[0], file.lastModified());
+      fingerprint[1] += file.length();
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static String digest(String s) {
+    return hex(sha1().digest(s.getBytes(Tools.UTF_8)));
+  }
+
+  private static MessageDigest sha1() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new UnsupportedOperationException("Could not resolve SHA-1", e);
+    }
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.plugin.application.Application;
+import juzu.impl.plugin.controller.ControllerService;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A started application along with the services resolved for serving its requests. A deployment counts its
+ * references: its owner holds one while the deployment is current and each request being served holds one,
+ * the deployment is stopped when the last one is released.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class Deployment implements Closeable {
+
+  /** . */
+  private final Application application;
+
+  /** . */
+  private final ControllerService controllerService;
+
+  /** . */
+  private final AtomicInteger references;
+
+  public Deployment(Application application, ControllerService controllerService) {
+    this.application = application;
+    this.controllerService = controllerService;
+    this.references = new AtomicInteger(1);
+  }
+
+  public Application getApplication() {
+    return application;
+  }
+
+  public ControllerService getControllerService() {
+    return controllerService;
+  }
+
+  /**
+   * Acquire a reference on this deployment, the reference must be released by closing the deployment.
+   *
+   * @return true when the reference is acquired, false when the deployment is stopped
+   */
+  public boolean acquire() {
+    while (true) {
+      int count = references.get();
+      if (count == 0) {
+        return false;
+      } else if (references.compareAndSet(count, count + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Release a reference on this deployment, the deployment is stopped when the last reference is released.
+   */
+  public void close() {
+    if (references.decrementAndGet() == 0) {
+      stop();
+    }
+  }
+
+  /**
+   * Stops the deployment, the default implementation does nothing.
+   */
+  protected void stop() {
+  }
+}
@@ -22,16 +22,31 @@ import juzu.impl.common.ParentJarClassLoader;
 import juzu.impl.common.Logger;
 import juzu.impl.compiler.*;
 import juzu.impl.compiler.Compiler;
+import juzu.impl.common.Resource;
+import juzu.impl.common.Timestamped;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.Change;
 import juzu.impl.fs.FileSystemScanner;
 import juzu.impl.fs.Filter;
 import juzu.impl.fs.Snapshot;
+import juzu.impl.fs.Visitor;
 import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.fs.spi.cache.CachingFileSystem;
 import juzu.impl.fs.spi.ram.RAMFileSystem;
 import juzu.impl.fs.spi.url.URLFileSystem;
 import juzu.processor.MainProcessor;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
 
 /**
  * The module life cycle.
@@ -87,45 +102,114 @@ public abstract class ModuleRuntime<C> {
     /** . */
     private FileSystemScanner<S> scanner;
 
+    /** The source path read by the build, the changes found by a scan are invalidated before the build. */
+    private final CachingFileSystem<S> sourcePath;
+
     /** . */
     private Snapshot<S> snapshot;
 
     /** . */
-    private ClassLoader classLoader;
+    private volatile ClassLoader classLoader;
 
     /** . */
     private ClassLoader classPathLoader;
 
     /** . */
-    private ReadFileSystem<String[]> classes;
+    private volatile RAMFileSystem classes;
 
     /** . */
-    private boolean failed;
+    private volatile boolean failed;
+
+    /** Guards the scan and the build of the module. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The optional compilation cache. */
+    private final CompilationCache cache;
+
+    /** The optional background change detector. */
+    private final ChangeDetector<S> detector;
 
     public Dynamic(Logger logger, ClassLoader baseClassLoader, ReadFileSystem<S> source) {
+      this(logger, baseClassLoader, source, null);
+    }
+
+    public Dynamic(Logger logger, ClassLoader baseClassLoader, ReadFileSystem<S> source, File cacheDir) {
+      this(logger, baseClassLoader, source, cacheDir, 0);
+    }
+
+    /**
+     * Create a live module.
+     *
+     * @param logger the logger
+     * @param baseClassLoader the base class loader
+     * @param source the module sources
+     * @param cacheDir the directory of the compilation cache or null
+     * @param scanInterval the interval in milliseconds between two scans of the background change detector or
+     *                     zero to scan the sources on each refresh
+     */
+    public Dynamic(Logger logger, ClassLoader baseClassLoader, ReadFileSystem<S> source, File cacheDir, long scanInterval) {
       super(logger);
 
       //
       this.classLoader = null;
       this.baseClassLoader = baseClassLoader;
       this.classPathLoader = new ParentJarClassLoader(baseClassLoader);
-      this.scanner = FileSystemScanner.createHashing(source);
+      this.scanner = FileSystemScanner.createHybrid(source);
+      this.sourcePath = new CachingFileSystem<S>(source);
       this.snapshot = scanner.take();
       this.classPath = null;
       this.failed = false;
+      this.cache = cacheDir != null ? new CompilationCache(cacheDir, source.getDescription()) : null;
+      this.detector = scanInterval > 0 ? new ChangeDetector<S>(source, scanInterval) : null;
     }
 
+    /**
+     * Stop the background change detector.
+     */
+    public void close() {
+      if (detector != null) {
+        detector.close();
+      }
+    }
+
+    /**
+     * Refresh the module. A single thread scans the sources and builds the module, a concurrent refresh does not
+     * wait for it and keeps on using the previous build, unless there is no previous build yet. Consequently a
+     * request concurrent to a scan or a build is served by the previous build even when the sources changed before
+     * the request.
+     *
+     * <p>When the module has a change detector, a refresh checks the flag published by the detector and scans the
+     * sources only when a change was detected, a change is then served after the next scan of the detector.
+     * Otherwise the sources are scanned by each refresh acquiring the lock, the scan compares the file timestamps
+     * and hashes only the changed files.</p>
+     *
+     * @param recompile true if recompilation can occur
+     * @return true when the refresh operation has triggered changes
+     */
     @Override
-    public synchronized Completion<Boolean> refresh(boolean recompile) {
+    public Completion<Boolean> refresh(boolean recompile) {
       if (!recompile) {
         throw new UnsupportedOperationException("Not yet implemented");
       } else {
+        if (classLoader != null) {
+          if (detector != null && !detector.isDirty() && !failed) {
+            return Completion.completed(false);
+          }
+          if (!lock.tryLock()) {
+            return Completion.completed(false);
+          }
+        } else {
+          lock.lock();
+        }
         try {
           return Completion.completed(refresh());
         }
         catch (Exception e) {
           return Completion.failed(e);
         }
+        finally {
+          lock.unlock();
+        }
       }
     }
 
@@ -137,7 +221,12 @@ public abstract class ModuleRuntime<C> {
         classPath = new URLFileSystem().add(classPathLoader, ClassLoader.getSystemClassLoader().getParent());
       }
 
+      //
+      if (detector != null) {
+        detector.clear();
+      }
       Snapshot<S> next = snapshot.scan();
+      sourcePath.invalidate(next.getChanges());
 
       //
       if (!failed && !next.hasChanges()) {
@@ -151,40 +240,241 @@ public abstract class ModuleRuntime<C> {
         this.failed = true;
 
         //
-        final ReadFileSystem<S> sourcePath = scanner.getFileSystem();
+        RAMFileSystem classOutput = classes != null && next.hasChanges() ? buildIncrementally(sourcePath, next) : null;
+
+        // The first build can be loaded from the cache
+        String key = null;
+        if (cache != null && classes == null) {
+          try {
+            key = cache.key(sourcePath, scanner, classPathLoader);
+            classOutput = cache.load(key);
+            if (classOutput != null) {
+              logger.info("Loaded application from the compilation cache");
+              key = null;
+            }
+          }
+          catch (IOException e) {
+            logger.error("Could not load application from the compilation cache", e);
+          }
+        }
 
         //
-        final RAMFileSystem classOutput = new RAMFileSystem();
-        Compiler compiler = Compiler.
-            builder().
-            sourcePath(sourcePath).
-            sourceOutput(classOutput).
-            classOutput(classOutput).
-            addClassPath(classPath).build();
-        compiler.addAnnotationProcessor(new MainProcessor());
-        compiler.compile();
+        if (classOutput == null) {
+          classOutput = new RAMFileSystem();
+          Compiler compiler = Compiler.
+              builder().
+              sourcePath(sourcePath).
+              sourceOutput(classOutput).
+              classOutput(classOutput).
+              addClassPath(classPath).build();
+          compiler.addAnnotationProcessor(new MainProcessor());
+          compiler.compile();
+        }
 
         // Copy everything that is not a java source and not already present
+        final RAMFileSystem output = classOutput;
         sourcePath.copy(new Filter.Default<S>() {
           @Override
           public boolean acceptFile(S file, String name) throws IOException {
             Iterable<String> names = sourcePath.getNames(file);
-            String[] path = classOutput.getPath(names);
+            String[] path = output.getPath(names);
             return path == null && !name.endsWith(".java");
           }
         }, classOutput);
 
-        //
-        this.classLoader = new LiveClassLoader(new URL[]{classOutput.getURL()}, baseClassLoader);
+        // Publish the classes before the class loader that is used for checking the build
         this.classes = classOutput;
+        this.classLoader = new LiveClassLoader(new URL[]{classOutput.getURL()}, baseClassLoader, index(classOutput));
         this.snapshot = next;
         this.failed = false;
 
+        // Store the compiled first build
+        if (key != null) {
+          cache.storeLater(key, classOutput, logger);
+        }
+
         //
         return true;
       }
     }
 
+    /**
+     * Index the bytecode of the classes of a class output by class name, the bytecode is not copied.
+     *
+     * @param classOutput the class output
+     * @return the index
+     * @throws IOException any io exception
+     */
+    private HashMap<String, Resource> index(final RAMFileSystem classOutput) throws IOException {
+      final HashMap<String, Resource> index = new HashMap<String, Resource>();
+      classOutput.traverse(new Visitor.Default<String[]>() {
+        @Override
+        public void file(String[] file, String name) throws IOException {
+          if (name.endsWith(".class")) {
+            String className = Tools.join('.', file);
+            index.put(className.substring(0, className.length() - ".class".length()), classOutput.getResource(file).getObject());
+          }
+        }
+      });
+      return index;
+    }
+
+    /**
+     * Build the module from the previous build. The changed compilation units and the units depending on them are
+     * compiled against the classes of the previous build, the other classes are reused. The metamodel state of the
+     * previous build drives the annotation processing of the units.
+     *
+     * @param sourcePath the source path
+     * @param next the snapshot providing the changes since the previous build
+     * @return the new class output or null when the module must be fully built
+     * @throws Exception any exception
+     */
+    private RAMFileSystem buildIncrementally(ReadFileSystem<S> sourcePath, Snapshot<S> next) throws Exception {
+      final RAMFileSystem previous = classes;
+
+      // Index the previous classes
+      final HashMap<String[], ClassFile> classFiles = new HashMap<String[], ClassFile>();
+      previous.traverse(new Visitor.Default<String[]>() {
+        @Override
+        public void file(String[] file, String name) throws IOException {
+          if (name.endsWith(".class")) {
+            classFiles.put(file, ClassFile.parse(previous.getResource(file).getObject().getBytes()));
+          }
+        }
+      });
+      HashMap<String, Set<String>> unitClasses = new HashMap<String, Set<String>>();
+      for (ClassFile classFile : classFiles.values()) {
+        String unit = classFile.getCompilationUnit();
+        if (unit == null) {
+          return null;
+        }
+        Set<String> names = unitClasses.get(unit);
+        if (names == null) {
+          unitClasses.put(unit, names = new HashSet<String>());
+        }
+        names.add(classFile.getName());
+      }
+
+      // Determine the changed units, a processing round is needed for the applications affected by a removal
+      // or by a resource change, it is triggered by compiling the package-info of the application
+      LinkedHashSet<String> compiled = new LinkedHashSet<String>();
+      HashSet<String> changed = new HashSet<String>();
+      for (Map.Entry<String, Change> change : next.getChanges().entrySet()) {
+        String path = change.getKey();
+        if (path.endsWith(".java")) {
+          changed.add(path);
+          if (change.getValue() != Change.REMOVE) {
+            compiled.add(path);
+            continue;
+          }
+        }
+        String packageInfo = getPackageInfo(next, path);
+        if (packageInfo != null) {
+          compiled.add(packageInfo);
+        }
+      }
+
+      // The units referencing a changed class, and the units referencing their subtypes since the inherited
+      // members may have changed
+      HashSet<String> names = new HashSet<String>();
+      for (String unit : changed) {
+        Set<String> unitNames = unitClasses.get(unit);
+        if (unitNames != null) {
+          names.addAll(unitNames);
+        }
+      }
+      HashSet<String> visited = new HashSet<String>(names);
+      while (names.size() > 0) {
+        HashSet<String> subtypes = new HashSet<String>();
+        for (ClassFile classFile : classFiles.values()) {
+          String unit = classFile.getCompilationUnit();
+          if (!changed.contains(unit) && next.containsKey(unit) && classFile.references(names)) {
+            compiled.add(unit);
+            if (classFile.isSubtypeOf(names) && visited.add(classFile.getName())) {
+              subtypes.add(classFile.getName());
+            }
+          }
+        }
+        names = subtypes;
+      }
+
+      // The units naming a changed class, as a constant is inlined by the compiler
+      StringBuilder regex = new StringBuilder();
+      for (String unit : changed) {
+        String simpleName = unit.substring(unit.lastIndexOf('/') + 1, unit.length() - ".java".length());
+        if (!simpleName.equals("package-info")) {
+          regex.append(regex.length() > 0 ? "|" : "").append(Pattern.quote(simpleName));
+        }
+      }
+      if (regex.length() > 0) {
+        Pattern pattern = Pattern.compile("\\b(?:" + regex + ")\\b");
+        for (String unit : next.keySet()) {
+          if (unit.endsWith(".java") && !changed.contains(unit) && !compiled.contains(unit)) {
+            Timestamped<Resource> source = sourcePath.getResource(Arrays.asList(Tools.split(unit.substring(1), '/')));
+            if (source != null && pattern.matcher(source.getObject().getCharSequence(sourcePath.getEncoding())).find()) {
+              compiled.add(unit);
+            }
+          }
+        }
+      }
+
+      // Reuse the previous output without the stale classes and resources
+      RAMFileSystem classOutput = new RAMFileSystem();
+      previous.copy(classOutput);
+      for (Map.Entry<String[], ClassFile> classFile : classFiles.entrySet()) {
+        String unit = classFile.getValue().getCompilationUnit();
+        if (changed.contains(unit) || compiled.contains(unit)) {
+          classOutput.removePath(classFile.getKey());
+        }
+      }
+      for (Map.Entry<String, Change> change : next.getChanges().entrySet()) {
+        String path = change.getKey();
+        if (!path.endsWith(".java")) {
+          String[] resource = classOutput.getPath(Tools.split(path.substring(1), '/'));
+          if (resource != null) {
+            classOutput.removePath(resource);
+          }
+        }
+      }
+      RAMFileSystem previousClasses = new RAMFileSystem();
+      classOutput.copy(new Filter.Default<String[]>() {
+        @Override
+        public boolean acceptFile(String[] file, String name) throws IOException {
+          return name.endsWith(".class");
+        }
+      }, previousClasses);
+
+      //
+      logger.info("Compiling " + compiled.size() + " compilation units of " + unitClasses.size());
+      Compiler compiler = Compiler.
+          builder().
+          sourcePath(sourcePath).
+          sourceOutput(classOutput).
+          classOutput(classOutput).
+          addClassPath(previousClasses).
+          addClassPath(classPath).build();
+      compiler.addAnnotationProcessor(new MainProcessor());
+      compiler.compile(compiled.toArray(new String[compiled.size()]));
+      return classOutput;
+    }
+
+    /**
+     * Returns the package-info compilation unit of the closest package containing the path.
+     *
+     * @param snapshot the source snapshot
+     * @param path the path
+     * @return the package-info unit or null
+     */
+    private static String getPackageInfo(Snapshot<?> snapshot, String path) {
+      for (int index = path.lastIndexOf('/');index > 0;index = path.lastIndexOf('/', index - 1)) {
+        String packageInfo = path.substring(0, index) + "/package-info.java";
+        if (snapshot.containsKey(packageInfo)) {
+          return packageInfo;
+        }
+      }
+      return null;
+    }
+
     @Override
     public ClassLoader getClassLoader() {
       return classLoader;
@@ -16,6 +16,7 @@
 
 package juzu.impl.template.spi;
 
+import juzu.impl.common.Name;
 import juzu.impl.common.Path;
 
 import java.io.IOException;
@@ -32,4 +33,23 @@ public abstract class EmitContext extends PhaseContext {
    */
   public abstract void createResource(Path.Absolute path, CharSequence content) throws IOException;
 
+  /**
+   * Create a class from its bytecode.
+   *
+   * @param name the class name
+   * @param bytecode the class bytecode
+   * @throws IOException any io exception preventing the class creation
+   */
+  public abstract void createClass(Name name, byte[] bytecode) throws IOException;
+
+  /**
+   * Returns true when the specified type is known by the compilation, this type may not yet be compiled.
+   *
+   * @param name the type name
+   * @return true when the type exists
+   */
+  public boolean isType(String name) {
+    return false;
+  }
+
 }
@@ -20,7 +20,10 @@ import juzu.template.TemplateExecutionException;
 import juzu.template.TemplateRenderContext;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The stub for a template.
@@ -29,23 +32,17 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public abstract class TemplateStub {
 
-  /** . */
-  private static final int CONSTRUCTED = 0;
-
-  /** . */
-  private static final int INITIALIZING = 1;
-
-  /** . */
-  private static final int INITIALIZED = 2;
-
   /** . */
   protected final ClassLoader loader;
 
   /** . */
   protected final String id;
 
-  /** . */
-  private final AtomicInteger status;
+  /** The initialization task, null until a thread initializes the stub. */
+  private final AtomicReference<FutureTask<Void>> initialization;
+
+  /** Whether a failed initialization is attempted again by the next call to {@link #init()}. */
+  private volatile boolean retry;
 
   protected TemplateStub(ClassLoader loader, String id) {
 
@@ -57,37 +54,62 @@ public abstract class TemplateStub {
     }
 
     this.id = id;
-    this.status = new AtomicInteger(CONSTRUCTED);
+    this.initialization = new AtomicReference<FutureTask<Void>>();
     this.loader = loader;
+    this.retry = true;
   }
 
   public String getId() {
     return id;
   }
 
+  public boolean getRetry() {
+    return retry;
+  }
+
+  /**
+   * Configures the behavior after a failed initialization: when retry is true the next call to {@link #init()}
+   * initializes the stub again, otherwise the failure is rethrown to every subsequent caller.
+   *
+   * @param retry the retry flag
+   */
+  public void setRetry(boolean retry) {
+    this.retry = retry;
+  }
+
   /**
-   * Initialize the stub.
+   * Initialize the stub. The stub is initialized once by the first calling thread, the concurrent callers
+   * are blocked until the initialization completes and the initialization failure is rethrown to all of them.
    */
   public final void init() throws NullPointerException {
-    while (true) {
-      switch (status.get()) {
-        case CONSTRUCTED:
-          if (status.compareAndSet(CONSTRUCTED, INITIALIZING)) {
-            int next = CONSTRUCTED;
-            try {
-              doInit(loader);
-              next = INITIALIZED;
-            }
-            finally {
-              status.set(next);
-            }
-          }
-          break;
-        case INITIALIZING:
-          break;
-        default:
-          return;
+    FutureTask<Void> task = initialization.get();
+    if (task == null) {
+      FutureTask<Void> created = new FutureTask<Void>(new Runnable() {
+        public void run() {
+          doInit(loader);
+        }
+      }, null);
+      if (initialization.compareAndSet(null, created)) {
+        created.run();
+        task = created;
+      } else {
+        task = initialization.get();
+      }
+    }
+    try {
+      await(task);
+    }
+    catch (RuntimeException e) {
+      if (retry) {
+        initialization.compareAndSet(task, null);
       }
+      throw e;
+    }
+    catch (Error e) {
+      if (retry) {
+        initialization.compareAndSet(task, null);
+      }
+      throw e;
     }
   }
 
@@ -100,16 +122,46 @@ public abstract class TemplateStub {
    * @throws IllegalStateException if the stub is not initialized
    */
   public final void render(TemplateRenderContext renderContext) throws TemplateExecutionException, IOException, IllegalStateException {
-    while (true) {
-      switch (status.get()) {
-        case INITIALIZING:
-          // Wait
-          break;
-        case INITIALIZED:
-          doRender(renderContext);
+    FutureTask<Void> task = initialization.get();
+    if (task == null) {
+      throw new IllegalStateException("Template stub " + id + " is not initialized");
+    }
+    await(task);
+    doRender(renderContext);
+  }
+
+  /**
+   * Wait until the task is done, the waiting thread cannot be interrupted, instead its interrupted status
+   * is restored when the task completes.
+   *
+   * @param task the task
+   */
+  private static void await(FutureTask<Void> task) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          task.get();
           return;
-        default:
-          throw new IllegalStateException("Template stub is not initialized " + status.get());
+        }
+        catch (InterruptedException e) {
+          interrupted = true;
+        }
+        catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+          } else if (cause instanceof Error) {
+            throw (Error)cause;
+          } else {
+            throw new UndeclaredThrowableException(cause);
+          }
+        }
+      }
+    }
+    finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
       }
     }
   }
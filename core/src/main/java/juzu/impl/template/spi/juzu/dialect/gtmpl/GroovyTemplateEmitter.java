@@ -30,6 +30,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class GroovyTemplateEmitter extends DialectTemplateEmitter {
@@ -46,6 +47,9 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
   /** . */
   private List<String> messageKeys = new ArrayList<String>();
 
+  /** The types referenced by the template. */
+  private LinkedHashSet<String> references = new LinkedHashSet<String>();
+
   /** The line number table. */
   private HashMap<Integer, Foo> locationTable = new HashMap<Integer, Foo>();
 
@@ -163,12 +167,21 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
     return builder.toString();
   }
 
+  /**
+   * Returns the names of the types referenced by the template urls.
+   *
+   * @return the referenced type names
+   */
+  public Set<String> getReferences() {
+    return references;
+  }
+
   public GroovyTemplateStub build(String templateId) {
     final String script = toString();
     return new GroovyTemplateStub(Thread.currentThread().getContextClassLoader(), templateId) {
       @Override
-      public String getScript(ClassLoader loader, String fqn) {
-        return script;
+      protected Class<?> loadScriptClass(ClassLoader loader, String fqn) {
+        return compileScriptClass(loader, script);
       }
     };
   }
@@ -239,6 +252,7 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
 
   @Override
   public void url(String typeName, String methodName, List<String> args) {
+    references.add(typeName);
     out.append(";out.print(");
     out.append(typeName);
     out.append(".");
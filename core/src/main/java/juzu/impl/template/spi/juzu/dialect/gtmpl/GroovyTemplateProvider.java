@@ -16,6 +16,8 @@
 
 package juzu.impl.template.spi.juzu.dialect.gtmpl;
 
+import groovy.lang.GroovyClassLoader;
+import juzu.impl.common.Name;
 import juzu.impl.common.Path;
 import juzu.impl.template.spi.EmitContext;
 import juzu.impl.template.spi.TemplateModel;
@@ -24,8 +26,18 @@ import juzu.impl.template.spi.TemplateStub;
 import juzu.impl.template.spi.juzu.DialectTemplateProvider;
 import juzu.impl.template.spi.juzu.ast.ASTNode;
 import juzu.impl.template.spi.juzu.compiler.EmitPhase;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.control.ClassNodeResolver;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class GroovyTemplateProvider extends DialectTemplateProvider {
@@ -47,6 +59,51 @@ public class GroovyTemplateProvider extends DialectTemplateProvider {
     tcc.emit(emitter, templateModel.getModel());
     Path.Absolute path = templateModel.getPath();
     path = path.as(path.getRawName() + "_", "groovy");
-    context.createResource(path, emitter.toString());
+    String script = emitter.toString();
+    context.createResource(path, script);
+
+    // Precompile the script, the stub loads it instead of compiling it at runtime
+    for (Map.Entry<String, byte[]> compiled : compile(context, path, script, emitter.getReferences()).entrySet()) {
+      context.createClass(Name.parse(compiled.getKey()), compiled.getValue());
+    }
+  }
+
+  /**
+   * Compile the template script to bytecode. The types referenced by the script that are not yet compiled
+   * are resolved by name.
+   *
+   * @param context the emit context
+   * @param path the script path
+   * @param script the script
+   * @param references the types referenced by the script
+   * @return the compiled classes
+   * @throws TemplateException when the script cannot be compiled
+   */
+  private Map<String, byte[]> compile(final EmitContext context, Path.Absolute path, String script, final Set<String> references) throws TemplateException {
+    CompilerConfiguration config = new CompilerConfiguration();
+    CompilationUnit unit = new CompilationUnit(config, null, new GroovyClassLoader(GroovyTemplateProvider.class.getClassLoader(), config));
+    unit.setClassNodeResolver(new ClassNodeResolver() {
+      @Override
+      public LookupResult resolveName(String name, CompilationUnit compilationUnit) {
+        LookupResult result = super.resolveName(name, compilationUnit);
+        if (result == null && (references.contains(name) || context.isType(name))) {
+          result = new LookupResult(null, ClassHelper.make(name));
+        }
+        return result;
+      }
+    });
+    unit.addSource(path.getSimpleName(), script);
+    try {
+      unit.compile(Phases.CLASS_GENERATION);
+    }
+    catch (CompilationFailedException e) {
+      throw new TemplateException("Could not compile template script " + path, e);
+    }
+    Map<String, byte[]> classes = new LinkedHashMap<String, byte[]>();
+    for (Object o : unit.getClasses()) {
+      GroovyClass compiled = (GroovyClass)o;
+      classes.put(compiled.getName(), compiled.getBytes());
+    }
+    return classes;
   }
 }
@@ -26,11 +26,7 @@ import juzu.template.TemplateRenderContext;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.runtime.InvokerHelper;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.util.HashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -56,28 +52,8 @@ public class GroovyTemplateStub extends TemplateStub {
     // The class fqn
     String fqn = id + "_";
 
-    // Load from class loader first
-    try {
-      scriptClass = loader.loadClass(fqn);
-    }
-    catch (ClassNotFoundException ignore) {
-    }
-    catch (NoClassDefFoundError ignore) {
-    }
-
-    // Compile class
-    if (scriptClass == null) {
-      CompilerConfiguration config = new CompilerConfiguration();
-      String script = getScript(loader, fqn);
-      GroovyCodeSource gcs = new GroovyCodeSource(new String(script.getBytes()), "myscript", "/groovy/shell");
-      GroovyClassLoader gcl = new GroovyClassLoader(loader, config);
-      try {
-        scriptClass = gcl.parseClass(gcs, false);
-      }
-      catch (Exception e) {
-        throw new UnsupportedOperationException("handle me gracefully", e);
-      }
-    }
+    // Load the script class
+    scriptClass = loadScriptClass(loader, fqn);
 
     // Load constants
     try {
@@ -100,27 +76,53 @@ public class GroovyTemplateStub extends TemplateStub {
     }
   }
 
-  public String getScript(ClassLoader loader, String fqn) {
+  /**
+   * Returns the script class, the class is loaded when the stub is initialized.
+   *
+   * @return the script class or null when the stub is not initialized
+   */
+  public Class<?> getScriptClass() {
+    return scriptClass;
+  }
+
+  /**
+   * Load the script class, the script is compiled by the {@link GroovyTemplateProvider} when the application
+   * is built, so the template is never compiled at runtime.
+   *
+   * @param loader the class loader
+   * @param fqn the script class name
+   * @return the script class
+   * @throws IllegalStateException when the script class cannot be loaded
+   */
+  protected Class<?> loadScriptClass(ClassLoader loader, String fqn) throws IllegalStateException {
     try {
-      String path = fqn.replace('.', '/') + ".groovy";
-      URL url = loader.getResource(path);
-      if (url != null) {
-        byte[] buffer = new byte[256];
-        InputStream in = url.openStream();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        for (int l = in.read(buffer);l != -1;l = in.read(buffer)) {
-          baos.write(buffer, 0, l);
-        }
-        return baos.toString();
-      }
-      else {
-        // Should log that
-      }
+      return loader.loadClass(fqn);
+    }
+    catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Template " + id + " was not compiled, could not load its script class " + fqn, e);
+    }
+    catch (NoClassDefFoundError e) {
+      throw new IllegalStateException("Template " + id + " was not compiled, could not load its script class " + fqn, e);
     }
-    catch (IOException e) {
-      e.printStackTrace();
+  }
+
+  /**
+   * Compile a script class from its source.
+   *
+   * @param loader the parent class loader
+   * @param script the script source
+   * @return the script class
+   */
+  protected static Class<?> compileScriptClass(ClassLoader loader, String script) {
+    CompilerConfiguration config = new CompilerConfiguration();
+    GroovyCodeSource gcs = new GroovyCodeSource(script, "myscript", "/groovy/shell");
+    GroovyClassLoader gcl = new GroovyClassLoader(loader, config);
+    try {
+      return gcl.parseClass(gcs, false);
+    }
+    catch (Exception e) {
+      throw new UnsupportedOperationException("handle me gracefully", e);
     }
-    return null;
   }
 
   public String getClassName() {
@@ -24,6 +24,9 @@ import java.text.SimpleDateFormat;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The value type performs a bidirectional conversion between a value object and a string.
@@ -240,9 +243,30 @@ public abstract class ValueType<T> {
       return TYPES;
     }
 
+    /** Pattern, default locale and default time zone -> prototype, the empty pattern is the default format. */
+    private final ConcurrentHashMap<String, SimpleDateFormat> prototypes = new ConcurrentHashMap<String, SimpleDateFormat>();
+
+    /**
+     * Returns a format for the element, the prototypes are keyed by the default locale and time zone
+     * as well so a change of those defaults is honoured like when the format was created on each call.
+     *
+     * @param element the element
+     * @return the format
+     */
     private SimpleDateFormat getSimpleDateFormat(AnnotatedElement element) {
       Format format = element.getAnnotation(Format.class);
-      return format != null ? new SimpleDateFormat(format.value()) : new SimpleDateFormat();
+      String pattern = format != null ? format.value() : "";
+      String key = pattern + '\n' + Locale.getDefault(Locale.Category.FORMAT) + '\n' + TimeZone.getDefault().getID();
+      SimpleDateFormat prototype = prototypes.get(key);
+      if (prototype == null) {
+        prototype = format != null ? new SimpleDateFormat(pattern) : new SimpleDateFormat();
+        SimpleDateFormat phantom = prototypes.putIfAbsent(key, prototype);
+        if (phantom != null) {
+          prototype = phantom;
+        }
+      }
+      // A simple date format is not thread safe, cloning the prototype is much cheaper than compiling the pattern
+      return (SimpleDateFormat)prototype.clone();
     }
 
     @Override
@@ -16,13 +16,33 @@
 
 package juzu.processor;
 
+import juzu.impl.common.Logger;
+import juzu.impl.common.Tools;
+import juzu.impl.compiler.BaseProcessor;
+import juzu.impl.inject.BeanIndex;
 import juzu.impl.metamodel.MetaModelProcessor;
 import juzu.impl.plugin.module.metamodel.ModuleMetaModel;
 import juzu.impl.plugin.module.metamodel.ModuleMetaModelPlugin;
 
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.TreeSet;
+
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class MainProcessor extends MetaModelProcessor<ModuleMetaModelPlugin, ModuleMetaModel> {
 
+  /** . */
+  private final Logger log = BaseProcessor.getLogger(MainProcessor.class);
+
+  /** The binary names of the types compiled during the processing. */
+  private final TreeSet<String> beanClasses = new TreeSet<String>();
+
   @Override
   protected Class<ModuleMetaModelPlugin> getPluginType() {
     return ModuleMetaModelPlugin.class;
@@ -32,4 +52,63 @@ public class MainProcessor extends MetaModelProcessor<ModuleMetaModelPlugin, Mod
   protected ModuleMetaModel createMetaModel() {
     return new ModuleMetaModel();
   }
+
+  @Override
+  protected void doProcess(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (!roundEnv.errorRaised()) {
+      if (roundEnv.processingOver()) {
+        emitBeanIndex();
+      } else {
+        for (Element rootElt : roundEnv.getRootElements()) {
+          if (rootElt instanceof TypeElement) {
+            collect((TypeElement)rootElt);
+          }
+        }
+      }
+    }
+    super.doProcess(annotations, roundEnv);
+  }
+
+  private void collect(TypeElement typeElt) {
+    beanClasses.add(getContext().getBinaryName(typeElt).toString());
+    for (Element enclosedElt : typeElt.getEnclosedElements()) {
+      if (enclosedElt instanceof TypeElement) {
+        collect((TypeElement)enclosedElt);
+      }
+    }
+  }
+
+  private void emitBeanIndex() {
+
+    // Merge with the previous index as an incremental compilation does not see all the types
+    FileObject previous = getContext().getResource(StandardLocation.CLASS_OUTPUT, BeanIndex.PACKAGE, BeanIndex.NAME);
+    if (previous != null) {
+      InputStream in = null;
+      try {
+        in = previous.openInputStream();
+        beanClasses.addAll(BeanIndex.read(in));
+      }
+      catch (Exception ignore) {
+        // No previous index
+      }
+      finally {
+        Tools.safeClose(in);
+      }
+    }
+
+    //
+    OutputStream out = null;
+    try {
+      FileObject file = getContext().createResource(StandardLocation.CLASS_OUTPUT, BeanIndex.PACKAGE, BeanIndex.NAME);
+      out = file.openOutputStream();
+      BeanIndex.write(beanClasses, out);
+      log.info("Emitted bean index with " + beanClasses.size() + " classes as " + file.toUri());
+    }
+    catch (Exception e) {
+      log.warning("Could not emit bean index", e);
+    }
+    finally {
+      Tools.safeClose(out);
+    }
+  }
 }
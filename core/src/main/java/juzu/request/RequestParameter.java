@@ -16,6 +16,7 @@
 
 package juzu.request;
 
+import juzu.impl.common.ParameterDecoder;
 import juzu.impl.common.Tools;
 
 import java.util.Arrays;
@@ -28,7 +29,7 @@ import java.util.Map;
  *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  */
-public final class RequestParameter extends Parameter {
+public class RequestParameter extends Parameter {
 
   /**
    * Create new parameter.
@@ -70,7 +71,7 @@ public final class RequestParameter extends Parameter {
    * @throws IllegalArgumentException if the value is empty or contains a null component
    */
   public static RequestParameter create(String name, String[] value) throws NullPointerException, IllegalArgumentException {
-    return new RequestParameter(name, null, value);
+    return new RequestParameter(name, null, check(value));
   }
 
   /**
@@ -93,7 +94,7 @@ public final class RequestParameter extends Parameter {
     if (value == null) {
       throw new IllegalArgumentException("No null value accepted");
     }
-    return new RequestParameter(name, null, value);
+    return new RequestParameter(name, null, check(value));
   }
 
   /** . */
@@ -102,13 +103,33 @@ public final class RequestParameter extends Parameter {
   /** . */
   private final String[] raw;
 
-  /** . */
-  private final String[] value;
+  /** The decoded value, null until the raw value is decoded. */
+  private volatile String[] value;
 
-  private RequestParameter(String name, String[] raw, String[] value) throws NullPointerException, IllegalArgumentException {
+  /** The decoder of the raw value, null when the value is decoded. */
+  private final ParameterDecoder decoder;
+
+  private RequestParameter(String name, String[] raw, String[] value) throws NullPointerException {
     if (name == null) {
       throw new NullPointerException("No null name accepted");
     }
+
+    //
+    this.name = name;
+    this.raw = raw;
+    this.value = value;
+    this.decoder = null;
+  }
+
+  /**
+   * Check a value provided by the caller, the values built by this class are valid and are not checked.
+   *
+   * @param value the value to check
+   * @return the value argument
+   * @throws NullPointerException if the value is null
+   * @throws IllegalArgumentException if the value is empty or contains a null component
+   */
+  private static String[] check(String[] value) throws NullPointerException, IllegalArgumentException {
     if (value == null) {
       throw new NullPointerException("No null value accepted");
     }
@@ -120,15 +141,51 @@ public final class RequestParameter extends Parameter {
     if (value.length == 0) {
       throw new IllegalArgumentException("Value length cannot be lesser than 1");
     }
+    return value;
+  }
+
+  /**
+   * Create a parameter whose raw values are decoded by the decoder when the value is read for the first time,
+   * it is used by the {@link ParameterDecoder} implementations.
+   *
+   * @param name the parameter name
+   * @param raw the raw values
+   * @param decoder the decoder
+   * @throws NullPointerException if the name is null
+   */
+  protected RequestParameter(String name, String[] raw, ParameterDecoder decoder) throws NullPointerException {
+    if (name == null) {
+      throw new NullPointerException("No null name accepted");
+    }
 
     //
     this.name = name;
     this.raw = raw;
-    this.value = value;
+    this.value = null;
+    this.decoder = decoder;
+  }
+
+  /**
+   * Returns the decoded value, decoding the raw value the first time.
+   *
+   * @return the decoded value
+   */
+  private String[] value() {
+    String[] value = this.value;
+    if (value == null) {
+      value = new String[raw.length];
+      for (int i = 0;i < raw.length;i++) {
+        String decoded = decoder.decodeValue(raw[i]);
+        value[i] = decoded != null ? decoded : raw[i];
+      }
+      this.value = value;
+    }
+    return value;
   }
 
   @Override
   public String get(int index) {
+    String[] value = value();
     if (index < 0 || index > value.length) {
       throw new IndexOutOfBoundsException("Bad index " + index);
     }
@@ -137,7 +194,7 @@ public final class RequestParameter extends Parameter {
 
   @Override
   public int size() {
-    return value.length;
+    return decoder != null ? raw.length : value.length;
   }
 
   /**
@@ -151,7 +208,7 @@ public final class RequestParameter extends Parameter {
    * @return the first parameter value
    */
   public String getValue() {
-    return value[0];
+    return value()[0];
   }
 
   /**
@@ -161,7 +218,7 @@ public final class RequestParameter extends Parameter {
    * @return the value or null if the index is out of bounds
    */
   public String getRaw(int index) {
-    if (index < 0 || index > value.length) {
+    if (index < 0 || index > size()) {
       throw new IndexOutOfBoundsException("Bad index " + index);
     } else {
       return raw != null ? raw[index] : null;
@@ -174,7 +231,7 @@ public final class RequestParameter extends Parameter {
    * @return the value as a <code>String[]</code>
    */
   public String[] toArray() {
-    return value.clone();
+    return value().clone();
   }
 
   /**
@@ -200,26 +257,37 @@ public final class RequestParameter extends Parameter {
       return true;
     } else if (obj instanceof RequestParameter) {
       RequestParameter that = (RequestParameter)obj;
-      return name.equals(that.name) && Arrays.equals(value, that.value);
+      return name.equals(that.name) && Arrays.equals(value(), that.value());
     } else {
       return false;
     }
   }
 
   public RequestParameter append(RequestParameter appended) {
-    return new RequestParameter(name, Tools.safeConcat(raw, appended.raw), Tools.safeConcat(value, appended.value));
+    if (value == null && decoder == appended.decoder) {
+      // Both values are decoded the same way, we keep the decoding lazy
+      return new RequestParameter(name, Tools.safeConcat(raw, appended.raw), decoder);
+    }
+    return new RequestParameter(name, Tools.safeConcat(raw, appended.raw), Tools.safeConcat(value(), appended.value()));
   }
 
   public RequestParameter append(String[] appended) {
-    String[] value = new String[this.value.length + appended.length];
-    System.arraycopy(this.value, 0, value, 0, this.value.length);
-    System.arraycopy(appended, 0, value, this.value.length, appended.length);
+    for (String s : appended) {
+      if (s == null) {
+        throw new IllegalArgumentException("Parameter value cannot contain null");
+      }
+    }
+    String[] current = value();
+    String[] value = new String[current.length + appended.length];
+    System.arraycopy(current, 0, value, 0, current.length);
+    System.arraycopy(appended, 0, value, current.length, appended.length);
     return new RequestParameter(name, null, value);
   }
 
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder("RequestParameter[name=").append(name).append(",value=(");
+    String[] value = value();
     for (int i = 0;i < value.length;i++) {
       if (i > 0) {
         sb.append(',');
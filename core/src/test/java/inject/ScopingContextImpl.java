@@ -18,6 +18,7 @@ package inject;
 
 import juzu.Scope;
 import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
 import juzu.impl.inject.ScopingContext;
 
 import java.util.HashMap;
@@ -42,6 +43,14 @@ public class ScopingContextImpl implements ScopingContext {
     }
   }
 
+  public Scoped getOrCreateContextualValue(Scope scope, Object key, ScopedFactory factory) {
+    Scoped value = getContextualValue(scope, key);
+    if (value == null) {
+      setContextualValue(scope, key, value = factory.create());
+    }
+    return value;
+  }
+
   public boolean isActive(Scope scope) {
     return true;
   }
@@ -62,4 +62,25 @@ public class LifeCycleSingletonTestCase<B, I> extends AbstractInjectTestCase<B,
     assertEquals(1, Bean.construct);
     assertEquals(1, Bean.destroy);
   }
+
+  @Test
+  public void testResolveInstance() throws Exception {
+    init();
+    bootstrap.declareBean(Bean.class, null, null, null);
+    boot(Scope.SESSION);
+
+    //
+    Bean.construct = 0;
+    Bean.destroy = 0;
+
+    //
+    Bean o = mgr.resolveInstance(Bean.class);
+    assertNotNull(o);
+    assertSame(o, mgr.resolveInstance(Bean.class));
+    assertEquals(1, Bean.construct);
+
+    //
+    mgr.close();
+    assertEquals(1, Bean.destroy);
+  }
 }
@@ -55,4 +55,20 @@ public class LifeCycleUnscopedTestCase<B, I> extends AbstractInjectTestCase<B, I
     assertEquals(1, Bean.construct);
     assertEquals(1, Bean.destroy);
   }
+
+  @Test
+  public void testResolveInstance() throws Exception {
+    init();
+    bootstrap.declareBean(Bean.class, null, null, null);
+    boot();
+
+    //
+    Bean.construct = 0;
+
+    //
+    Bean o = mgr.resolveInstance(Bean.class);
+    assertNotNull(o);
+    assertNotSame(o, mgr.resolveInstance(Bean.class));
+    assertEquals(2, Bean.construct);
+  }
 }
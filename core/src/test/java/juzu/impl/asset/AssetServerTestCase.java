@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.asset;
+
+import juzu.impl.common.Logger;
+import juzu.impl.common.Name;
+import juzu.impl.common.RunMode;
+import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.plugin.application.Application;
+import juzu.impl.resource.ResourceResolver;
+import juzu.impl.runtime.ApplicationRuntime;
+import juzu.impl.runtime.ModuleRuntime;
+import juzu.test.AbstractTestCase;
+import juzu.test.CompilerAssert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * @author Julien Viet
+ */
+public class AssetServerTestCase extends AbstractTestCase {
+
+  @Test
+  public void testSnapshot() throws Exception {
+    CompilerAssert<File, File> compiler = compiler("plugin.application.default_controller");
+    compiler.assertCompile();
+    ModuleRuntime<File> module = new ModuleRuntime.Static<File>(Logger.SYSTEM, compiler.getClassLoader(), compiler.getClassOutput());
+    AssetServer server = new AssetServer();
+
+    //
+    ApplicationRuntime<?, ?> a = runtime(module, server);
+    assertTrue(a.refresh().get());
+    Map<Application, Boolean> first = server.getRuntimes();
+    assertEquals(Arrays.asList(a.getApplication()), first.keySet());
+
+    // Registering publishes a new snapshot and leaves the current one unchanged
+    ApplicationRuntime<?, ?> b = runtime(module, server);
+    assertTrue(b.refresh().get());
+    Map<Application, Boolean> second = server.getRuntimes();
+    assertEquals(Arrays.asList(a.getApplication()), first.keySet());
+    assertEquals(Arrays.asList(a.getApplication(), b.getApplication()), second.keySet());
+
+    // Unregistering while iterating a snapshot does not affect the iteration
+    Iterator<Application> i = second.keySet().iterator();
+    assertSame(a.getApplication(), i.next());
+    Application retired = a.getApplication();
+    a.close();
+    assertSame(b.getApplication(), i.next());
+    assertFalse(i.hasNext());
+    assertEquals(Arrays.asList(b.getApplication()), server.getRuntimes().keySet());
+    assertTrue(second.containsKey(retired));
+
+    // Snapshots are immutable
+    try {
+      second.remove(retired);
+      fail();
+    }
+    catch (UnsupportedOperationException ignore) {
+    }
+
+    //
+    b.close();
+    assertEquals(0, server.getRuntimes().size());
+  }
+
+  private ApplicationRuntime<?, ?> runtime(ModuleRuntime<File> module, AssetServer server) {
+    return new ApplicationRuntime<File, File>(
+        Logger.SYSTEM,
+        RunMode.PROD,
+        module,
+        InjectorProvider.GUICE.get(),
+        Name.parse("plugin.application.default_controller"),
+        server,
+        ResourceResolver.NULL_RESOLVER);
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.servlet;
+
+import juzu.impl.common.Logger;
+import juzu.impl.inject.Scoped;
+import juzu.impl.inject.ScopedFactory;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** @author Julien Viet */
+public class ServletScopedContextTestCase extends AbstractTestCase {
+
+  /** . */
+  private static final int THREADS = 64;
+
+  /** . */
+  private static final int KEYS = 16;
+
+  static class Value implements Scoped {
+
+    /** . */
+    final AtomicInteger destroyed = new AtomicInteger();
+
+    public Object get() {
+      return this;
+    }
+
+    public void destroy() {
+      destroyed.incrementAndGet();
+    }
+  }
+
+  @Test
+  public void testConcurrentCreate() throws Exception {
+    final ServletScopedContext context = new ServletScopedContext(Logger.SYSTEM);
+    final AtomicInteger[] creations = new AtomicInteger[KEYS];
+    for (int i = 0;i < KEYS;i++) {
+      creations[i] = new AtomicInteger();
+    }
+    final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<List<Scoped>>> futures = new ArrayList<Future<List<Scoped>>>();
+      for (int i = 0;i < THREADS;i++) {
+        futures.add(executor.submit(new Callable<List<Scoped>>() {
+          public List<Scoped> call() throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+            List<Scoped> values = new ArrayList<Scoped>(KEYS);
+            for (int j = 0;j < KEYS;j++) {
+              final int key = j;
+              values.add(context.getOrCreate("key" + key, new ScopedFactory() {
+                public Scoped create() {
+                  creations[key].incrementAndGet();
+                  Thread.yield();
+                  return new Value();
+                }
+              }));
+            }
+            return values;
+          }
+        }));
+      }
+      List<Scoped> expected = null;
+      for (Future<List<Scoped>> future : futures) {
+        List<Scoped> values = future.get(10, TimeUnit.SECONDS);
+        if (expected == null) {
+          expected = values;
+        } else {
+          for (int j = 0;j < KEYS;j++) {
+            assertSame(expected.get(j), values.get(j));
+          }
+        }
+      }
+      for (int i = 0;i < KEYS;i++) {
+        assertEquals(1, creations[i].get());
+      }
+      assertEquals(KEYS, context.size());
+      assertEquals(0, context.creations.size());
+
+      //
+      context.close();
+      assertEquals(0, context.size());
+      for (Scoped value : expected) {
+        assertEquals(1, ((Value)value).destroyed.get());
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testConcurrentSetAndGet() throws Exception {
+    final ServletScopedContext context = new ServletScopedContext(Logger.SYSTEM);
+    final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (int i = 0;i < THREADS;i++) {
+        final int id = i;
+        futures.add(executor.submit(new Callable<Void>() {
+          public Void call() throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+            for (int j = 0;j < 1000;j++) {
+              Object key = id + "-" + (j % KEYS);
+              Value value = new Value();
+              context.set(key, value);
+              assertSame(value, context.get(key));
+              context.set(key, null);
+              assertNull(context.get(key));
+            }
+            context.set(id, new Value());
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+      assertEquals(THREADS, context.size());
+      IdentityHashMap<Scoped, Boolean> values = new IdentityHashMap<Scoped, Boolean>();
+      for (Scoped value : context) {
+        values.put(value, true);
+      }
+      assertEquals(THREADS, values.size());
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFailedCreation() {
+    ServletScopedContext context = new ServletScopedContext(Logger.SYSTEM);
+    final RuntimeException failure = new RuntimeException();
+    try {
+      context.getOrCreate("key", new ScopedFactory() {
+        public Scoped create() {
+          throw failure;
+        }
+      });
+      fail();
+    }
+    catch (RuntimeException e) {
+      assertSame(failure, e);
+    }
+    assertNull(context.get("key"));
+    assertEquals(0, context.creations.size());
+    final Value value = new Value();
+    assertSame(value, context.getOrCreate("key", new ScopedFactory() {
+      public Scoped create() {
+        return value;
+      }
+    }));
+  }
+}
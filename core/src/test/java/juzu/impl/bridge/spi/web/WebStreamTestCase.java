@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.bridge.spi.web;
+
+import juzu.PropertyType;
+import juzu.asset.AssetLocation;
+import juzu.impl.common.RunMode;
+import juzu.impl.common.Tools;
+import juzu.io.Chunk;
+import juzu.io.Stream;
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/** @author Julien Viet */
+public class WebStreamTestCase extends AbstractTestCase {
+
+  /** . */
+  private final StringBuilder buffer = new StringBuilder();
+
+  /** . */
+  private int flushes = 0;
+
+  @Test
+  public void testFlush() throws Exception {
+    WebStream stream = context.flush(null, Collections.<Chunk.Property<String>>emptyList());
+    assertEquals(1, flushes);
+    assertTrue(buffer.toString().endsWith("</head>\n<body>\n"));
+    stream.provide(Chunk.create("content"));
+    stream.close(null);
+    assertTrue(buffer.toString().endsWith("</head>\n<body>\ncontent</body>\n</html>\n"));
+  }
+
+  @Test
+  public void testLateTitle() throws Exception {
+    assertRejected(new Chunk.Property<String>("the_title", PropertyType.TITLE));
+  }
+
+  @Test
+  public void testLateMetaTag() throws Exception {
+    assertRejected(new Chunk.Property<Map.Entry<String, String>>(new AbstractMap.SimpleEntry<String, String>("name", "value"), PropertyType.META_TAG));
+    assertRejected(new Chunk.Property<Map.Entry<String, String>>(new AbstractMap.SimpleEntry<String, String>("name", "value"), PropertyType.META_HTTP_EQUIV));
+  }
+
+  @Test
+  public void testLateHeaderTag() throws Exception {
+    Element style = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument().createElement("style");
+    assertRejected(new Chunk.Property<Element>(style, PropertyType.HEADER_TAG));
+  }
+
+  private void assertRejected(Chunk.Property<?> property) {
+    buffer.setLength(0);
+    WebStream stream = context.flush(null, Collections.<Chunk.Property<String>>emptyList());
+    String head = buffer.toString();
+    try {
+      stream.provide(property);
+      fail("Was expecting " + property.type + " to be rejected");
+    }
+    catch (IllegalStateException e) {
+      assertTrue(e.getMessage().contains("because the page head was flushed early"));
+    }
+    assertEquals(head, buffer.toString());
+  }
+
+  private final WebRequestContext context = new WebRequestContext() {
+    public RunMode getRunMode() {
+      return RunMode.PROD;
+    }
+    public Map<String, RequestParameter> getParameters() {
+      return Collections.emptyMap();
+    }
+    public String getRequestURI() {
+      return "/";
+    }
+    public String getPath() {
+      return "/";
+    }
+    public String getRequestPath() {
+      return "/";
+    }
+    public void setContentType(String mimeType, Charset charset) {
+    }
+    public void setStatus(int status) {
+    }
+    public void setHeaders(Iterable<Map.Entry<String, String[]>> headers) {
+    }
+    public void sendRedirect(String location) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+    public HttpStream getStream(int status) {
+      return new HttpStream(this, status, Tools.UTF_8) {
+        final Data data = new Data();
+        public void setStatusCode(int status) {
+        }
+        protected Stream getDataStream(boolean create) {
+          return data;
+        }
+        protected void endAsync() {
+        }
+        protected void beginAsync() {
+        }
+      };
+    }
+    public void renderAssetURL(AssetLocation location, String uri, Appendable appendable) throws IOException {
+      appendable.append(uri);
+    }
+  };
+
+  private class Data implements Stream, Flushable {
+    public void provide(Chunk chunk) {
+      if (chunk instanceof Chunk.Data.CharSequence) {
+        Chunk.Data.CharSequence cs = (Chunk.Data.CharSequence)chunk;
+        buffer.append(cs.data, cs.start, cs.end);
+      }
+    }
+    public void flush() {
+      flushes++;
+    }
+    public void close(Thread.UncaughtExceptionHandler errorHandler) {
+    }
+  }
+}
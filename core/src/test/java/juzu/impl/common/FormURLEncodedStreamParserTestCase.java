@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/** @author Julien Viet */
+public class FormURLEncodedStreamParserTestCase extends AbstractTestCase {
+
+  private Map<String, RequestParameter> parse(String form, int maxSize, int maxParameters, int maxValueSize) throws IOException {
+    FormURLEncodedStreamParser parser = new FormURLEncodedStreamParser(Tools.UTF_8, maxSize, maxParameters, maxValueSize);
+    ParameterMap.Builder parameters = new ParameterMap.Builder();
+    parser.parse(new ByteArrayInputStream(form.getBytes(Tools.UTF_8)), parameters);
+    return parameters.build();
+  }
+
+  private Map<String, RequestParameter> parse(String form) throws IOException {
+    return parse(form, -1, -1, -1);
+  }
+
+  @Test
+  public void testParse() throws IOException {
+    assertEquals(Collections.<String, RequestParameter>emptyMap(), parse(""));
+    Map<String, RequestParameter> parameters = parse("a=b&c=d+e&a=%C3%A9&f&=g&&h=i=j&%C3%A9+%2B=k&%ZZ=m");
+    assertEquals(5, parameters.size());
+    assertEquals(RequestParameter.create("a", new String[]{"b", "\u00E9"}), parameters.get("a"));
+    assertEquals("d e", parameters.get("c").getValue());
+    assertEquals("d+e", parameters.get("c").getRaw(0));
+    assertEquals("", parameters.get("f").getValue());
+    assertEquals("i=j", parameters.get("h").getValue());
+    assertEquals("k", parameters.get("\u00E9 +").getValue());
+  }
+
+  @Test
+  public void testLargeForm() throws IOException {
+    StringBuilder value = new StringBuilder();
+    for (int i = 0;i < 10000;i++) {
+      value.append("%C3%A9");
+    }
+    Map<String, RequestParameter> parameters = parse("a=" + value);
+    assertEquals(10000, parameters.get("a").getValue().length());
+  }
+
+  @Test
+  public void testMaxSize() throws IOException {
+    parse("a=b", 3, -1, -1);
+    try {
+      parse("a=bc", 3, -1, -1);
+      fail();
+    }
+    catch (FormLimitException expected) {
+    }
+  }
+
+  @Test
+  public void testMaxParameters() throws IOException {
+    parse("a=b&c=d", -1, 2, -1);
+    try {
+      parse("a=b&c=d&e=f", -1, 2, -1);
+      fail();
+    }
+    catch (FormLimitException expected) {
+    }
+  }
+
+  @Test
+  public void testMaxValueSize() throws IOException {
+    parse("ab=cd", -1, -1, 2);
+    try {
+      parse("a=bcd", -1, -1, 2);
+      fail();
+    }
+    catch (FormLimitException expected) {
+    }
+    try {
+      parse("abc=d", -1, -1, 2);
+      fail();
+    }
+    catch (FormLimitException expected) {
+    }
+  }
+}
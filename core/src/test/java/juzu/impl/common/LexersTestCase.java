@@ -177,4 +177,25 @@ public class LexersTestCase extends AbstractTestCase {
     assertEquals("%2B", Lexers.queryParser("a=%2B").next().getRaw(0));
     assertEquals("+", Lexers.queryParser("a=%2B").next().get(0));
   }
+
+  @Test
+  public void testParseQueryStringLazy() {
+    String s = "a=%2B&b=%C3%A9&a=c";
+    Iterator<RequestParameter> i = Lexers.queryParser(s, 0, s.length(), true);
+    RequestParameter a = i.next();
+    assertEquals("a", a.getName());
+    assertEquals("%2B", a.getRaw(0));
+    assertEquals("+", a.getValue());
+    RequestParameter b = i.next();
+    assertEquals("\u00E9", b.getValue());
+    RequestParameter c = i.next();
+    RequestParameter appended = RequestParameter.create("a", "%2B", "+").append(c);
+    assertEquals(RequestParameter.create("a", new String[]{"+", "c"}), appended);
+    assertEquals(2, a.append(c).size());
+    assertEquals(RequestParameter.create("a", new String[]{"+", "c"}), a.append(c));
+    assertFalse(i.hasNext());
+
+    // Malformed values are kept raw
+    assertEquals("%", Lexers.queryParser("a=%", 0, 3, true).next().getValue());
+  }
 }
@@ -29,6 +29,7 @@ import java.lang.reflect.ParameterizedType;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.Collections;
 
 /** @author Julien Viet */
 public class LiveClassLoaderTestCase extends AbstractTestCase {
@@ -178,6 +179,30 @@ public class LiveClassLoaderTestCase extends AbstractTestCase {
     }
   }
 
+  public static class Defined {
+  }
+
+  @Test
+  public void testDefineFromBytecode() throws Exception {
+    String name = Defined.class.getName();
+    byte[] bytecode = Tools.bytes(Defined.class.getResource(name.substring(name.lastIndexOf('.') + 1) + ".class"));
+    ClassLoader parent = ClassLoader.getSystemClassLoader().getParent();
+    URL output = new File("classes").getAbsoluteFile().toURI().toURL();
+    LiveClassLoader loader = new LiveClassLoader(new URL[]{output}, parent, Collections.singletonMap(name, new Resource(bytecode, null)));
+    Class<?> defined = loader.loadClass(name);
+    assertSame(loader, defined.getClassLoader());
+    assertEquals(output, defined.getProtectionDomain().getCodeSource().getLocation());
+    assertNotSame(Defined.class, defined);
+    assertEquals(Defined.class.getPackage().getName(), defined.getPackage().getName());
+    assertSame(defined, loader.loadClass(name));
+    try {
+      loader.loadClass("foo.bar");
+      fail();
+    }
+    catch (ClassNotFoundException ok) {
+    }
+  }
+
   @Test
   public void testFoundLocally() throws Exception {
     Context ctx = new Context("common.live.foundlocally");
@@ -27,6 +27,19 @@ import java.util.Collections;
 public class NameTestCase extends AbstractTestCase {
 
 
+  @Test
+  public void testSerialization() throws Exception {
+    Name name = Name.parse("a.b.c");
+    Name cloned = Tools.clone(name);
+    assertEquals(name, cloned);
+    assertEquals("a.b.c", cloned.toString());
+    assertEquals(Name.parse("a.b"), cloned.getParent());
+    Name parent = Tools.clone(name.getParent());
+    assertEquals(Name.parse("a.b"), parent);
+    assertEquals(2, parent.size());
+    assertSame(Name.parse(""), Tools.clone(Name.parse("")));
+  }
+
   @Test
   public void testKind() {
     Name empty = Name.parse("");
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/** @author Julien Viet */
+public class ParameterMapTestCase extends AbstractTestCase {
+
+  @Test
+  public void testEmpty() {
+    Map<String, RequestParameter> map = new ParameterMap.Builder().build();
+    assertEquals(Collections.<String, RequestParameter>emptyMap(), map);
+  }
+
+  @Test
+  public void testBuild() {
+    ParameterMap.Builder builder = new ParameterMap.Builder();
+    HashMap<String, RequestParameter> expected = new HashMap<String, RequestParameter>();
+    for (int i = 0;i < 100;i++) {
+      RequestParameter parameter = RequestParameter.create("p" + i, "v" + i);
+      builder.append(parameter);
+      expected.put(parameter.getName(), parameter);
+    }
+    builder.append(RequestParameter.create("p0", "w0"));
+    expected.put("p0", RequestParameter.create("p0", new String[]{"v0", "w0"}));
+    builder.set(RequestParameter.create("p1", "w1"));
+    expected.put("p1", RequestParameter.create("p1", "w1"));
+    Map<String, RequestParameter> map = builder.build();
+    assertEquals(100, map.size());
+    assertEquals(expected, map);
+    assertEquals(expected.hashCode(), map.hashCode());
+    assertEquals(new HashSet<RequestParameter>(expected.values()), new HashSet<RequestParameter>(map.values()));
+    assertNull(map.get("p100"));
+    assertNull(map.get(0));
+  }
+
+  @Test
+  public void testLayer() {
+    Map<String, RequestParameter> parent = new ParameterMap.Builder().
+        append(RequestParameter.create("a", "a_parent")).
+        append(RequestParameter.create("b", "b_parent")).
+        build();
+    Map<String, RequestParameter> map = new ParameterMap.Builder(parent, null).
+        set(RequestParameter.create("b", "b_value")).
+        set(RequestParameter.create("c", "c_value")).
+        build();
+    assertEquals(3, map.size());
+    assertEquals("a_parent", map.get("a").getValue());
+    assertEquals("b_value", map.get("b").getValue());
+    assertEquals("c_value", map.get("c").getValue());
+    HashMap<String, RequestParameter> copy = new HashMap<String, RequestParameter>(map);
+    assertEquals(3, copy.size());
+    assertEquals("b_value", copy.get("b").getValue());
+    assertEquals(2, parent.size());
+    assertEquals("b_parent", parent.get("b").getValue());
+  }
+
+  @Test
+  public void testCanonicalNames() {
+    String name = new String("foo");
+    Map<String, String> names = Collections.singletonMap(name, name);
+    Map<String, RequestParameter> map = new ParameterMap.Builder(null, names).
+        append(RequestParameter.create(new String("foo"), "bar")).
+        build();
+    assertSame(name, map.keySet().iterator().next());
+    assertEquals("bar", map.get(name).getValue());
+  }
+}
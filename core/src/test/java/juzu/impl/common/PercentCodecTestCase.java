@@ -54,9 +54,52 @@ public class PercentCodecTestCase extends AbstractTestCase {
     //
     assertDecodeException("%5_");
     assertDecodeException("%E2%82");
+    assertDecodeException("%E2%82_");
+    assertDecodeException("%");
 
   }
 
+  @Test
+  public void testUnchanged() {
+    String s = "abc_DEF-012";
+    assertSame(s, codec.encode(s));
+    assertSame(s, codec.decode(s));
+  }
+
+  @Test
+  public void testBulk() {
+    char[] chars = "_a\u00E7&\u20AC_".toCharArray();
+    assertEquals("a%C3%A7%26%E2%82%AC", codec.encode(chars, 1, 4));
+    char[] encoded = "_a%C3%A7%26%E2%82%AC_".toCharArray();
+    assertEquals("a\u00E7&\u20AC", codec.decode(encoded, 1, encoded.length - 2));
+    assertEquals("_a%C3%A7%26%E2%82%AC_", new String(encoded));
+    byte[] bytes = "_a%c3%a7%26_".getBytes(Tools.ISO_8859_1);
+    assertEquals("_a\u00E7&_", codec.decode(bytes, 0, bytes.length));
+    assertEquals("abc", codec.decode("abc".getBytes(Tools.ISO_8859_1), 0, 3));
+    try {
+      codec.decode("a&b".getBytes(Tools.ISO_8859_1), 0, 3);
+      fail();
+    }
+    catch (IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testCompose() {
+    PercentCodec codec = PercentCodec.create("ab");
+    assertTrue(codec.accept('a'));
+    assertFalse(codec.accept('c'));
+    assertFalse(codec.accept('\u00E7'));
+    assertTrue(codec.or("c").accept('c'));
+    assertFalse(codec.clear('a').accept('a'));
+    assertTrue(codec.accept('a'));
+    assertTrue(PercentCodec.RFC3986_QUERY_PARAM_VALUE.accept('='));
+    assertFalse(PercentCodec.RFC3986_QUERY_PARAM_NAME.accept('='));
+    assertFalse(PercentCodec.RFC3986_QUERY_PARAM_VALUE.accept('&'));
+    assertTrue(PercentCodec.RFC3986_PATH.accept('/'));
+    assertFalse(PercentCodec.RFC3986_SEGMENT.accept('/'));
+  }
+
   private void assertDecodeException(String coded) {
     try {
       codec.decode(coded);
@@ -19,12 +19,16 @@ package juzu.impl.common;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -281,4 +285,88 @@ public class ToolsTestCase extends AbstractTestCase {
     assertEquals("Services count is different than expected", 3, count);
   }
 
+  @Test
+  public void testInvokeAll() throws Exception {
+    List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+    for (int i = 0;i < 10;i++) {
+      final int value = i;
+      tasks.add(new Callable<Integer>() {
+        public Integer call() throws Exception {
+          return value;
+        }
+      });
+    }
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), Tools.invokeAll(tasks));
+    final Exception failure = new Exception();
+    tasks.set(3, new Callable<Integer>() {
+      public Integer call() throws Exception {
+        throw failure;
+      }
+    });
+    try {
+      Tools.invokeAll(tasks);
+      fail();
+    }
+    catch (ExecutionException e) {
+      assertSame(failure, e.getCause());
+    }
+    try {
+      Tools.invokeAll(tasks.subList(3, 4));
+      fail();
+    }
+    catch (ExecutionException e) {
+      assertSame(failure, e.getCause());
+    }
+  }
+
+  @Test
+  public void testInvokeAllNested() throws Exception {
+    int size = Runtime.getRuntime().availableProcessors() * 2;
+    List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+    for (int i = 0;i < size;i++) {
+      final int value = i;
+      tasks.add(new Callable<Integer>() {
+        public Integer call() throws Exception {
+          List<Callable<Integer>> nested = new ArrayList<Callable<Integer>>();
+          for (int j = 0;j < 2;j++) {
+            nested.add(new Callable<Integer>() {
+              public Integer call() throws Exception {
+                return value;
+              }
+            });
+          }
+          List<Integer> results = Tools.invokeAll(nested);
+          return results.get(0) + results.get(1);
+        }
+      });
+    }
+
+    // The nested invocations complete even when all the threads of the pool are busy
+    List<Integer> results = Tools.invokeAll(tasks);
+    for (int i = 0;i < size;i++) {
+      assertEquals(2 * i, (int)results.get(i));
+    }
+  }
+
+  @Test
+  public void testInvokeAllContextClassLoader() throws Exception {
+    final ClassLoader loader = new URLClassLoader(new URL[0]);
+    List<Callable<ClassLoader>> tasks = new ArrayList<Callable<ClassLoader>>();
+    for (int i = 0;i < 4;i++) {
+      tasks.add(new Callable<ClassLoader>() {
+        public ClassLoader call() throws Exception {
+          return Thread.currentThread().getContextClassLoader();
+        }
+      });
+    }
+    Thread current = Thread.currentThread();
+    ClassLoader previous = current.getContextClassLoader();
+    current.setContextClassLoader(loader);
+    try {
+      assertEquals(Arrays.asList(loader, loader, loader, loader), Tools.invokeAll(tasks));
+    }
+    finally {
+      current.setContextClassLoader(previous);
+    }
+  }
 }
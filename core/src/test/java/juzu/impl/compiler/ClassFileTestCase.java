@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.compiler;
+
+import juzu.impl.common.Tools;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/** @author Julien Viet */
+public class ClassFileTestCase extends AbstractTestCase {
+
+  static class Bar {
+  }
+
+  static class Juu {
+  }
+
+  abstract static class Boo {
+    // The descriptor is (ILjava/util/BitSet;[JLjava/util/Locale;)V and the class has no other reference to those types
+    abstract void m(int i, BitSet bitSet, long[] l, Locale locale);
+  }
+
+  static class Foo implements Serializable, Callable<List<Bar>> {
+    public List<Bar> call() throws Exception {
+      return Collections.singletonList(new Bar());
+    }
+  }
+
+  private static ClassFile parse(Class<?> type) throws IOException {
+    InputStream in = type.getClassLoader().getResourceAsStream(type.getName().replace('.', '/') + ".class");
+    try {
+      return ClassFile.parse(Tools.bytes(in));
+    }
+    finally {
+      Tools.safeClose(in);
+    }
+  }
+
+  @Test
+  public void testParse() throws IOException {
+    ClassFile classFile = parse(Foo.class);
+    assertEquals("juzu/impl/compiler/ClassFileTestCase$Foo", classFile.getName());
+    assertEquals("juzu/impl/compiler", classFile.getPackageName());
+    assertEquals("java/lang/Object", classFile.getSuperName());
+    assertEquals(2, classFile.getInterfaces().length);
+    assertEquals("java/io/Serializable", classFile.getInterfaces()[0]);
+    assertEquals("java/util/concurrent/Callable", classFile.getInterfaces()[1]);
+    assertEquals("ClassFileTestCase.java", classFile.getSource());
+    assertEquals("/juzu/impl/compiler/ClassFileTestCase.java", classFile.getCompilationUnit());
+    assertTrue(classFile.isSubtypeOf(Collections.singleton("java/util/concurrent/Callable")));
+    assertFalse(classFile.isSubtypeOf(Collections.singleton("java/lang/Runnable")));
+    assertTrue(classFile.references(Collections.singleton("juzu/impl/compiler/ClassFileTestCase$Bar")));
+    assertTrue(classFile.references(Collections.singleton("java/util/List")));
+    assertFalse(classFile.references(Collections.singleton("juzu/impl/compiler/ClassFileTestCase$Juu")));
+  }
+
+  @Test
+  public void testPrimitiveFollowedByClass() throws IOException {
+    ClassFile classFile = parse(Boo.class);
+    assertTrue(classFile.references(Collections.singleton("java/util/BitSet")));
+    assertTrue(classFile.references(Collections.singleton("java/util/Locale")));
+    assertFalse(classFile.references(Collections.singleton("juzu/impl/compiler/ClassFileTestCase$Bar")));
+  }
+
+  @Test
+  public void testSignature() {
+    assertSignature("(ILfoo/A;)V", "foo/A");
+    assertSignature("(J[[Lfoo/A;Z)Lfoo/B;", "foo/A", "foo/B");
+    assertSignature("[Lfoo/A;", "foo/A");
+    assertSignature("Ljava/util/List<+Lfoo/A;>;", "java/util/List", "foo/A");
+    assertSignature("Lfoo/Outer<TT;>.Inner<*>;", "foo/Outer", "foo/Outer$Inner");
+    assertSignature("<T:Ljava/lang/Object;U::Lfoo/A;>Lfoo/B<TT;>;Lfoo/C;", "java/lang/Object", "foo/A", "foo/B", "foo/C");
+    assertSignature("<E:Ljava/lang/Exception;>(TE;I)V^TE;^Lfoo/A;", "java/lang/Exception", "foo/A");
+    assertSignature("LineNumberTable");
+    assertSignature("Code");
+    assertSignature("I");
+  }
+
+  private static void assertSignature(String signature, String... expected) {
+    HashSet<String> names = new HashSet<String>();
+    ClassFile.signature(signature, names);
+    assertEquals(Tools.set(expected), names);
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      ClassFile.parse(new byte[]{0, 1, 2, 3});
+      fail();
+    }
+    catch (IOException ignore) {
+    }
+  }
+}
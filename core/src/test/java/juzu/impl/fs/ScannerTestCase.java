@@ -23,6 +23,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ScannerTestCase extends AbstractTestCase {
@@ -97,4 +98,53 @@ public class ScannerTestCase extends AbstractTestCase {
     snapshot = snapshot.scan();
     assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
   }
+
+  @Test
+  public void testHybrid() throws IOException {
+    RAMFileSystem fs = new RAMFileSystem();
+    final AtomicInteger count = new AtomicInteger();
+    FileSystemScanner<String[]> scanner = new FileSystemScanner.Hybrid<String[]>(fs, 0) {
+      @Override
+      protected long stampOf(String[] file) throws IOException {
+        count.incrementAndGet();
+        return super.stampOf(file);
+      }
+    };
+
+    //
+    Snapshot<String[]> snapshot = scanner.take();
+    String[] bar = fs.makePath(fs.makePath(fs.getRoot(), "foo"), "bar.txt");
+    fs.updateResource(bar, new Resource("a"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo/bar.txt", Change.ADD), snapshot.getChanges());
+    assertEquals(1, count.get());
+
+    // Not modified : not hashed
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
+    assertEquals(1, count.get());
+
+    // Touched : hashed but not changed
+    fs.updateResource(bar, new Resource("a"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
+    assertEquals(2, count.get());
+
+    //
+    fs.updateResource(bar, new Resource("b"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo/bar.txt", Change.UPDATE), snapshot.getChanges());
+    assertEquals(3, count.get());
+
+    //
+    fs.removePath(bar);
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo/bar.txt", Change.REMOVE), snapshot.getChanges());
+    assertEquals(3, count.get());
+  }
 }
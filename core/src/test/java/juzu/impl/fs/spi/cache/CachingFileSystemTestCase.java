@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.fs.spi.cache;
+
+import juzu.impl.common.Resource;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.Change;
+import juzu.impl.fs.spi.ram.RAMFileSystem;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/** @author Julien Viet */
+public class CachingFileSystemTestCase extends AbstractTestCase {
+
+  @Test
+  public void testReadThrough() throws Exception {
+    RAMFileSystem ram = new RAMFileSystem();
+    String[] foo = ram.makePath(ram.getRoot(), "foo");
+    ram.createDir(foo);
+    String[] bar = ram.makePath(foo, "bar.txt");
+    ram.updateResource(bar, new Resource("bar"));
+    CachingFileSystem<String[]> fs = new CachingFileSystem<String[]>(ram);
+
+    //
+    String[] cachedFoo = fs.getChild(fs.getRoot(), "foo");
+    assertTrue(fs.isDir(cachedFoo));
+    String[] cachedBar = fs.getPath("foo", "bar.txt");
+    assertTrue(fs.isFile(cachedBar));
+    assertEquals(ram.getLastModified(bar), fs.getLastModified(cachedBar));
+    assertEquals("bar", fs.getResource(cachedBar).getObject().getCharSequence().toString());
+    assertEquals(Arrays.asList("foo", "bar.txt"), Tools.list(fs.getNames(cachedBar)));
+
+    // The tree is cached
+    String[] juu = ram.makePath(foo, "juu.txt");
+    ram.updateResource(juu, new Resource("juu"));
+    assertNull(fs.getChild(cachedFoo, "juu.txt"));
+    assertEquals(1, Tools.list(fs.getChildren(cachedFoo)).size());
+
+    // Until it is invalidated
+    fs.invalidate(cachedFoo);
+    assertNotNull(fs.getChild(cachedFoo, "juu.txt"));
+    List<String[]> children = Tools.list(fs.getChildren(cachedFoo));
+    assertEquals(2, children.size());
+  }
+
+  @Test
+  public void testLastModified() throws Exception {
+    RAMFileSystem ram = new RAMFileSystem();
+    String[] foo = ram.makePath(ram.getRoot(), "foo.txt");
+    ram.updateResource(foo, new Resource("foo"));
+    CachingFileSystem<String[]> fs = new CachingFileSystem<String[]>(ram);
+    long lastModified = fs.getLastModified(foo);
+    waitForOneMillis();
+    ram.updateResource(foo, new Resource("bar"));
+    assertEquals(lastModified, fs.getLastModified(foo));
+    fs.invalidate();
+    assertEquals(ram.getLastModified(foo), fs.getLastModified(foo));
+    assertTrue(lastModified < fs.getLastModified(foo));
+  }
+
+  @Test
+  public void testContent() throws Exception {
+    RAMFileSystem ram = new RAMFileSystem();
+    String[] small = ram.makePath(ram.getRoot(), "small.txt");
+    ram.updateResource(small, new Resource("abc"));
+    String[] large = ram.makePath(ram.getRoot(), "large.txt");
+    ram.updateResource(large, new Resource("abcdef"));
+    CachingFileSystem<String[]> fs = new CachingFileSystem<String[]>(ram, 4);
+    assertEquals("abc", fs.getResource(small).getObject().getCharSequence().toString());
+    assertEquals("abcdef", fs.getResource(large).getObject().getCharSequence().toString());
+    ram.updateResource(small, new Resource("ABC"));
+    ram.updateResource(large, new Resource("ABCDEF"));
+    assertEquals("abc", fs.getResource(small).getObject().getCharSequence().toString());
+    assertEquals("ABCDEF", fs.getResource(large).getObject().getCharSequence().toString());
+    fs.invalidate(small);
+    assertEquals("ABC", fs.getResource(small).getObject().getCharSequence().toString());
+  }
+
+  @Test
+  public void testNoContent() throws Exception {
+    RAMFileSystem ram = new RAMFileSystem();
+    String[] foo = ram.makePath(ram.getRoot(), "foo.txt");
+    ram.updateResource(foo, new Resource("foo"));
+    CachingFileSystem<String[]> fs = new CachingFileSystem<String[]>(ram);
+    assertEquals("foo", fs.getResource(foo).getObject().getCharSequence().toString());
+    ram.updateResource(foo, new Resource("bar"));
+    assertEquals("bar", fs.getResource(foo).getObject().getCharSequence().toString());
+  }
+
+  @Test
+  public void testInvalidateChanges() throws Exception {
+    RAMFileSystem ram = new RAMFileSystem();
+    String[] foo = ram.makePath(ram.getRoot(), "foo");
+    ram.createDir(foo);
+    String[] bar = ram.makePath(foo, "bar.txt");
+    ram.updateResource(bar, new Resource("bar"));
+    CachingFileSystem<String[]> fs = new CachingFileSystem<String[]>(ram);
+    long lastModified = fs.getLastModified(fs.getPath("foo", "bar.txt"));
+    assertEquals(1, Tools.list(fs.getChildren(fs.getRoot())).size());
+
+    // An update invalidates the file
+    waitForOneMillis();
+    ram.updateResource(bar, new Resource("BAR"));
+    fs.invalidate(Collections.singletonMap("/foo/bar.txt", Change.UPDATE));
+    assertTrue(lastModified < fs.getLastModified(fs.getPath("foo", "bar.txt")));
+
+    // An addition invalidates the ancestors
+    String[] juu = ram.makePath(ram.makePath(ram.getRoot(), "juu"), "juu.txt");
+    ram.updateResource(juu, new Resource("juu"));
+    assertNull(fs.getPath("juu", "juu.txt"));
+    fs.invalidate(Collections.singletonMap("/juu/juu.txt", Change.ADD));
+    assertNotNull(fs.getPath("juu", "juu.txt"));
+    assertEquals(2, Tools.list(fs.getChildren(fs.getRoot())).size());
+
+    // A removal invalidates the ancestors
+    ram.removePath(bar);
+    assertNotNull(fs.getPath("foo", "bar.txt"));
+    fs.invalidate(Collections.singletonMap("/foo/bar.txt", Change.REMOVE));
+    assertNull(fs.getPath("foo", "bar.txt"));
+  }
+}
@@ -27,7 +27,9 @@ import org.junit.Test;
 import javax.inject.Inject;
 import javax.portlet.Portlet;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -87,6 +89,43 @@ public class JarFileSystemTestCase extends AbstractTestCase {
     assertTrue(set4.containsAll(expectedSet4));
   }
 
+  @Test
+  public void testURL() throws Exception {
+    URL url = Portlet.class.getProtectionDomain().getCodeSource().getLocation();
+    JarFileSystem expected = new JarFileSystem(new JarFile(new File(url.toURI())));
+    JarFileSystem fs = new JarFileSystem(url);
+    assertEquals(Tools.set(expected.getChildren("")), Tools.set(fs.getChildren("")));
+    assertEquals(Tools.set(expected.getChildren("javax/portlet/")), Tools.set(fs.getChildren("javax/portlet/")));
+    assertEquals("javax/portlet/Portlet.class", fs.getChild("javax/portlet/", "Portlet.class"));
+    assertEquals(expected.getLastModified("javax/portlet/Portlet.class"), fs.getLastModified("javax/portlet/Portlet.class"));
+    assertTrue(fs.getResource("javax/portlet/Portlet.class").getObject().getBytes().length > 0);
+  }
+
+  @Test
+  public void testUnescapedURL() throws Exception {
+    URL url = Portlet.class.getProtectionDomain().getCodeSource().getLocation();
+    JarFileSystem expected = new JarFileSystem(new JarFile(new File(url.toURI())));
+    File copy = File.createTempFile("juzu ", ".jar");
+    try {
+      InputStream in = url.openStream();
+      try {
+        Tools.safeClose(Tools.copy(in, new FileOutputStream(copy)));
+      }
+      finally {
+        Tools.safeClose(in);
+      }
+
+      // The space is not escaped and the url cannot be converted to an uri
+      URL unescaped = new URL("file:" + copy.getAbsolutePath());
+      JarFileSystem fs = new JarFileSystem(unescaped);
+      assertEquals(Tools.set(expected.getChildren("javax/portlet/")), Tools.set(fs.getChildren("javax/portlet/")));
+      assertTrue(fs.getResource("javax/portlet/Portlet.class").getObject().getBytes().length > 0);
+    }
+    finally {
+      assertTrue(copy.delete());
+    }
+  }
+
 /*
   @Test
   public void testFoo() throws Exception {
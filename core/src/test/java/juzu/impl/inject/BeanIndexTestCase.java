@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.inject;
+
+import juzu.impl.common.Resource;
+import juzu.impl.fs.spi.ram.RAMFileSystem;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/** @author Julien Viet */
+public class BeanIndexTestCase extends AbstractTestCase {
+
+  @Test
+  public void testReadWrite() throws IOException {
+    TreeSet<String> names = new TreeSet<String>(Arrays.asList("foo.Bar", "foo.Bar$Juu", "Daa"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BeanIndex.write(names, out);
+    assertEquals("Daa\nfoo.Bar\nfoo.Bar$Juu\n", out.toString("UTF-8"));
+    assertEquals(names, BeanIndex.read(new ByteArrayInputStream(out.toByteArray())));
+  }
+
+  @Test
+  public void testLoad() throws IOException {
+    RAMFileSystem fs = new RAMFileSystem();
+    assertNull(BeanIndex.load(fs));
+    fs.updateResource(fs.makePath(Arrays.asList("foo", "Bar.class")), new Resource(""));
+    fs.updateResource(fs.makePath(Arrays.asList("foo", "Bar$Juu.class")), new Resource(""));
+    fs.updateResource(fs.makePath(Arrays.asList(BeanIndex.PACKAGE, BeanIndex.NAME)), new Resource("foo.Bar\nfoo.Bar$Juu\nfoo.Removed\n"));
+    assertEquals(Arrays.asList("foo.Bar", "foo.Bar$Juu"), BeanIndex.load(fs));
+  }
+}
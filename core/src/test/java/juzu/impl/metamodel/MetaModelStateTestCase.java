@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.metamodel;
+
+import juzu.impl.plugin.module.metamodel.ModuleMetaModel;
+import juzu.impl.plugin.module.metamodel.ModuleMetaModelPlugin;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/** @author Julien Viet */
+public class MetaModelStateTestCase extends AbstractTestCase {
+
+  @Test
+  public void testReadWrite() throws Exception {
+    MetaModelState<ModuleMetaModelPlugin, ModuleMetaModel> state = new MetaModelState<ModuleMetaModelPlugin, ModuleMetaModel>(ModuleMetaModelPlugin.class, new ModuleMetaModel());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MetaModelState.write(state, out);
+    MetaModelState<?, ?> read = MetaModelState.read(new ByteArrayInputStream(out.toByteArray()));
+    assertTrue(read.metaModel instanceof ModuleMetaModel);
+  }
+
+  @Test
+  public void testInvalid() throws Exception {
+    MetaModelState<ModuleMetaModelPlugin, ModuleMetaModel> state = new MetaModelState<ModuleMetaModelPlugin, ModuleMetaModel>(ModuleMetaModelPlugin.class, new ModuleMetaModel());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MetaModelState.write(state, out);
+    byte[] bytes = out.toByteArray();
+    bytes[7]++;
+    try {
+      MetaModelState.read(new ByteArrayInputStream(bytes));
+      fail();
+    }
+    catch (IOException expected) {
+    }
+    try {
+      MetaModelState.read(new ByteArrayInputStream(new byte[]{0, 0, 0, 0}));
+      fail();
+    }
+    catch (IOException expected) {
+    }
+  }
+}
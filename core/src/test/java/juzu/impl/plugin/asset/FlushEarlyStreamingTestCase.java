@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.plugin.asset;
+
+import juzu.impl.bridge.DescriptorBuilder;
+import juzu.impl.common.RunMode;
+import juzu.impl.common.Tools;
+import juzu.test.AbstractWebTestCase;
+import juzu.test.Registry;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+
+/** @author Julien Viet */
+public class FlushEarlyStreamingTestCase extends AbstractWebTestCase {
+
+  @Deployment(testable = false)
+  public static WebArchive createDeployment() {
+    return createServletDeployment(DescriptorBuilder.DEFAULT.flushEarly(true).runMode(RunMode.DEV).servletApp("plugin.asset.flushearly"), true);
+  }
+
+  @Test
+  public void testHeadSentBeforeController() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    Registry.set("latch", latch);
+    Registry.unset("released");
+    try {
+      HttpURLConnection conn = (HttpURLConnection)applicationURL().openConnection();
+      assertEquals(200, conn.getResponseCode());
+      InputStream in = conn.getInputStream();
+      Reader reader = new InputStreamReader(in, Tools.ISO_8859_1);
+      StringBuilder buffer = new StringBuilder();
+      while (buffer.indexOf("</head>") == -1) {
+        int c = reader.read();
+        if (c == -1) {
+          throw failure("Was expecting the page head instead of " + buffer);
+        }
+        buffer.append((char)c);
+      }
+
+      // The controller is still waiting
+      assertNull(Registry.get("released"));
+      assertTrue(buffer.indexOf("test.js") != -1);
+      latch.countDown();
+
+      //
+      String body = Tools.read(reader);
+      assertTrue(body.contains("content"));
+      assertEquals(Boolean.TRUE, Registry.get("released"));
+    }
+    finally {
+      latch.countDown();
+      Registry.unset("latch");
+      Registry.unset("released");
+    }
+  }
+
+  @Test
+  public void testLateTitle() throws Exception {
+    assertLateHeadProperty("/title", "late_title");
+  }
+
+  @Test
+  public void testLateMeta() throws Exception {
+    assertLateHeadProperty("/meta", "late_meta");
+    assertLateHeadProperty("/meta", "late_equiv");
+  }
+
+  @Test
+  public void testLateHeaderTag() throws Exception {
+    assertLateHeadProperty("/header", "late_header");
+  }
+
+  @Test
+  public void testNonContentResponse() throws Exception {
+    HttpURLConnection conn = (HttpURLConnection)applicationURL("/redirect").openConnection();
+    conn.setInstanceFollowRedirects(false);
+    assertEquals(200, conn.getResponseCode());
+    assertNull(conn.getHeaderField("Location"));
+    String page = Tools.read(conn.getInputStream());
+    assertTrue(page.contains("because the page head was flushed early"));
+  }
+
+  private void assertLateHeadProperty(String path, String value) throws Exception {
+    HttpURLConnection conn = (HttpURLConnection)applicationURL(path).openConnection();
+    assertEquals(200, conn.getResponseCode());
+    String page = Tools.read(conn.getInputStream());
+    assertTrue(page.contains("test.js"));
+    assertTrue(page.contains("content"));
+    assertFalse("Was not expecting " + value + " in " + page, page.contains(value));
+  }
+}
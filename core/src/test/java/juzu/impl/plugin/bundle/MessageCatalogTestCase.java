@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.bundle;
+
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** @author Julien Viet */
+public class MessageCatalogTestCase extends AbstractTestCase {
+
+  @Test
+  public void testFlatten() {
+    final AtomicInteger count = new AtomicInteger();
+    MessageCatalog catalog = new MessageCatalog() {
+      @Override
+      protected ResourceBundle load(Locale locale) {
+        count.incrementAndGet();
+        final ListResourceBundle parent = new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][]{{"foo", "foo_value"}, {"bar", "bar_parent"}};
+          }
+        };
+        return new ListResourceBundle() {
+          {
+            setParent(parent);
+          }
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][]{{"bar", "bar_value"}};
+          }
+        };
+      }
+    };
+    ResourceBundle bundle = catalog.get(Locale.ENGLISH);
+    assertEquals("foo_value", bundle.getString("foo"));
+    assertEquals("bar_value", bundle.getString("bar"));
+    assertEquals(2, bundle.keySet().size());
+    assertSame(bundle, catalog.get(Locale.ENGLISH));
+    assertEquals(1, count.get());
+    catalog.get(Locale.FRENCH);
+    assertEquals(2, count.get());
+  }
+
+  @Test
+  public void testNoBundle() {
+    final AtomicInteger count = new AtomicInteger();
+    MessageCatalog catalog = new MessageCatalog() {
+      @Override
+      protected ResourceBundle load(Locale locale) {
+        count.incrementAndGet();
+        return null;
+      }
+    };
+    assertNull(catalog.get(Locale.ENGLISH));
+    assertNull(catalog.get(Locale.ENGLISH));
+    assertEquals(1, count.get());
+  }
+}
@@ -16,6 +16,7 @@
 
 package juzu.impl.plugin.controller;
 
+import juzu.Format;
 import juzu.impl.common.JSON;
 import juzu.impl.inject.spi.InjectorProvider;
 import juzu.impl.value.ValueType;
@@ -28,8 +29,17 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.lang.reflect.AnnotatedElement;
 import java.net.URL;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ValueTypeTestCase extends AbstractTestCase {
@@ -89,6 +99,58 @@ public class ValueTypeTestCase extends AbstractTestCase {
     runSuccess("plugin.controller.valuetype.date");
   }
 
+  @Format("yyyy-MM-dd HH:mm:ss")
+  public void formatted() {
+  }
+
+  @Test
+  public void testConcurrentDate() throws Exception {
+    final AnnotatedElement element = ValueTypeTestCase.class.getMethod("formatted");
+    // Use a zone without daylight saving time, otherwise some of the wall clock times below do not exist
+    TimeZone zone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+      for (int i = 0;i < 8;i++) {
+        final int offset = i;
+        futures.add(executor.submit(new Callable<Integer>() {
+          public Integer call() throws Exception {
+            for (int j = 0;j < 1000;j++) {
+              String s = String.format("20%02d-%02d-%02d %02d:%02d:%02d", j % 100, 1 + j % 12, 1 + j % 28, offset, j % 60, offset);
+              Date date = ValueType.DATE.parse(element, s);
+              assertEquals(s, ValueType.DATE.format(element, date));
+            }
+            return offset;
+          }
+        }));
+      }
+      for (int i = 0;i < futures.size();i++) {
+        assertEquals(i, (int)futures.get(i).get());
+      }
+    }
+    finally {
+      executor.shutdown();
+      TimeZone.setDefault(zone);
+    }
+  }
+
+  @Test
+  public void testDefaultTimeZone() throws Exception {
+    AnnotatedElement element = ValueTypeTestCase.class.getMethod("formatted");
+    TimeZone zone = TimeZone.getDefault();
+    try {
+      Date date = new Date(0);
+      TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+      assertEquals("1970-01-01 00:00:00", ValueType.DATE.format(element, date));
+      TimeZone.setDefault(TimeZone.getTimeZone("GMT+02:00"));
+      assertEquals("1970-01-01 02:00:00", ValueType.DATE.format(element, date));
+    }
+    finally {
+      TimeZone.setDefault(zone);
+    }
+  }
+
   @Test
   public void testBean() throws Exception {
     runSuccess("plugin.controller.valuetype.bean");
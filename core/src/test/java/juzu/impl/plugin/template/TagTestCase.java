@@ -223,6 +223,9 @@ public class TagTestCase extends AbstractInjectTestCase {
       public void createResource(Path.Absolute path, CharSequence content) throws IOException {
         throw new UnsupportedOperationException();
       }
+      public void createClass(Name name, byte[] bytecode) throws IOException {
+        throw new UnsupportedOperationException();
+      }
     });
   }
 
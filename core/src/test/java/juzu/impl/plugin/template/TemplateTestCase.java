@@ -21,7 +21,9 @@ import juzu.impl.compiler.CompilationError;
 import juzu.impl.compiler.Compiler;
 import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.plugin.template.metadata.TemplateDescriptor;
 import juzu.impl.plugin.template.metamodel.TemplateMetaModel;
+import juzu.impl.template.spi.juzu.dialect.gtmpl.GroovyTemplateStub;
 import juzu.test.AbstractInjectTestCase;
 import juzu.test.CompilerAssert;
 import juzu.test.protocol.mock.MockApplication;
@@ -86,6 +88,31 @@ public class TemplateTestCase extends AbstractInjectTestCase {
     assertEquals("hello", client.render().assertStringResponse());
   }
 
+  @Test
+  public void testPrecompiled() throws Exception {
+    CompilerAssert<File, File> compiler = compiler("plugin.template.simple");
+    compiler.assertCompile();
+    ReadFileSystem<File> classOutput = compiler.getClassOutput();
+    assertNotNull(classOutput.getPath("plugin", "template", "simple", "templates", "index_.groovy"));
+    assertNotNull(classOutput.getPath("plugin", "template", "simple", "templates", "index_.class"));
+  }
+
+  @Test
+  public void testPrewarm() throws Exception {
+    MockApplication<?> app = application("plugin.template.simple").init();
+    TemplateService templates = (TemplateService)app.getContext().getPlugin("template");
+    templates.prewarm();
+    List<TemplateDescriptor> descriptors = templates.getDescriptor().getTemplates();
+    assertEquals(1, descriptors.size());
+
+    // The stub loads the precompiled script class from the application class loader
+    GroovyTemplateStub stub = assertInstanceOf(GroovyTemplateStub.class, descriptors.get(0).getStub());
+    Class<?> scriptClass = stub.getScriptClass();
+    assertNotNull(scriptClass);
+    assertEquals("plugin.template.simple.templates.index_", scriptClass.getName());
+    assertSame(app.getContext().getClassLoader().loadClass(scriptClass.getName()), scriptClass);
+  }
+
   @Test
   public void testControllerNotFound() throws Exception {
     CompilerAssert<File, File> compiler = compiler("plugin.template.controllernotfound");
@@ -120,7 +147,12 @@ public class TemplateTestCase extends AbstractInjectTestCase {
 
   @Test
   public void testSyntaxError() throws Exception {
-    MockApplication<?> app = application("plugin.template.syntaxerror").init();
+    CompilerAssert<File, File> compiler = compiler("plugin.template.syntaxerror");
+    compiler.formalErrorReporting(true);
+    List<CompilationError> errors = compiler.failCompile();
+    assertEquals(1, errors.size());
+    CompilationError error = errors.get(0);
+    assertEquals(TemplateMetaModel.CANNOT_WRITE_TEMPLATE_SCRIPT, error.getCode());
   }
 
   @Test
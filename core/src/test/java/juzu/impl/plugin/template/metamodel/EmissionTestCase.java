@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.template.metamodel;
+
+import juzu.impl.common.Name;
+import juzu.impl.common.Path;
+import juzu.impl.common.Tools;
+import juzu.impl.template.spi.EmitContext;
+import juzu.template.TagHandler;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/** @author Julien Viet */
+public class EmissionTestCase extends AbstractTestCase {
+
+  private static class Context extends EmitContext {
+
+    /** . */
+    final Set<String> types = new HashSet<String>();
+
+    /** . */
+    final HashMap<String, TagHandler> tags = new HashMap<String, TagHandler>();
+
+    /** . */
+    final HashMap<Path.Absolute, String> resources = new HashMap<Path.Absolute, String>();
+
+    /** . */
+    final HashMap<Name, byte[]> classes = new HashMap<Name, byte[]>();
+
+    @Override
+    public void createResource(Path.Absolute path, CharSequence content) throws IOException {
+      resources.put(path, content.toString());
+    }
+
+    @Override
+    public void createClass(Name name, byte[] bytecode) throws IOException {
+      classes.put(name, bytecode);
+    }
+
+    @Override
+    public boolean isType(String name) {
+      return types.contains(name);
+    }
+
+    @Override
+    public TagHandler resolveTagHandler(String name) {
+      return tags.get(name);
+    }
+  }
+
+  private static class FooTag extends TagHandler {
+    FooTag() {
+      super("foo");
+    }
+  }
+
+  private static class BarTag extends TagHandler {
+    BarTag() {
+      super("foo");
+    }
+  }
+
+  @Test
+  public void testRecordAndReplay() throws Exception {
+    Context context = new Context();
+    context.types.add("foo.Bar");
+    context.tags.put("foo", new FooTag());
+    Emission emission = new Emission(1);
+    EmitContext recording = emission.record(context);
+    assertTrue(recording.isType("foo.Bar"));
+    assertFalse(recording.isType("foo.Juu"));
+    assertTrue(recording.resolveTagHandler("foo") instanceof FooTag);
+    assertNull(recording.resolveTagHandler("bar"));
+    recording.createResource((Path.Absolute)Path.parse("/foo/index.gtmpl"), "the_script");
+    recording.createClass(Name.parse("foo.index"), new byte[]{0, 1});
+    assertEquals(0, context.resources.size());
+    assertEquals(0, context.classes.size());
+
+    //
+    Context replay = new Context();
+    emission.replay(replay);
+    assertEquals("the_script", replay.resources.get(Path.parse("/foo/index.gtmpl")));
+    assertEquals(1, replay.classes.size());
+    assertEquals(2, replay.classes.get(Name.parse("foo.index")).length);
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    Context context = new Context();
+    context.types.add("foo.Bar");
+    Emission emission = new Emission(1);
+    EmitContext recording = emission.record(context);
+    recording.isType("foo.Bar");
+    recording.createResource((Path.Absolute)Path.parse("/foo/index.gtmpl"), "the_script");
+    recording.createClass(Name.parse("foo.index"), new byte[]{0, 1});
+
+    // The emission is stored in its own resource
+    Emission copy = Tools.clone(emission);
+    assertTrue(copy.isValid(1, context));
+    Context replay = new Context();
+    copy.replay(replay);
+    assertEquals("the_script", replay.resources.get(Path.parse("/foo/index.gtmpl")));
+    assertTrue(Arrays.equals(new byte[]{0, 1}, replay.classes.get(Name.parse("foo.index"))));
+  }
+
+  @Test
+  public void testValid() throws Exception {
+    Context context = new Context();
+    context.types.add("foo.Bar");
+    context.tags.put("foo", new FooTag());
+    Emission emission = new Emission(1);
+    EmitContext recording = emission.record(context);
+    recording.isType("foo.Bar");
+    recording.isType("foo.Juu");
+    recording.resolveTagHandler("foo");
+    recording.resolveTagHandler("bar");
+    assertTrue(emission.isValid(1, context));
+    assertFalse(emission.isValid(2, context));
+
+    // A type appears
+    context.types.add("foo.Juu");
+    assertFalse(emission.isValid(1, context));
+    context.types.remove("foo.Juu");
+
+    // A tag is replaced
+    context.tags.put("foo", new BarTag());
+    assertFalse(emission.isValid(1, context));
+    context.tags.put("foo", new FooTag());
+
+    // A tag appears
+    context.tags.put("bar", new BarTag());
+    assertFalse(emission.isValid(1, context));
+    context.tags.remove("bar");
+    assertTrue(emission.isValid(1, context));
+  }
+}
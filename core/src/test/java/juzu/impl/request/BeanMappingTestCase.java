@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.request;
+
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.value.ValueType;
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Julien Viet
+ */
+public class BeanMappingTestCase extends AbstractTestCase {
+
+  /** A controller service resolving the default value types. */
+  private static final ControllerService PLUGIN = new ControllerService() {
+    @Override
+    public <T> ValueType<T> resolveValueType(Class<T> type) {
+      for (ValueType<?> valueType : ValueType.DEFAULT) {
+        for (Class<?> declared : valueType.getTypes()) {
+          if (declared.equals(type)) {
+            return (ValueType<T>)valueType;
+          }
+        }
+      }
+      return null;
+    }
+  };
+
+  public static class Base {
+
+    /** . */
+    public String inherited;
+
+    /** . */
+    private String hidden;
+
+    /** . */
+    String written;
+
+    public void setInheritedSetter(String value) {
+      written = value;
+    }
+
+    private void setHidden(String value) {
+      hidden = value;
+    }
+
+    private String getHidden() {
+      return hidden;
+    }
+  }
+
+  public static class Bean extends Base {
+
+    /** . */
+    public String a;
+
+    /** . */
+    public String b = "field";
+
+    /** . */
+    private String c;
+
+    public void setA(String value) {
+      a = "setter:" + value;
+    }
+
+    public String getB() {
+      return "getter";
+    }
+  }
+
+  public static class Failing {
+
+    /** . */
+    public String a = "a";
+
+    public String getB() {
+      throw new RuntimeException();
+    }
+  }
+
+  @Test
+  public void testSet() throws Exception {
+    BeanMapping mapping = new BeanMapping(PLUGIN, Bean.class);
+    Bean bean = new Bean();
+
+    // The setter has precedence over the field
+    mapping.set(bean, "a", new String[]{"foo"});
+    assertEquals("setter:foo", bean.a);
+
+    // The field is used without a setter
+    mapping.set(bean, "b", new String[]{"bar"});
+    assertEquals("bar", bean.b);
+
+    // The inherited public members are mapped
+    mapping.set(bean, "inherited", new String[]{"juu"});
+    assertEquals("juu", bean.inherited);
+    mapping.set(bean, "inheritedSetter", new String[]{"daa"});
+    assertEquals("daa", bean.written);
+
+    // The private members are not mapped
+    mapping.set(bean, "c", new String[]{"c"});
+    assertNull(bean.c);
+    mapping.set(bean, "hidden", new String[]{"hidden"});
+    assertNull(((Base)bean).getHidden());
+  }
+
+  @Test
+  public void testGet() throws Exception {
+    BeanMapping mapping = new BeanMapping(PLUGIN, Bean.class);
+    Bean bean = new Bean();
+    bean.a = "foo";
+    bean.inherited = "juu";
+    Map<String, String[]> parameters = new HashMap<String, String[]>();
+    mapping.get(bean, "bean.", parameters);
+
+    // The getter is rendered after the field
+    assertEquals(Arrays.asList("getter"), Arrays.asList(parameters.get("bean.b")));
+    assertEquals(Arrays.asList("foo"), Arrays.asList(parameters.get("bean.a")));
+    assertEquals(Arrays.asList("juu"), Arrays.asList(parameters.get("bean.inherited")));
+    assertFalse(parameters.containsKey("bean.c"));
+    assertFalse(parameters.containsKey("bean.hidden"));
+    assertEquals(3, parameters.size());
+  }
+
+  @Test
+  public void testPartialGet() throws Exception {
+    BeanParameter parameter = new BeanParameter("failing", Failing.class);
+    Map<String, String[]> parameters = parameter.buildBeanParameter(PLUGIN, false, "failing", new Failing());
+    assertEquals(Arrays.asList("a"), Arrays.asList(parameters.get("a")));
+    assertEquals(1, parameters.size());
+  }
+
+  @Test
+  public void testMappings() throws Exception {
+    BeanParameter parameter = new BeanParameter("bean", Base.class);
+
+    // The runtime class of the rendered bean is mapped
+    Bean bean = new Bean();
+    bean.a = "foo";
+    assertEquals(Arrays.asList("foo"), Arrays.asList(parameter.buildBeanParameter(PLUGIN, false, "bean", bean).get("a")));
+
+    // The declared class is mapped apart
+    Map<String, RequestParameter> parameters = new HashMap<String, RequestParameter>();
+    parameters.put("inherited", RequestParameter.create("inherited", "juu"));
+    parameters.put("a", RequestParameter.create("a", "bar"));
+    Base base = parameter.createMappedBean(PLUGIN, false, Base.class, "bean", parameters);
+    assertEquals(Base.class, base.getClass());
+    assertEquals("juu", base.inherited);
+
+    // The runtime class mapping is kept
+    bean.a = "daa";
+    assertEquals(Arrays.asList("daa"), Arrays.asList(parameter.buildBeanParameter(PLUGIN, false, "bean", bean).get("a")));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.common.Logger;
+import juzu.impl.common.Resource;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.FileSystemScanner;
+import juzu.impl.fs.spi.ram.RAMFileSystem;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.File;
+
+/** @author Julien Viet */
+public class CompilationCacheTestCase extends AbstractTestCase {
+
+  @Test
+  public void testStore() throws Exception {
+    File tmp = File.createTempFile("juzu", "juzu");
+    assertTrue(tmp.delete());
+    try {
+      CompilationCache cache = new CompilationCache(tmp, "module");
+      ClassLoader classPath = Thread.currentThread().getContextClassLoader();
+
+      //
+      RAMFileSystem source = new RAMFileSystem();
+      String[] a = source.makePath(source.makePath(source.getRoot(), "foo"), "A.java");
+      source.updateResource(a, new Resource("a"));
+      String key = cache.key(source, FileSystemScanner.createHybrid(source), classPath);
+      assertEquals(key, cache.key(source, FileSystemScanner.createHybrid(source), classPath));
+      assertNull(cache.load(key));
+
+      //
+      RAMFileSystem output = new RAMFileSystem();
+      output.updateResource(output.makePath(output.makePath(output.getRoot(), "foo"), "A.class"), new Resource("A"));
+      cache.store(key, output);
+      RAMFileSystem loaded = cache.load(key);
+      assertNotNull(loaded);
+      assertEquals("A", new String(Tools.bytes(loaded.getResource(loaded.getPath("foo", "A.class")).getObject().getInputStream())));
+
+      // Other sources have another key and replace the entry
+      source.updateResource(a, new Resource("b"));
+      String next = cache.key(source, FileSystemScanner.createHybrid(source), classPath);
+      assertFalse(key.equals(next));
+      assertNull(cache.load(next));
+      cache.storeLater(next, output, Logger.SYSTEM).get();
+      assertNotNull(cache.load(next));
+      assertNull(cache.load(key));
+    }
+    finally {
+      delete(tmp);
+    }
+  }
+
+  @Test
+  public void testKeyDependsOnContent() throws Exception {
+    File tmp = File.createTempFile("juzu", "juzu");
+    assertTrue(tmp.delete());
+    try {
+      CompilationCache cache = new CompilationCache(tmp, "module");
+      ClassLoader classPath = Thread.currentThread().getContextClassLoader();
+
+      // Sources with the same length
+      RAMFileSystem source = new RAMFileSystem();
+      String[] a = source.makePath(source.makePath(source.getRoot(), "foo"), "A.java");
+      source.updateResource(a, new Resource("ab"));
+      String key = cache.key(source, FileSystemScanner.createHybrid(source), classPath);
+      source.updateResource(a, new Resource("ba"));
+      assertFalse(key.equals(cache.key(source, FileSystemScanner.createHybrid(source), classPath)));
+
+      // A moved content has another key
+      source.removePath(a);
+      source.updateResource(source.makePath(source.makePath(source.getRoot(), "foo"), "B.java"), new Resource("ab"));
+      assertFalse(key.equals(cache.key(source, FileSystemScanner.createHybrid(source), classPath)));
+
+      // The files ignored by the scanner do not change the key
+      key = cache.key(source, FileSystemScanner.createHybrid(source), classPath);
+      source.updateResource(source.makePath(source.makePath(source.getRoot(), "foo"), ".B.java.swp"), new Resource("swap"));
+      source.updateResource(source.makePath(source.makePath(source.getRoot(), ".git"), "index"), new Resource("index"));
+      assertEquals(key, cache.key(source, FileSystemScanner.createHybrid(source), classPath));
+    }
+    finally {
+      delete(tmp);
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
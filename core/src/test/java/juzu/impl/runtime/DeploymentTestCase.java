@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.common.Completion;
+import juzu.impl.inject.spi.InjectorProvider;
+import juzu.test.AbstractTestCase;
+import juzu.test.protocol.mock.MockApplication;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Julien Viet
+ */
+public class DeploymentTestCase extends AbstractTestCase {
+
+  @Test
+  public void testStopAfterLastRelease() {
+    final AtomicInteger stopped = new AtomicInteger();
+    Deployment deployment = new Deployment(null, null) {
+      @Override
+      protected void stop() {
+        stopped.incrementAndGet();
+      }
+    };
+
+    // Two requests are served while the deployment is retired
+    assertTrue(deployment.acquire());
+    assertTrue(deployment.acquire());
+    deployment.close();
+    assertEquals(0, stopped.get());
+    deployment.close();
+    assertEquals(0, stopped.get());
+    deployment.close();
+    assertEquals(1, stopped.get());
+
+    // A stopped deployment cannot be acquired again
+    assertFalse(deployment.acquire());
+    assertEquals(1, stopped.get());
+  }
+
+  @Test
+  public void testConcurrentRetire() throws Exception {
+    final AtomicInteger stopped = new AtomicInteger();
+    final AtomicBoolean served = new AtomicBoolean(true);
+    final Deployment deployment = new Deployment(null, null) {
+      @Override
+      protected void stop() {
+        stopped.incrementAndGet();
+      }
+    };
+    int size = 8;
+    final CountDownLatch started = new CountDownLatch(size);
+    final CountDownLatch done = new CountDownLatch(size);
+    for (int i = 0;i < size;i++) {
+      new Thread() {
+        @Override
+        public void run() {
+          started.countDown();
+          try {
+            while (deployment.acquire()) {
+              try {
+                if (stopped.get() > 0) {
+                  served.set(false);
+                }
+              }
+              finally {
+                deployment.close();
+              }
+            }
+          }
+          finally {
+            done.countDown();
+          }
+        }
+      }.start();
+    }
+    started.await();
+    deployment.close();
+    done.await();
+    assertTrue(served.get());
+    assertEquals(1, stopped.get());
+  }
+
+  @Test
+  public void testRetire() throws Exception {
+    MockApplication<?> app = application(InjectorProvider.GUICE, "plugin.application.default_controller").init();
+    ApplicationRuntime<?, ?> runtime = app.getLifeCycle();
+
+    //
+    Deployment deployment = runtime.acquire();
+    assertNotNull(deployment);
+    assertSame(runtime.getDeployment(), deployment);
+    assertSame(runtime.getApplication(), deployment.getApplication());
+    assertNotNull(deployment.getControllerService());
+
+    // The retired deployment is not stopped while it serves the request
+    runtime.close();
+    assertNull(runtime.getDeployment());
+    assertNull(runtime.acquire());
+    assertTrue(deployment.acquire());
+    deployment.close();
+
+    // The request ends and stops it
+    deployment.close();
+    assertFalse(deployment.acquire());
+  }
+
+  @Test
+  public void testPrepareBeforePublish() throws Exception {
+    MockApplication<?> app = application(InjectorProvider.GUICE, "plugin.application.default_controller").assertCompile();
+    final ApplicationRuntime<?, ?> runtime = app.getLifeCycle();
+    final AtomicReference<Deployment> prepared = new AtomicReference<Deployment>();
+    final AtomicBoolean published = new AtomicBoolean();
+    Completion<Boolean> refresh = runtime.refresh(new ApplicationRuntime.Preparation() {
+      public void prepare(Deployment deployment) {
+        prepared.set(deployment);
+        published.set(runtime.getDeployment() != null);
+      }
+    });
+    assertFalse(refresh.isFailed());
+    assertTrue(refresh.get());
+    assertNotNull(prepared.get());
+    assertFalse(published.get());
+    assertSame(prepared.get(), runtime.getDeployment());
+    runtime.close();
+  }
+
+  @Test
+  public void testFailedPreparation() throws Exception {
+    MockApplication<?> app = application(InjectorProvider.GUICE, "plugin.application.default_controller").assertCompile();
+    ApplicationRuntime<?, ?> runtime = app.getLifeCycle();
+    final AtomicReference<Deployment> prepared = new AtomicReference<Deployment>();
+    final RuntimeException failure = new RuntimeException();
+    Completion<Boolean> refresh = runtime.refresh(new ApplicationRuntime.Preparation() {
+      public void prepare(Deployment deployment) {
+        prepared.set(deployment);
+        throw failure;
+      }
+    });
+    assertTrue(refresh.isFailed());
+    assertSame(failure, refresh.getCause());
+    assertNull(runtime.getDeployment());
+
+    // The deployment that failed is stopped
+    assertFalse(prepared.get().acquire());
+  }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.common.Completion;
+import juzu.impl.common.Logger;
+import juzu.impl.common.Resource;
+import juzu.impl.fs.spi.ram.RAMFileSystem;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * @author Julien Viet
+ */
+public class ModuleRuntimeTestCase extends AbstractTestCase {
+
+  /**
+   * A file system that blocks the scan of its sources once armed.
+   */
+  private static class BlockingFileSystem extends RAMFileSystem {
+
+    /** . */
+    private volatile CountDownLatch entered;
+
+    /** . */
+    private volatile CountDownLatch released;
+
+    void arm() {
+      entered = new CountDownLatch(1);
+      released = new CountDownLatch(1);
+    }
+
+    void release() {
+      CountDownLatch latch = released;
+      entered = null;
+      released = null;
+      latch.countDown();
+    }
+
+    @Override
+    public long getLastModified(String[] path) throws IOException {
+      CountDownLatch entered = this.entered;
+      CountDownLatch released = this.released;
+      if (entered != null && released != null) {
+        entered.countDown();
+        try {
+          released.await();
+        }
+        catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      return super.getLastModified(path);
+    }
+  }
+
+  private static FutureTask<Completion<Boolean>> refresh(final ModuleRuntime<?> module) {
+    FutureTask<Completion<Boolean>> task = new FutureTask<Completion<Boolean>>(new Callable<Completion<Boolean>>() {
+      public Completion<Boolean> call() throws Exception {
+        return module.refresh(true);
+      }
+    });
+    new Thread(task).start();
+    return task;
+  }
+
+  @Test
+  public void testConcurrentRefreshServesPreviousBuild() throws Exception {
+    BlockingFileSystem source = new BlockingFileSystem();
+    String[] a = source.makePath(Arrays.asList("foo", "A.java"));
+    source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"a1\"; } }"));
+    ModuleRuntime.Dynamic<String[]> module = new ModuleRuntime.Dynamic<String[]>(Logger.SYSTEM, getClass().getClassLoader(), source);
+    assertTrue(module.refresh(true).get());
+    ClassLoader previous = module.getClassLoader();
+
+    // A change is being scanned by a thread
+    waitForOneMillis();
+    source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"a2\"; } }"));
+    source.arm();
+    CountDownLatch entered = source.entered;
+    FutureTask<Completion<Boolean>> scanning = refresh(module);
+    assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+    // A concurrent refresh does not wait and keeps on serving the previous build that does not have the change
+    Completion<Boolean> concurrent = module.refresh(true);
+    assertFalse(concurrent.isFailed());
+    assertFalse(concurrent.get());
+    assertSame(previous, module.getClassLoader());
+    assertEquals("a1", previous.loadClass("foo.A").getMethod("value").invoke(null));
+
+    // The change is served once the scanning thread has built it
+    source.release();
+    assertTrue(scanning.get(10, TimeUnit.SECONDS).get());
+    ClassLoader next = module.getClassLoader();
+    assertNotSame(previous, next);
+    assertEquals("a2", next.loadClass("foo.A").getMethod("value").invoke(null));
+    assertFalse(module.refresh(true).get());
+  }
+
+  @Test
+  public void testConcurrentFirstRefreshWaits() throws Exception {
+    BlockingFileSystem source = new BlockingFileSystem();
+    String[] a = source.makePath(Arrays.asList("foo", "A.java"));
+    source.updateResource(a, new Resource("package foo; public class A { }"));
+    ModuleRuntime.Dynamic<String[]> module = new ModuleRuntime.Dynamic<String[]>(Logger.SYSTEM, getClass().getClassLoader(), source);
+
+    // The first build is being scanned by a thread
+    source.arm();
+    CountDownLatch entered = source.entered;
+    FutureTask<Completion<Boolean>> building = refresh(module);
+    assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+    // Without a previous build a concurrent refresh waits for the build
+    FutureTask<Completion<Boolean>> waiting = refresh(module);
+    try {
+      waiting.get(100, TimeUnit.MILLISECONDS);
+      fail();
+    }
+    catch (TimeoutException ignore) {
+    }
+
+    //
+    source.release();
+    assertTrue(building.get(10, TimeUnit.SECONDS).get());
+    assertFalse(waiting.get(10, TimeUnit.SECONDS).get());
+    assertNotNull(module.getClassLoader());
+  }
+
+  @Test
+  public void testIncrementalBuild() throws Exception {
+    RAMFileSystem source = new RAMFileSystem();
+    String[] a = source.makePath(Arrays.asList("foo", "A.java"));
+    String[] b = source.makePath(Arrays.asList("foo", "B.java"));
+    String[] c = source.makePath(Arrays.asList("foo", "C.java"));
+    String[] d = source.makePath(Arrays.asList("foo", "D.java"));
+    String[] template = source.makePath(Arrays.asList("foo", "templates", "index.gtmpl"));
+    source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"\" + B.value(); } }"));
+    source.updateResource(b, new Resource("package foo; public class B { public static String value() { return \"b1\"; } }"));
+    source.updateResource(c, new Resource("package foo; public class C { }"));
+    source.updateResource(d, new Resource("package foo; public class D { }"));
+    source.updateResource(template, new Resource("template1"));
+    final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+    Logger logger = new Logger() {
+      @Override
+      protected void send(Level level, CharSequence msg, Throwable t) {
+        messages.add(msg.toString());
+      }
+    };
+    ModuleRuntime.Dynamic<String[]> module = new ModuleRuntime.Dynamic<String[]>(logger, getClass().getClassLoader(), source);
+    assertTrue(module.refresh(true).get());
+    ClassLoader previous = module.getClassLoader();
+    assertEquals("b1", previous.loadClass("foo.A").getMethod("value").invoke(null));
+    previous.loadClass("foo.C");
+    byte[] bytecode = module.getClasses().getResource(module.getClasses().getPath("foo", "D.class")).getObject().getBytes();
+
+    // Change the return type of B: A must be recompiled since its call site refers to the method descriptor
+    waitForOneMillis();
+    messages.clear();
+    source.updateResource(b, new Resource("package foo; public class B { public static CharSequence value() { return \"b2\"; } }"));
+    source.removePath(c);
+    source.updateResource(template, new Resource("template2"));
+    assertTrue(module.refresh(true).get());
+    assertTrue(messages.contains("Compiling 2 compilation units of 4"));
+
+    //
+    ClassLoader next = module.getClassLoader();
+    assertNotSame(previous, next);
+    assertEquals("b2", next.loadClass("foo.A").getMethod("value").invoke(null));
+    try {
+      next.loadClass("foo.C");
+      fail();
+    }
+    catch (ClassNotFoundException ignore) {
+    }
+    assertNull(module.getClasses().getPath(Arrays.asList("foo", "C.class")));
+    assertTrue(Arrays.equals(bytecode, module.getClasses().getResource(module.getClasses().getPath("foo", "D.class")).getObject().getBytes()));
+    String[] output = module.getClasses().getPath(Arrays.asList("foo", "templates", "index.gtmpl"));
+    assertEquals("template2", module.getClasses().getResource(output).getObject().getCharSequence().toString());
+
+    // The previous build is left untouched
+    assertEquals("b1", previous.loadClass("foo.A").getMethod("value").invoke(null));
+    assertFalse(module.refresh(true).get());
+  }
+
+  /**
+   * A file system counting the timestamp reads of the test thread, the timestamps are older than the racy interval.
+   */
+  private static class CountingFileSystem extends RAMFileSystem {
+
+    /** . */
+    private final Thread thread = Thread.currentThread();
+
+    /** . */
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public long getLastModified(String[] path) throws IOException {
+      if (Thread.currentThread() == thread) {
+        count.incrementAndGet();
+      }
+      return super.getLastModified(path) - ChangeDetector.RACY_INTERVAL * 2;
+    }
+  }
+
+  @Test
+  public void testChangeDetector() throws Exception {
+    RAMFileSystem source = new RAMFileSystem();
+    String[] a = source.makePath(Arrays.asList("foo", "A.java"));
+    source.updateResource(a, new Resource("a1"));
+    ChangeDetector<String[]> detector = new ChangeDetector<String[]>(source, 1, 0);
+    try {
+      assertTrue(detector.isDirty());
+      detector.clear();
+      Thread.sleep(50);
+      assertFalse(detector.isDirty());
+
+      //
+      waitForOneMillis();
+      source.updateResource(a, new Resource("a2"));
+      assertDirty(detector);
+      detector.clear();
+      Thread.sleep(50);
+      assertFalse(detector.isDirty());
+
+      //
+      source.removePath(a);
+      assertDirty(detector);
+    }
+    finally {
+      detector.close();
+    }
+  }
+
+  @Test
+  public void testChangeDetectorRacy() throws Exception {
+    RAMFileSystem source = new RAMFileSystem();
+    source.updateResource(source.makePath(Arrays.asList("foo", "A.java")), new Resource("a1"));
+    ChangeDetector<String[]> detector = new ChangeDetector<String[]>(source, 1, 60000);
+    try {
+      detector.clear();
+
+      // A file modified during the racy interval keeps the flag set
+      assertDirty(detector);
+    }
+    finally {
+      detector.close();
+    }
+  }
+
+  @Test
+  public void testDetectedRefresh() throws Exception {
+    CountingFileSystem source = new CountingFileSystem();
+    String[] a = source.makePath(Arrays.asList("foo", "A.java"));
+    source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"a1\"; } }"));
+    ModuleRuntime.Dynamic<String[]> module = new ModuleRuntime.Dynamic<String[]>(Logger.SYSTEM, getClass().getClassLoader(), source, null, 1);
+    try {
+      assertTrue(module.refresh(true).get());
+
+      // Without a detected change a refresh does not scan the sources
+      Thread.sleep(50);
+      source.count.set(0);
+      assertFalse(module.refresh(true).get());
+      assertEquals(0, source.count.get());
+
+      // A change is served once the detector has seen it
+      waitForOneMillis();
+      source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"a2\"; } }"));
+      long timeout = System.currentTimeMillis() + 10000;
+      while (!module.refresh(true).get()) {
+        assertTrue(System.currentTimeMillis() < timeout);
+        Thread.sleep(1);
+      }
+      assertEquals("a2", module.getClassLoader().loadClass("foo.A").getMethod("value").invoke(null));
+    }
+    finally {
+      module.close();
+    }
+  }
+
+  @Test
+  public void testCompilationCache() throws Exception {
+    File tmp = File.createTempFile("juzu", "juzu");
+    assertTrue(tmp.delete());
+    try {
+      RAMFileSystem source = new RAMFileSystem();
+      String[] a = source.makePath(Arrays.asList("foo", "A.java"));
+      source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"a1\"; } }"));
+      ModuleRuntime.Dynamic<String[]> module = new ModuleRuntime.Dynamic<String[]>(Logger.SYSTEM, getClass().getClassLoader(), source, tmp);
+      assertTrue(module.refresh(true).get());
+
+      // The first build is stored in the background
+      String[] entries = assertEntries(tmp);
+
+      // A new module with the same sources loads the first build
+      final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+      Logger logger = new Logger() {
+        @Override
+        protected void send(Level level, CharSequence msg, Throwable t) {
+          messages.add(msg.toString());
+        }
+      };
+      module = new ModuleRuntime.Dynamic<String[]>(logger, getClass().getClassLoader(), source, tmp);
+      assertTrue(module.refresh(true).get());
+      assertTrue(messages.contains("Loaded application from the compilation cache"));
+      assertEquals("a1", module.getClassLoader().loadClass("foo.A").getMethod("value").invoke(null));
+
+      // The next builds do not use the cache
+      waitForOneMillis();
+      source.updateResource(a, new Resource("package foo; public class A { public static String value() { return \"a2\"; } }"));
+      assertTrue(module.refresh(true).get());
+      assertEquals("a2", module.getClassLoader().loadClass("foo.A").getMethod("value").invoke(null));
+      Thread.sleep(100);
+      assertTrue(Arrays.equals(entries, assertEntries(tmp)));
+    }
+    finally {
+      delete(tmp);
+    }
+  }
+
+  private static String[] assertEntries(File root) throws InterruptedException {
+    long timeout = System.currentTimeMillis() + 10000;
+    while (true) {
+      File[] modules = root.listFiles();
+      if (modules != null && modules.length == 1) {
+        String[] entries = modules[0].list();
+        if (entries != null && entries.length == 1 && !entries[0].contains(".tmp")) {
+          return entries;
+        }
+      }
+      assertTrue(System.currentTimeMillis() < timeout);
+      Thread.sleep(1);
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static void assertDirty(ChangeDetector<?> detector) throws InterruptedException {
+    long timeout = System.currentTimeMillis() + 10000;
+    while (!detector.isDirty()) {
+      assertTrue(System.currentTimeMillis() < timeout);
+      Thread.sleep(1);
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.template.spi;
+
+import juzu.template.TemplateExecutionException;
+import juzu.template.TemplateRenderContext;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** @author Julien Viet */
+public class TemplateStubTestCase extends AbstractTestCase {
+
+  /** . */
+  private static final int THREADS = 200;
+
+  static class Stub extends TemplateStub {
+
+    /** . */
+    final AtomicInteger inits = new AtomicInteger();
+
+    /** . */
+    final CountDownLatch release = new CountDownLatch(1);
+
+    /** . */
+    volatile RuntimeException failure;
+
+    Stub() {
+      super(TemplateStubTestCase.class.getClassLoader(), "stub");
+    }
+
+    @Override
+    protected void doInit(ClassLoader loader) {
+      inits.incrementAndGet();
+      try {
+        release.await();
+      }
+      catch (InterruptedException e) {
+        throw new AssertionError(e);
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    @Override
+    protected void doRender(TemplateRenderContext renderContext) throws TemplateExecutionException, IOException {
+    }
+  }
+
+  private List<Future<Throwable>> initConcurrently(final Stub stub, ExecutorService executor, final CountDownLatch started) {
+    List<Future<Throwable>> futures = new ArrayList<Future<Throwable>>(THREADS);
+    for (int i = 0;i < THREADS;i++) {
+      futures.add(executor.submit(new Callable<Throwable>() {
+        public Throwable call() throws Exception {
+          started.countDown();
+          try {
+            stub.init();
+            return null;
+          }
+          catch (Throwable t) {
+            return t;
+          }
+        }
+      }));
+    }
+    return futures;
+  }
+
+  @Test
+  public void testConcurrentInit() throws Exception {
+    Stub stub = new Stub();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch started = new CountDownLatch(THREADS);
+      List<Future<Throwable>> futures = initConcurrently(stub, executor, started);
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      stub.release.countDown();
+      for (Future<Throwable> future : futures) {
+        assertNull(future.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, stub.inits.get());
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testConcurrentInitFailure() throws Exception {
+    Stub stub = new Stub();
+    stub.failure = new RuntimeException();
+    stub.setRetry(false);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch started = new CountDownLatch(THREADS);
+      List<Future<Throwable>> futures = initConcurrently(stub, executor, started);
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      stub.release.countDown();
+      for (Future<Throwable> future : futures) {
+        assertSame(stub.failure, future.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, stub.inits.get());
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    // Without retry the failure is remembered
+    try {
+      stub.init();
+      fail();
+    }
+    catch (RuntimeException e) {
+      assertSame(stub.failure, e);
+    }
+    assertEquals(1, stub.inits.get());
+  }
+
+  @Test
+  public void testRetry() throws Exception {
+    Stub stub = new Stub();
+    stub.release.countDown();
+    stub.failure = new RuntimeException();
+    try {
+      stub.init();
+      fail();
+    }
+    catch (RuntimeException e) {
+      assertSame(stub.failure, e);
+    }
+    try {
+      stub.render(null);
+      fail();
+    }
+    catch (IllegalStateException ignore) {
+    }
+    stub.failure = null;
+    stub.init();
+    assertEquals(2, stub.inits.get());
+    stub.render(null);
+  }
+
+  @Test
+  public void testRenderNotInitialized() throws Exception {
+    Stub stub = new Stub();
+    try {
+      stub.render(null);
+      fail();
+    }
+    catch (IllegalStateException ignore) {
+    }
+  }
+
+  @Test
+  public void testInterruptedWaiter() throws Exception {
+    final Stub stub = new Stub();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(new Callable<Void>() {
+        public Void call() throws Exception {
+          stub.init();
+          return null;
+        }
+      });
+      while (stub.inits.get() == 0) {
+        Thread.sleep(1);
+      }
+      Thread.currentThread().interrupt();
+      stub.release.countDown();
+      stub.init();
+      assertTrue(Thread.interrupted());
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -106,6 +106,9 @@ public abstract class AbstractTemplateTestCase extends AbstractTestCase {
         public void createResource(Path.Absolute path, CharSequence content) throws IOException {
           throw new UnsupportedOperationException();
         }
+        public void createClass(Name name, byte[] bytecode) throws IOException {
+          throw new UnsupportedOperationException();
+        }
       });
       emitPhase.emit(generator, templateModel.getModel());
     }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plugin.asset.flushearly;
+
+import juzu.Response;
+import juzu.Route;
+import juzu.View;
+import juzu.plugin.asset.Assets;
+import juzu.test.Registry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/** @author Julien Viet */
+public class A {
+
+  @View
+  @Route("/")
+  @Assets("test.js")
+  public Response.Status index() throws Exception {
+    CountDownLatch latch = Registry.get("latch");
+    Registry.set("released", latch.await(10, TimeUnit.SECONDS));
+    return Response.ok("content");
+  }
+
+  @View
+  @Route("/title")
+  @Assets("test.js")
+  public Response.Status title() throws Exception {
+    return Response.ok("content").withTitle("late_title");
+  }
+
+  @View
+  @Route("/meta")
+  @Assets("test.js")
+  public Response.Status meta() throws Exception {
+    return Response.ok("content").withMetaTag("late_meta", "meta_value").withMetaHttpEquiv("late_equiv", "equiv_value");
+  }
+
+  @View
+  @Route("/header")
+  @Assets("test.js")
+  public Response.Status header() throws Exception {
+    return Response.ok("content").withHeaderTag("<style>late_header</style>");
+  }
+
+  @View
+  @Route("/redirect")
+  @Assets("test.js")
+  public Response redirect() {
+    return Response.redirect("http://www.example.org");
+  }
+}
@@ -0,0 +1 @@
+a = 0;
\ No newline at end of file